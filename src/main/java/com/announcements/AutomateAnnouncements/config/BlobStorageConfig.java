@@ -0,0 +1,34 @@
+package com.announcements.AutomateAnnouncements.config;
+
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.common.policy.RequestRetryOptions;
+import com.azure.storage.common.policy.RetryPolicyType;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * One Azure Blob Storage client per process. The client owns the HTTP pipeline and its connection pool, so
+ * building it per upload paid for both on every call; building it does no I/O, so startup never waits
+ * on Azure.
+ *
+ * <p>The retry policy applies per request, so when a large upload is split into blocks only the block
+ * that failed is sent again.
+ */
+@Configuration
+public class BlobStorageConfig {
+
+    @Bean
+    public BlobServiceClient blobServiceClient(@Value("${azure.blob.connection-string}") String connectionString,
+                                               @Value("${azure.blob.retry.max-tries:4}") int maxTries,
+                                               @Value("${azure.blob.retry.delay-ms:500}") long retryDelayMs,
+                                               @Value("${azure.blob.retry.max-retry-delay-ms:10000}") long maxRetryDelayMs) {
+        return new BlobServiceClientBuilder()
+                .connectionString(connectionString)
+                .retryOptions(new RequestRetryOptions(RetryPolicyType.EXPONENTIAL, maxTries, (Duration) null,
+                        Duration.ofMillis(retryDelayMs), Duration.ofMillis(maxRetryDelayMs), null))
+                .buildClient();
+    }
+}
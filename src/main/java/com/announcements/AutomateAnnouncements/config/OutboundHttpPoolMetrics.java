@@ -0,0 +1,44 @@
+package com.announcements.AutomateAnnouncements.config;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Collects the live gauges of every per-host pool of the shared outbound connection provider so they
+ * can be inspected without a metrics registry on the classpath.
+ */
+public class OutboundHttpPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    public record PoolSnapshot(int acquired, int idle, int allocated, int pendingAcquire, int maxAllocated) {
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.put(key(poolName, remoteAddress), metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(key(poolName, remoteAddress));
+    }
+
+    /**
+     * Current state of each host's pool, keyed by {@code <pool>/<remote address>}.
+     */
+    public Map<String, PoolSnapshot> snapshot() {
+        Map<String, PoolSnapshot> snapshot = new TreeMap<>();
+        pools.forEach((key, metrics) -> snapshot.put(key, new PoolSnapshot(metrics.acquiredSize(), metrics.idleSize(),
+                metrics.allocatedSize(), metrics.pendingAcquireSize(), metrics.maxAllocatedSize())));
+        return snapshot;
+    }
+
+    private static String key(String poolName, SocketAddress remoteAddress) {
+        return poolName + "/" + remoteAddress;
+    }
+}
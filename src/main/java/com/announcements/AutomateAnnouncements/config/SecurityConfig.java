@@ -2,6 +2,7 @@ package com.announcements.AutomateAnnouncements.config;
 
 import com.announcements.AutomateAnnouncements.security.JwtAuthenticationFilter;
 import com.announcements.AutomateAnnouncements.security.UserProfileDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -39,11 +40,15 @@ public class SecurityConfig {
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Completing an SSE stream re-dispatches a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/v3/api-docs/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/swagger-ui.html").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/videos/stream").permitAll()
+                // Provider webhooks authenticate with an HMAC signature instead of a JWT
+                .requestMatchers(HttpMethod.POST, "/api/videos/callbacks/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/").permitAll()
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,43 @@
+package com.announcements.AutomateAnnouncements.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * VideoGenerationJob ids moved from an IDENTITY column to the pooled video_generation_job_seq sequence.
+ * On databases that already hold jobs the freshly created sequence would hand out ids that are taken,
+ * so it is moved past the current maximum once Hibernate has updated the schema and before the
+ * scheduler or web server start inserting jobs.
+ */
+@Slf4j
+@Component
+public class VideoJobSequenceInitializer implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depending on the EntityManagerFactory guarantees the schema update (and sequence creation) ran first
+    public VideoJobSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            // In-memory H2 starts empty, so the sequence can never collide there
+            return;
+        }
+
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT setval('video_generation_job_seq', GREATEST("
+                        + "(SELECT COALESCE(MAX(id), 0) FROM video_generation_job), "
+                        + "(SELECT last_value FROM video_generation_job_seq)))",
+                Long.class);
+        log.info("Aligned video_generation_job_seq with existing jobs at {}", value);
+    }
+}
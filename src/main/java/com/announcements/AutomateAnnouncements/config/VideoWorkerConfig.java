@@ -0,0 +1,73 @@
+package com.announcements.AutomateAnnouncements.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors used by the video generation pipeline. Provider submissions are I/O bound and fan out on
+ * (virtual) threads capped by a concurrency limit; status checks are non-blocking and need no threads of
+ * their own. Job completion touches the database and therefore runs on a small bounded pool sized well
+ * below the JDBC connection pool.
+ */
+@Configuration
+public class VideoWorkerConfig {
+
+    @Bean
+    public SimpleAsyncTaskExecutor videoSubmitExecutor(
+            @Value("${video.submitter.concurrency:8}") int submitConcurrency,
+            @Value("${video.worker.virtual-threads:true}") boolean virtualThreads) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("video-submit-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setConcurrencyLimit(submitConcurrency);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor videoCompletionExecutor(
+            @Value("${video.worker.completion-threads:4}") int completionThreads,
+            @Value("${video.worker.completion-queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("video-complete-");
+        executor.setCorePoolSize(completionThreads);
+        executor.setMaxPoolSize(completionThreads);
+        executor.setQueueCapacity(queueCapacity);
+        // Push back on the poll stage instead of dropping completions when the queue is full
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor videoLocalGenerationExecutor(
+            @Value("${video.provider.local-async.threads:4}") int threads,
+            @Value("${video.provider.local-async.queue-capacity:100}") int queueCapacity) {
+        // Runs blocking generations of synchronous-only providers; a full queue refuses new creations so
+        // the submitter keeps those jobs queued
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("video-local-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor videoEventExecutor(
+            @Value("${video.events.dispatch-threads:2}") int dispatchThreads,
+            @Value("${video.events.dispatch-queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("video-events-");
+        executor.setCorePoolSize(dispatchThreads);
+        executor.setMaxPoolSize(dispatchThreads);
+        // One drain task per subscription at most; when the queue is full the hub drops the subscriber
+        // instead of running its blocking send on the publishing thread
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -6,6 +6,7 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -19,6 +20,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.announcements.AutomateAnnouncements.integration.BlobStorageService;
+import com.announcements.AutomateAnnouncements.integration.BlobUploadMetrics;
+
+import io.swagger.v3.oas.annotations.Operation;
+
 @Slf4j
 @Controller
 @RequestMapping("/api/videos")
@@ -27,6 +33,15 @@ public class BlobProxyController {
     @Value("${azure.blob.container-name:}")
     private String containerName;
 
+    @Autowired
+    private BlobStorageService blobStorageService;
+
+    @GetMapping(path = "/storage/uploads")
+    @Operation(summary = "Blob upload statistics", description = "Returns the number of uploads and failures, bytes uploaded, average, median, p95 and max upload latency, and how often the container was checked.")
+    public ResponseEntity<BlobUploadMetrics.Snapshot> getUploadMetrics() {
+        return ResponseEntity.ok(blobStorageService.getUploadMetrics());
+    }
+
     @GetMapping(path = "/stream")
     public ResponseEntity<StreamingResponseBody> streamBlob(
             @RequestParam("url") String blobUrl,
@@ -0,0 +1,51 @@
+package com.announcements.AutomateAnnouncements.controllers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.announcements.AutomateAnnouncements.services.VideoCallbackService;
+import com.announcements.AutomateAnnouncements.services.VideoCallbackService.CallbackOutcome;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/videos/callbacks")
+@Tag(name = "Video Provider Callbacks", description = "Inbound completion notifications from AI video providers")
+public class VideoCallbackController {
+
+    public static final String SIGNATURE_HEADER = "X-Callback-Signature";
+
+    private final VideoCallbackService videoCallbackService;
+
+    public VideoCallbackController(VideoCallbackService videoCallbackService) {
+        this.videoCallbackService = videoCallbackService;
+    }
+
+    @PostMapping("/{provider}")
+    @Operation(summary = "Receive provider completion callback", description = "Verifies the HMAC signature of a provider notification and finalizes the matching video generation job immediately.")
+    public ResponseEntity<String> receiveCallback(
+            @Parameter(description = "Provider name, e.g. blotato") @PathVariable String provider,
+            @Parameter(description = "HMAC-SHA256 of the raw body, hex encoded (optionally prefixed with sha256=)")
+            @RequestHeader(value = SIGNATURE_HEADER, required = false) String signature,
+            @RequestBody String body) {
+
+        try {
+            CallbackOutcome outcome = videoCallbackService.handleCallback(provider, signature, body);
+            log.debug("Processed {} callback with outcome {}", provider, outcome);
+
+            if (outcome == CallbackOutcome.IGNORED) {
+                return ResponseEntity.accepted().body(outcome.name());
+            }
+            return ResponseEntity.ok(outcome.name());
+        } catch (ResponseStatusException e) {
+            // Answer directly: the /error dispatch is not reachable without a JWT
+            log.warn("Rejected {} callback: {}", provider, e.getReason());
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+}
@@ -2,27 +2,40 @@ package com.announcements.AutomateAnnouncements.controllers;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationBatchRequestDTO;
 import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.dtos.response.VideoGenerationBatchResponseDTO;
+import com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatsResponseDTO;
+import com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatusPageResponseDTO;
+import com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatusResponseDTO;
 import com.announcements.AutomateAnnouncements.services.MediaProcessingFacade;
 import com.announcements.AutomateAnnouncements.services.VideoGenerationJobService;
+import com.announcements.AutomateAnnouncements.services.VideoJobReaper;
+import com.announcements.AutomateAnnouncements.services.VideoJobSubscriptionHub;
 import com.announcements.AutomateAnnouncements.entities.UserProfile;
 import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
 import com.announcements.AutomateAnnouncements.security.AuthenticatedUserService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.List;
+import java.util.function.Supplier;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @RestController
@@ -39,6 +52,18 @@ public class VideoController {
     @Autowired
     private AuthenticatedUserService authenticatedUserService;
 
+    @Autowired
+    private VideoJobSubscriptionHub jobSubscriptionHub;
+
+    @Autowired
+    private VideoJobReaper jobReaper;
+
+    @Value("${video.jobs.lookup.max-ids:200}")
+    private int maxLookupIds;
+
+    @Value("${video.jobs.lookup.max-page-size:200}")
+    private int maxPageSize;
+
     @PostMapping("/upload")
     @Operation(summary = "Upload user video", description = "Uploads a video file, stores it in blob storage, creates database records, and sends data to n8n")
     public ResponseEntity<String> uploadVideo(
@@ -102,6 +127,117 @@ public class VideoController {
         }
     }
 
+    @PostMapping("/generate/sync")
+    @Operation(summary = "Generate video from prompt (Hybrid)", description = "Waits up to the configured deadline for the video. Returns its URL when it is ready in time, otherwise 202 with the ID of the job that finishes the generation.")
+    public Mono<ResponseEntity<String>> generateVideoWithDeadline(
+            @Parameter(description = "Text prompt for video generation") @RequestParam("prompt") @NotBlank String prompt,
+            @Parameter(description = "Title of the generated video") @RequestParam("title") @NotBlank String title,
+            @Parameter(description = "Description of the generated video") @RequestParam("description") String description,
+            @Parameter(description = "Owner ID") @RequestParam("ownerId") @NotNull Integer ownerId,
+            @Parameter(description = "Target platforms (comma-separated)") @RequestParam("targets") @NotBlank String targets,
+            @Parameter(description = "Video style (optional)") @RequestParam(value = "style", required = false) String style) {
+
+        log.info("Received hybrid video generation request: prompt={}, title={}, ownerId={}, targets={}, style={}", prompt, title, ownerId, targets, style);
+
+        UserProfile currentUser = authenticatedUserService.getCurrentUser();
+        if (!currentUser.getId().equals(ownerId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only generate videos for your profile");
+        }
+
+        VideoGenerationRequest request = VideoGenerationRequest.builder()
+                .withPrompt(prompt)
+                .withTitle(title)
+                .withDescription(description)
+                .withTargets(targets)
+                .withStyle(style)
+                .build();
+
+        return mediaProcessingFacade.generateVideoWithDeadline(currentUser, request)
+                .map(result -> result.isCompleted()
+                        ? ResponseEntity.ok("Video generated successfully. URL: " + result.videoUrl())
+                        : ResponseEntity.status(202).body("Video generation job created. Job ID: " + result.jobId()))
+                .onErrorResume(e -> {
+                    log.error("Failed to generate video: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(500).body("Failed to generate video: " + e.getMessage()));
+                });
+    }
+
+    @PostMapping("/generate/batch")
+    @Operation(summary = "Generate a batch of videos (Async)", description = "Queues one video generation job per valid request in a single transaction and returns a result per request: its job ID, or the validation error that kept it out of the batch. Jobs are submitted to the provider in the background.")
+    public ResponseEntity<?> generateVideoBatch(@RequestBody @Valid VideoGenerationBatchRequestDTO dto) {
+        log.info("Received batch video generation request: ownerId={}, size={}", dto.getOwnerId(), dto.getRequests().size());
+
+        UserProfile currentUser = authenticatedUserService.getCurrentUser();
+        if (!currentUser.getId().equals(dto.getOwnerId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only generate videos for your profile");
+        }
+
+        try {
+            List<MediaProcessingFacade.BatchItemResult> results =
+                    mediaProcessingFacade.enqueueVideoGenerations(currentUser, dto.getRequests());
+
+            VideoGenerationBatchResponseDTO response = new VideoGenerationBatchResponseDTO();
+            response.setResults(results.stream().map(this::toItemResult).toList());
+            response.setJobIds(results.stream()
+                    .filter(MediaProcessingFacade.BatchItemResult::accepted)
+                    .map(MediaProcessingFacade.BatchItemResult::jobId)
+                    .toList());
+            response.setCount(response.getJobIds().size());
+            log.info("Created {} async video generation jobs, rejected {} items",
+                    response.getCount(), results.size() - response.getCount());
+
+            // Nothing was queued: every item carries its own error
+            return ResponseEntity.status(response.getCount() > 0 ? 202 : 400).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to create video generation batch: {}", e.getMessage());
+            return ResponseEntity.status(500).body("Failed to create video generation batch: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "Get job statuses", description = "Looks up several jobs at once with ids=1,2,3, or pages through the current user's jobs (owner=me), newest first, optionally filtered by status")
+    public ResponseEntity<?> getJobStatuses(
+            @Parameter(description = "Job IDs (comma-separated)") @RequestParam(value = "ids", required = false) List<Integer> ids,
+            @Parameter(description = "Job owner; only 'me' is supported") @RequestParam(value = "owner", required = false) String owner,
+            @Parameter(description = "Statuses to include (comma-separated)") @RequestParam(value = "status", required = false) List<VideoJobStatus> statuses,
+            @Parameter(description = "Zero-based page number") @RequestParam(value = "page", defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(value = "size", defaultValue = "50") int size) {
+        UserProfile currentUser = authenticatedUserService.getCurrentUser();
+
+        if (ids != null) {
+            if (ids.size() > maxLookupIds) {
+                return ResponseEntity.badRequest().body("At most " + maxLookupIds + " job IDs can be looked up at once");
+            }
+            return ResponseEntity.ok(videoGenerationJobService.getJobStatuses(currentUser.getId(), ids));
+        }
+
+        if (!"me".equals(owner)) {
+            return ResponseEntity.badRequest().body("Provide ids or owner=me");
+        }
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            return ResponseEntity.badRequest().body("page must be >= 0 and size between 1 and " + maxPageSize);
+        }
+
+        Slice<VideoJobStatusResponseDTO> slice =
+                videoGenerationJobService.getJobStatusesByOwner(currentUser.getId(), statuses, page, size);
+        VideoJobStatusPageResponseDTO response = new VideoJobStatusPageResponseDTO();
+        response.setJobs(slice.getContent());
+        response.setPage(page);
+        response.setSize(size);
+        response.setHasNext(slice.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/jobs/stats")
+    @Operation(summary = "Job pipeline statistics", description = "Returns how many pending jobs this node has timed out since startup because they outlived their deadline")
+    public ResponseEntity<VideoJobStatsResponseDTO> getJobStats() {
+        VideoJobStatsResponseDTO response = new VideoJobStatsResponseDTO();
+        response.setReapedJobs(jobReaper.getReapedCount());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/jobs/{jobId}")
     @Operation(summary = "Get job status", description = "Check the status of a video generation job")
     public ResponseEntity<?> getJobStatus(@Parameter(description = "Job ID") @PathVariable Integer jobId) {
@@ -116,14 +252,43 @@ public class VideoController {
         if (!job.getOwnerId().equals(currentUser.getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Job does not belong to the current user");
         }
-        Map<String, Object> response = new HashMap<>();
-        response.put("jobId", job.getId());
-        response.put("status", job.getStatus());
-        response.put("createdAt", job.getCreatedAt());
-        response.put("updatedAt", job.getUpdatedAt());
-        response.put("videoUrl", job.getVideoUrl());
-        response.put("errorMessage", job.getErrorMessage());
+        return ResponseEntity.ok(VideoJobStatusResponseDTO.from(job));
+    }
+
+    @GetMapping(path = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream job status", description = "Server-Sent Events stream that sends the job's current status, then pushes its completion or failure and closes")
+    public SseEmitter streamJobEvents(@Parameter(description = "Job ID") @PathVariable Integer jobId) {
+        UserProfile currentUser = authenticatedUserService.getCurrentUser();
+        VideoGenerationJob job = videoGenerationJobService.getJobById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found"));
+        if (!job.getOwnerId().equals(currentUser.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Job does not belong to the current user");
+        }
 
-        return ResponseEntity.ok(response);
+        // Re-read once subscribed: a transition after the check above is then either in the snapshot or pushed
+        return subscribe(currentUser, jobId, () -> videoGenerationJobService.getJobById(jobId).orElse(job));
+    }
+
+    @GetMapping(path = "/jobs/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream all job status changes", description = "Server-Sent Events stream of status changes for every video generation job of the current user")
+    public SseEmitter streamOwnerJobEvents() {
+        UserProfile currentUser = authenticatedUserService.getCurrentUser();
+        return subscribe(currentUser, null, () -> null);
+    }
+
+    private SseEmitter subscribe(UserProfile currentUser, Integer jobId, Supplier<VideoGenerationJob> snapshot) {
+        try {
+            return jobSubscriptionHub.subscribe(currentUser.getId(), jobId, snapshot);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+    }
+
+    private VideoGenerationBatchResponseDTO.ItemResult toItemResult(MediaProcessingFacade.BatchItemResult result) {
+        VideoGenerationBatchResponseDTO.ItemResult itemResult = new VideoGenerationBatchResponseDTO.ItemResult();
+        itemResult.setIndex(result.index());
+        itemResult.setJobId(result.jobId());
+        itemResult.setError(result.error());
+        return itemResult;
     }
 }
@@ -0,0 +1,52 @@
+package com.announcements.AutomateAnnouncements.controllers;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.announcements.AutomateAnnouncements.config.OutboundHttpPoolMetrics;
+import com.announcements.AutomateAnnouncements.integration.provider.ProviderGuard;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderGuards;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderRouter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/videos/providers")
+@Tag(name = "Video Providers", description = "Health of the outbound AI video providers")
+public class VideoProviderController {
+
+    private final VideoProviderGuards providerGuards;
+    private final VideoProviderRouter providerRouter;
+    private final OutboundHttpPoolMetrics poolMetrics;
+
+    public VideoProviderController(VideoProviderGuards providerGuards, VideoProviderRouter providerRouter,
+                                   OutboundHttpPoolMetrics poolMetrics) {
+        this.providerGuards = providerGuards;
+        this.providerRouter = providerRouter;
+        this.poolMetrics = poolMetrics;
+    }
+
+    @GetMapping("/health")
+    @Operation(summary = "Provider circuit breakers and bulkheads", description = "Returns each provider's circuit breaker state, failure and slow-call rates of the current window, rejected calls and bulkhead usage.")
+    public ResponseEntity<List<ProviderGuard.Snapshot>> getProviderHealth() {
+        return ResponseEntity.ok(providerGuards.snapshot());
+    }
+
+    @GetMapping("/routing")
+    @Operation(summary = "Provider routing statistics", description = "Returns each provider's live EWMA latency and error rate, its current hedge delay, and how many creations were routed to it, failed over away from it or hedged.")
+    public ResponseEntity<List<VideoProviderRouter.Snapshot>> getProviderRouting() {
+        return ResponseEntity.ok(providerRouter.snapshot());
+    }
+
+    @GetMapping("/pool")
+    @Operation(summary = "Outbound connection pool usage", description = "Returns, for each remote host of the shared outbound HTTP pool, the acquired, idle and allocated connections, the maximum allowed and how many requests wait for a connection.")
+    public ResponseEntity<Map<String, OutboundHttpPoolMetrics.PoolSnapshot>> getConnectionPool() {
+        return ResponseEntity.ok(poolMetrics.snapshot());
+    }
+}
@@ -0,0 +1,39 @@
+package com.announcements.AutomateAnnouncements.dtos.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class VideoGenerationBatchRequestDTO {
+    @NotNull
+    private Integer ownerId;
+
+    // Items are validated one by one when queued so a bad item does not reject the whole batch
+    @NotEmpty
+    private List<Item> requests;
+
+    @Data
+    public static class Item {
+        private String prompt;
+
+        private String title;
+
+        private String description;
+
+        private String targets;
+
+        private String style;
+
+        public VideoGenerationRequest toVideoGenerationRequest() {
+            return VideoGenerationRequest.builder()
+                    .withPrompt(prompt)
+                    .withTitle(title)
+                    .withDescription(description)
+                    .withTargets(targets)
+                    .withStyle(style)
+                    .build();
+        }
+    }
+}
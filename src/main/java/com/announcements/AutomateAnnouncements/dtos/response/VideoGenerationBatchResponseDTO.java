@@ -0,0 +1,18 @@
+package com.announcements.AutomateAnnouncements.dtos.response;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class VideoGenerationBatchResponseDTO {
+    private int count;
+    private List<Integer> jobIds;
+    private List<ItemResult> results;
+
+    @Data
+    public static class ItemResult {
+        private int index;
+        private Integer jobId;
+        private String error;
+    }
+}
@@ -0,0 +1,8 @@
+package com.announcements.AutomateAnnouncements.dtos.response;
+
+import lombok.Data;
+
+@Data
+public class VideoJobStatsResponseDTO {
+    private long reapedJobs;
+}
@@ -0,0 +1,12 @@
+package com.announcements.AutomateAnnouncements.dtos.response;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class VideoJobStatusPageResponseDTO {
+    private List<VideoJobStatusResponseDTO> jobs;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,23 @@
+package com.announcements.AutomateAnnouncements.dtos.response;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Status view of a video generation job. Repository queries select it directly with a constructor
+ * expression, so status lookups never hydrate the full entity.
+ */
+public record VideoJobStatusResponseDTO(
+        Integer jobId,
+        VideoJobStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String videoUrl,
+        String errorMessage) {
+
+    public static VideoJobStatusResponseDTO from(VideoGenerationJob job) {
+        return new VideoJobStatusResponseDTO(job.getId(), job.getStatus(), job.getCreatedAt(), job.getUpdatedAt(),
+                job.getVideoUrl(), job.getErrorMessage());
+    }
+}
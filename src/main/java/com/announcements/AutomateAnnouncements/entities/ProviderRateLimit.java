@@ -0,0 +1,31 @@
+package com.announcements.AutomateAnnouncements.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Data;
+
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+
+/**
+ * Token bucket of one provider shared by every node running in {@code shared} rate-limit mode.
+ */
+@Entity
+@Table(name = "provider_rate_limit")
+@Data
+public class ProviderRateLimit {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private VideoProviderType provider;
+    private double tokens;
+    @Column(name = "refilled_at_ms")
+    private long refilledAtMillis;
+    // Also makes a new bucket an insert, so nodes creating it concurrently collide on the key
+    @Version
+    private Long version;
+}
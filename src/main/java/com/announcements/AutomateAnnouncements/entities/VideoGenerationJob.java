@@ -1,21 +1,37 @@
 package com.announcements.AutomateAnnouncements.entities;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import java.time.LocalDateTime;
 import lombok.Data;
 
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_video_job_status_next_poll", columnList = "status, next_poll_at"),
+        @Index(name = "idx_video_job_owner_created", columnList = "owner_id, created_at"),
+        @Index(name = "idx_video_job_creation_id", columnList = "blotato_creation_id"),
+        @Index(name = "idx_video_job_status_deadline", columnList = "status, deadline_at")
+})
 @Data
 public class VideoGenerationJob {
 
+    // Sequence ids (pre-allocated in blocks) let Hibernate batch inserts, which IDENTITY columns prevent
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "video_generation_job_seq")
+    @SequenceGenerator(name = "video_generation_job_seq", sequenceName = "video_generation_job_seq", allocationSize = 50)
     private Integer id;
 
+    @Column(name = "owner_id")
     private Integer ownerId;
     private String prompt;
     private String title;
@@ -24,14 +40,36 @@ public class VideoGenerationJob {
     private String style;
 
     // Blotato specific fields
+    @Column(name = "blotato_creation_id")
     private String blotatoCreationId;
-    private String status; // QUEUED, PROCESSING, COMPLETED, FAILED
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private VideoJobStatus status;
+    // Provider the job was submitted to; null while QUEUED
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private VideoProviderType provider;
+    // Pending jobs still unfinished at this time are failed by the reaper
+    @Column(name = "deadline_at")
+    private LocalDateTime deadlineAt;
+
+    // Polling schedule: the worker only selects jobs whose nextPollAt is due
+    @Column(name = "next_poll_at")
+    private LocalDateTime nextPollAt;
+    private Integer pollAttempts;
+
+    // Lease held by the worker node currently polling this job; expired leases can be re-claimed
+    @Column(name = "claimed_by")
+    private String claimedBy;
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
 
     // Result fields
     private String videoUrl;
     private String errorMessage;
 
     // Timestamps
+    @Column(name = "created_at")
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime completedAt;
@@ -39,4 +77,4 @@ public class VideoGenerationJob {
     // Asset and PostDraft IDs when completed
     private Integer assetId;
     private Integer postDraftId;
-}
\ No newline at end of file
+}
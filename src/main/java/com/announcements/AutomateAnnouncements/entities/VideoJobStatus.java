@@ -0,0 +1,32 @@
+package com.announcements.AutomateAnnouncements.entities;
+
+import java.util.List;
+
+/**
+ * Lifecycle of a {@link VideoGenerationJob}. Each state lists the states it may be entered from, and the
+ * job service applies transitions as {@code UPDATE ... WHERE status IN (predecessors)} so illegal or
+ * concurrent transitions simply affect no row.
+ */
+public enum VideoJobStatus {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED;
+
+    public static final List<VideoJobStatus> PENDING = List.of(QUEUED, PROCESSING);
+
+    /**
+     * States from which a job may legally move into this one.
+     */
+    public List<VideoJobStatus> predecessors() {
+        return switch (this) {
+            case QUEUED -> List.of();
+            case PROCESSING -> List.of(QUEUED);
+            case COMPLETED, FAILED -> PENDING;
+        };
+    }
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,55 @@
+package com.announcements.AutomateAnnouncements.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+
+/**
+ * Result of one provider/template/prompt/style combination, shared by every node. An entry is reserved
+ * before its creation is submitted, records the creation id while the provider renders it and the video
+ * URL once it completed.
+ */
+@Entity
+@Table(name = "video_result_cache", indexes = {
+        @Index(name = "idx_video_result_cache_creation_id", columnList = "creation_id"),
+        @Index(name = "idx_video_result_cache_expires", columnList = "expires_at"),
+        @Index(name = "idx_video_result_cache_last_used", columnList = "last_used_at")
+})
+@Data
+public class VideoResultCacheEntry {
+
+    // SHA-256 of provider, template, normalized prompt and style
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private VideoProviderType provider;
+    // Null while the submission that reserved the entry waits for the provider
+    @Column(name = "creation_id")
+    private String creationId;
+    // Null until the creation completed
+    @Column(name = "video_url")
+    private String videoUrl;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    // Also makes a new entry an insert, so nodes reserving the same key concurrently collide on it
+    @Version
+    private Long version;
+}
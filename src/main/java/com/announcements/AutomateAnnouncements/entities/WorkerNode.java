@@ -0,0 +1,24 @@
+package com.announcements.AutomateAnnouncements.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+/**
+ * A running application node and when it last reported in, so other nodes can tell work it owned apart
+ * from work of a node that is gone.
+ */
+@Entity
+@Table(name = "worker_node")
+@Data
+public class WorkerNode {
+
+    @Id
+    @Column(name = "node_id")
+    private String nodeId;
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
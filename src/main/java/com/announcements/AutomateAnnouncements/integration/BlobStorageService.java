@@ -1,9 +1,14 @@
 package com.announcements.AutomateAnnouncements.integration;
 
+import com.azure.core.util.BinaryData;
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
-import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobErrorCode;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -13,51 +18,107 @@ import java.io.IOException;
 import java.util.UUID;
 import org.springframework.util.StringUtils;
 
+/**
+ * Uploads media to Azure Blob Storage through the shared {@link BlobServiceClient}. The container is
+ * checked (and created when missing) once, on the first upload, instead of before every upload; should
+ * it be deleted later, the next upload after the failing one checks again.
+ *
+ * <p>Files up to {@code azure.blob.upload.single-upload-max-mb} go up in one request. Larger ones are split
+ * into blocks of {@code azure.blob.upload.block-size-mb} that are staged over up to
+ * {@code azure.blob.upload.parallelism} connections at once and then committed as a block list, so a
+ * failed block is retried on its own instead of restarting the whole file.
+ */
 @Slf4j
 @Service
 public class BlobStorageService {
 
-    @Value("${azure.blob.connection-string}")
-    private String connectionString;
+    private static final int RECENT_UPLOADS = 1024;
+    private static final long MEGABYTE = 1024L * 1024L;
 
-    @Value("${azure.blob.container-name}")
-    private String containerName;
+    private final BlobServiceClient blobServiceClient;
+    private final String containerName;
+    private final boolean containerPublic;
+    private final ParallelTransferOptions transferOptions;
+    private final BlobUploadMetrics uploadMetrics = new BlobUploadMetrics(RECENT_UPLOADS);
+    private volatile BlobContainerClient containerClient;
 
-    @Value("${azure.blob.public:false}")
-    private boolean containerPublic;
+    public BlobStorageService(BlobServiceClient blobServiceClient,
+                              @Value("${azure.blob.container-name}") String containerName,
+                              @Value("${azure.blob.public:false}") boolean containerPublic,
+                              @Value("${azure.blob.upload.block-size-mb:8}") int blockSizeMb,
+                              @Value("${azure.blob.upload.parallelism:4}") int parallelism,
+                              @Value("${azure.blob.upload.single-upload-max-mb:8}") int singleUploadMaxMb) {
+        this.blobServiceClient = blobServiceClient;
+        this.containerName = containerName;
+        this.containerPublic = containerPublic;
+        this.transferOptions = new ParallelTransferOptions()
+                .setBlockSizeLong(Math.max(1, blockSizeMb) * MEGABYTE)
+                .setMaxConcurrency(Math.max(1, parallelism))
+                .setMaxSingleUploadSizeLong(Math.max(1, singleUploadMaxMb) * MEGABYTE);
+    }
 
     public String uploadFile(MultipartFile file) {
+        long startedAt = System.nanoTime();
+        boolean failed = true;
         try {
-            BlobServiceClient blobServiceClient = new BlobServiceClientBuilder()
-                    .connectionString(connectionString)
-                    .buildClient();
-
-            // Crear el contenedor si no existe
-            BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
-            if (!containerClient.exists()) {
-                log.info("Container '{}' does not exist, creating it...", containerName);
-                containerClient.create();
-                log.info("Container '{}' created successfully", containerName);
-
-                if (containerPublic) {
-                    try {
-                        containerClient.setAccessPolicy(PublicAccessType.CONTAINER, null);
-                        log.info("Container '{}' access set to PUBLIC (blob/list).", containerName);
-                    } catch (Exception e) {
-                        log.warn("Failed to set container '{}' public access: {}", containerName, e.getMessage());
-                    }
-                }
-            }
-
             String blobName = buildBlobName(file.getOriginalFilename());
-            BlobClient blobClient = containerClient.getBlobClient(blobName);
-            blobClient.upload(file.getInputStream(), file.getSize(), true);
+            BlobClient blobClient = containerClient().getBlobClient(blobName);
+            BlobParallelUploadOptions options = new BlobParallelUploadOptions(
+                    BinaryData.fromStream(file.getInputStream(), file.getSize()))
+                    .setParallelTransferOptions(transferOptions);
+            blobClient.uploadWithResponse(options, null, Context.NONE);
 
+            failed = false;
             return blobClient.getBlobUrl();
+        } catch (BlobStorageException e) {
+            if (BlobErrorCode.CONTAINER_NOT_FOUND.equals(e.getErrorCode())) {
+                log.warn("Container '{}' disappeared, it is checked again on the next upload", containerName);
+                containerClient = null;
+            }
+            throw e;
         } catch (IOException e) {
             log.error("Failed to upload file to Blob Storage", e);
             throw new RuntimeException("Failed to upload file to Blob Storage", e);
+        } finally {
+            uploadMetrics.recordUpload(System.nanoTime() - startedAt, file.getSize(), failed);
+        }
+    }
+
+    public BlobUploadMetrics.Snapshot getUploadMetrics() {
+        return uploadMetrics.snapshot();
+    }
+
+    private BlobContainerClient containerClient() {
+        BlobContainerClient client = containerClient;
+        if (client != null) {
+            return client;
+        }
+        synchronized (this) {
+            if (containerClient == null) {
+                containerClient = bootstrapContainer();
+            }
+            return containerClient;
+        }
+    }
+
+    private BlobContainerClient bootstrapContainer() {
+        BlobContainerClient client = blobServiceClient.getBlobContainerClient(containerName);
+        uploadMetrics.recordContainerCheck();
+
+        // A single round trip: creates the container, or learns that it already exists
+        if (client.createIfNotExists()) {
+            log.info("Container '{}' created successfully", containerName);
+
+            if (containerPublic) {
+                try {
+                    client.setAccessPolicy(PublicAccessType.CONTAINER, null);
+                    log.info("Container '{}' access set to PUBLIC (blob/list).", containerName);
+                } catch (Exception e) {
+                    log.warn("Failed to set container '{}' public access: {}", containerName, e.getMessage());
+                }
+            }
         }
+        return client;
     }
 
     private String buildBlobName(String originalFilename) {
@@ -0,0 +1,69 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+import java.util.Arrays;
+
+/**
+ * Latency and volume of blob uploads, kept in memory so they can be inspected without a metrics registry.
+ * Percentiles are taken over the most recent uploads only; throughput over every successful upload.
+ */
+public class BlobUploadMetrics {
+
+    private final long[] recentNanos;
+    private int nextRecent;
+    private int recent;
+
+    private long uploads;
+    private long failures;
+    private long bytes;
+    private long totalNanos;
+    private long maxNanos;
+    private long uploadedNanos;
+    private long containerChecks;
+
+    public record Snapshot(long uploads, long failures, long bytes, double averageMillis, double p50Millis,
+                           double p95Millis, double maxMillis, double megabytesPerSecond, long containerChecks) {
+    }
+
+    public BlobUploadMetrics(int recentWindow) {
+        this.recentNanos = new long[recentWindow];
+    }
+
+    synchronized void recordUpload(long durationNanos, long size, boolean failed) {
+        uploads++;
+        totalNanos += durationNanos;
+        maxNanos = Math.max(maxNanos, durationNanos);
+        if (failed) {
+            failures++;
+            return;
+        }
+        bytes += size;
+        uploadedNanos += durationNanos;
+        recentNanos[nextRecent] = durationNanos;
+        nextRecent = (nextRecent + 1) % recentNanos.length;
+        recent = Math.min(recent + 1, recentNanos.length);
+    }
+
+    synchronized void recordContainerCheck() {
+        containerChecks++;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(recentNanos, recent);
+        Arrays.sort(sorted);
+        return new Snapshot(uploads, failures, bytes, uploads == 0 ? 0 : millis(totalNanos / uploads),
+                percentile(sorted, 50), percentile(sorted, 95), millis(maxNanos),
+                uploadedNanos == 0 ? 0 : bytes / (1024.0 * 1024.0) / (uploadedNanos / 1_000_000_000.0), containerChecks);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return millis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+/**
+ * The fields of a Blotato creation payload this application uses. Any of them may be null when the
+ * payload does not carry it.
+ */
+record BlotatoCreation(String id, String status, String videoUrl) {
+
+    static final BlotatoCreation EMPTY = new BlotatoCreation(null, null, null);
+
+    boolean isCompleted() {
+        return "completed".equals(status);
+    }
+
+    boolean isFailed() {
+        return "failed".equals(status);
+    }
+}
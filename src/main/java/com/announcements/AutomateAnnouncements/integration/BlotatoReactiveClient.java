@@ -0,0 +1,148 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import com.announcements.AutomateAnnouncements.integration.retry.OutboundRetries;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking client for Blotato's creation API. Calls run on the shared outbound connection pool and
+ * waiting between status checks is a timer on a shared scheduler, so thousands of creations can be in
+ * flight without holding a thread each.
+ */
+@Slf4j
+@Component
+public class BlotatoReactiveClient {
+
+    static final String CREATE_CLIENT = "blotato-create";
+    static final String STATUS_CLIENT = "blotato-status";
+
+    private final WebClient webClient;
+    private final String baseUrl;
+    private final String templateId;
+    private final OutboundRetries retries;
+    private final Duration pollInterval;
+    private final Duration completionTimeout;
+    private final Scheduler pollScheduler = Schedulers.parallel();
+
+    public BlotatoReactiveClient(WebClient.Builder webClientBuilder,
+                                 @Value("${blotato.api.key}") String apiKey,
+                                 @Value("${blotato.api.base-url}") String baseUrl,
+                                 @Value("${blotato.api.template-id}") String templateId,
+                                 OutboundRetries retries,
+                                 @Value("${blotato.api.poll-interval-ms:5000}") long pollIntervalMillis,
+                                 @Value("${blotato.api.completion-timeout-seconds:300}") long completionTimeoutSeconds) {
+        this.webClient = webClientBuilder
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .build();
+        this.baseUrl = baseUrl;
+        this.templateId = templateId;
+        this.retries = retries;
+        this.pollInterval = Duration.ofMillis(pollIntervalMillis);
+        this.completionTimeout = Duration.ofSeconds(completionTimeoutSeconds);
+    }
+
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Starts a creation and emits its id. Each creation is a paid render, so it is retried per the
+     * {@code blotato-create} policy only when Blotato cannot have accepted it.
+     */
+    public Mono<String> createVideoCreation(String prompt, String style) {
+        Map<String, Object> requestBody = Map.of(
+                "template", Map.of("id", templateId),
+                "script", prompt,
+                "style", style != null ? style : "cinematic");
+
+        Mono<ResponseEntity<DataBuffer>> request = Mono.defer(() -> {
+            log.debug("Sending creation request to Blotato API for template {}", templateId);
+            return webClient.post()
+                    .uri(baseUrl + "/videos/creations")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .toEntity(DataBuffer.class);
+        });
+        return retries.withNonIdempotentRetries(CREATE_CLIENT, request).map(this::creationIdFrom);
+    }
+
+    /**
+     * Emits the video URL once the creation is completed, completes empty while it is still processing and
+     * fails with {@link VideoCreationFailedException} when Blotato reports it as failed.
+     */
+    public Mono<String> fetchVideoUrl(String creationId) {
+        Mono<DataBuffer> request = webClient.get()
+                .uri(baseUrl + "/videos/creations/{id}", creationId)
+                .retrieve()
+                .bodyToMono(DataBuffer.class);
+        return retries.withRetries(STATUS_CLIENT, request)
+                .map(BlotatoResponses::parse)
+                .flatMap(creation -> {
+                    if (creation.isFailed()) {
+                        return Mono.error(new VideoCreationFailedException(creationId));
+                    }
+                    if (creation.isCompleted()) {
+                        return Mono.justOrEmpty(creation.videoUrl());
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Polling operator: checks the creation every poll interval until it yields a URL, fails, or the
+     * completion timeout elapses. Transient errors that outlast the status retries are logged and polled
+     * through; anything else ends the wait.
+     */
+    public Mono<String> awaitVideoUrl(String creationId) {
+        return fetchVideoUrl(creationId)
+                .onErrorResume(this::isTransient, error -> {
+                    log.warn("Error checking video status for {}: {}", creationId, error.getMessage());
+                    return Mono.empty();
+                })
+                .repeatWhenEmpty(checks -> checks.concatMap(check -> Mono.delay(pollInterval, pollScheduler)))
+                .timeout(completionTimeout, pollScheduler)
+                .onErrorMap(TimeoutException.class, error -> new IllegalStateException(
+                        "Video generation timed out after " + completionTimeout.toSeconds() + " seconds"));
+    }
+
+    private String creationIdFrom(ResponseEntity<DataBuffer> response) {
+        String creationId = response.getBody() != null ? BlotatoResponses.parse(response.getBody()).id() : null;
+
+        // Fallback: the id is the last segment of the Location header
+        URI location = response.getHeaders().getLocation();
+        if (creationId == null && location != null && location.getPath() != null) {
+            String[] parts = location.getPath().split("/");
+            creationId = parts[parts.length - 1];
+        }
+
+        if (creationId == null) {
+            throw new IllegalStateException("No creation ID received from Blotato API (HTTP "
+                    + response.getStatusCode().value() + ")");
+        }
+        return creationId;
+    }
+
+    /**
+     * Whether a status check failed for a reason worth checking again later, such as an outage, rather
+     * than because the request itself is wrong.
+     */
+    public boolean isTransient(Throwable error) {
+        return retries.isRetryable(retries.policy(STATUS_CLIENT), error);
+    }
+}
@@ -0,0 +1,126 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads a {@link BlotatoCreation} from Blotato's creation payloads, which carry the fields either at the
+ * root or nested under {@code item} / {@code data} depending on the endpoint. Payloads are read as a token
+ * stream: only the fields we use are materialized and everything else is skipped, so no tree or map of
+ * the whole body is built. Root fields take precedence over nested ones.
+ */
+final class BlotatoResponses {
+
+    private static final ObjectMapper CALLBACK_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = CALLBACK_MAPPER.getFactory();
+
+    private BlotatoResponses() {
+    }
+
+    /**
+     * Parses a response body straight from the network buffer, which is released once read.
+     */
+    static BlotatoCreation parse(DataBuffer body) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body.asInputStream(true))) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable Blotato response", e);
+        }
+    }
+
+    /**
+     * Reads a payload that was already decoded elsewhere, such as a webhook body.
+     */
+    static BlotatoCreation parse(Map<String, Object> body) {
+        try (JsonParser parser = CALLBACK_MAPPER.treeAsTokens(CALLBACK_MAPPER.valueToTree(body))) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable Blotato payload", e);
+        }
+    }
+
+    private static BlotatoCreation parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return BlotatoCreation.EMPTY;
+        }
+
+        String id = null;
+        String status = null;
+        String videoUrl = null;
+        Nested item = Nested.EMPTY;
+        Nested data = Nested.EMPTY;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = scalar(parser, value);
+                case "status" -> status = string(parser, value);
+                case "videoUrl" -> videoUrl = string(parser, value);
+                case "item" -> item = nested(parser, value);
+                case "data" -> data = nested(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new BlotatoCreation(
+                firstNonNull(id, item.id(), data.id()),
+                firstNonNull(status, item.status(), null),
+                firstNonNull(videoUrl, item.videoUrl(), item.resultUrl()));
+    }
+
+    private static Nested nested(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return Nested.EMPTY;
+        }
+
+        String id = null;
+        String status = null;
+        String videoUrl = null;
+        String resultUrl = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken nestedValue = parser.nextToken();
+            switch (field) {
+                case "id" -> id = scalar(parser, nestedValue);
+                case "status" -> status = string(parser, nestedValue);
+                case "videoUrl" -> videoUrl = string(parser, nestedValue);
+                case "resultUrl" -> resultUrl = string(parser, nestedValue);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Nested(id, status, videoUrl, resultUrl);
+    }
+
+    // Ids may be sent as numbers
+    private static String scalar(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static String string(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static String firstNonNull(String first, String second, String third) {
+        return first != null ? first : second != null ? second : third;
+    }
+
+    private record Nested(String id, String status, String videoUrl, String resultUrl) {
+
+        private static final Nested EMPTY = new Nested(null, null, null, null);
+    }
+}
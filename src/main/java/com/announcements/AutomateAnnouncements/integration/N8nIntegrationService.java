@@ -5,6 +5,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+
+import com.announcements.AutomateAnnouncements.integration.retry.OutboundRetries;
 import com.announcements.AutomateAnnouncements.services.TargetAudienceTranslator;
 
 import java.util.List;
@@ -14,15 +16,21 @@ import java.util.Map;
 @Service
 public class N8nIntegrationService {
 
+    private static final String RETRY_CLIENT = "n8n-webhook";
+
     private final WebClient webClient;
     private final String webhookUrl;
     private final TargetAudienceTranslator targetAudienceTranslator;
+    private final OutboundRetries retries;
 
     public N8nIntegrationService(@Value("${n8n.webhook.url}") String webhookUrl,
-                                 TargetAudienceTranslator targetAudienceTranslator) {
+                                 TargetAudienceTranslator targetAudienceTranslator,
+                                 WebClient.Builder webClientBuilder,
+                                 OutboundRetries retries) {
         this.webhookUrl = webhookUrl;
         this.targetAudienceTranslator = targetAudienceTranslator;
-        this.webClient = WebClient.builder().build();
+        this.webClient = webClientBuilder.build();
+        this.retries = retries;
     }
 
     public void sendVideoToN8n(String title, String description, String videoUrl, String targets) {
@@ -40,12 +48,13 @@ public class N8nIntegrationService {
         log.info("Payload to send: {}", payload);
 
         try {
-            webClient.post()
-                .uri(webhookUrl)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(payload)
-                .retrieve()
-                .toBodilessEntity()
+            // A retried post that n8n already handled would publish the video twice
+            retries.withNonIdempotentRetries(RETRY_CLIENT, webClient.post()
+                    .uri(webhookUrl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(payload)
+                    .retrieve()
+                    .toBodilessEntity())
                 .block();
 
             log.info("Video data sent successfully to n8n");
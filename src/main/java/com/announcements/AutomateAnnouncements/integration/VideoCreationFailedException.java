@@ -0,0 +1,16 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+/**
+ * Signals that the provider reported a creation as failed, as opposed to a transient error while
+ * asking about it.
+ */
+public class VideoCreationFailedException extends RuntimeException {
+
+    public VideoCreationFailedException(String creationId) {
+        super("Video generation failed on provider side for creation " + creationId);
+    }
+
+    public VideoCreationFailedException(String creationId, String reason) {
+        super("Video generation failed on provider side for creation " + creationId + ": " + reason);
+    }
+}
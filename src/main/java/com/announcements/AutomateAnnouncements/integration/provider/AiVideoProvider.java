@@ -1,5 +1,6 @@
 package com.announcements.AutomateAnnouncements.integration.provider;
 
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,6 +26,30 @@ public interface AiVideoProvider {
      */
     String generateVideo(String prompt, String style);
 
+    /**
+     * Non-blocking view of this provider. Blocking adapters get a bridge that runs each call on a
+     * bounded elastic worker; adapters over a reactive client override this with a native view.
+     */
+    default ReactiveAiVideoProvider reactive() {
+        return ReactiveAiVideoProvider.bridge(this);
+    }
+
+    /**
+     * Translates a completion notification pushed by the provider into a {@link VideoCreationCallback}.
+     * Providers without webhook support return an empty result.
+     */
+    default Optional<VideoCreationCallback> parseCompletionCallback(Map<String, Object> payload) {
+        return Optional.empty();
+    }
+
+    /**
+     * Provider-side template creations are rendered with, or {@code null} when the provider has none. Part of
+     * the result cache key, so switching templates never serves videos rendered with the old one.
+     */
+    default String getTemplateId() {
+        return null;
+    }
+
     /**
      * Indicates whether the provider supports asynchronous creation flows.
      */
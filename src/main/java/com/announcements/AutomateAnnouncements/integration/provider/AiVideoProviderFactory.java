@@ -2,14 +2,17 @@ package com.announcements.AutomateAnnouncements.integration.provider;
 
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 /**
  * Factory Method pattern – resolves the appropriate {@link AiVideoProvider} implementation
- * based on configuration, keeping provider lookup logic in a single place.
+ * based on configuration, keeping provider lookup logic in a single place. With routing enabled new
+ * creations go to whichever async provider the {@link VideoProviderRouter} finds healthiest, and with a
+ * hedge provider configured synchronous generations on the default provider are hedged to it. Providers
+ * that only generate synchronously are made async-capable through {@link LocalVideoGenerations}.
  */
 @Component
 public class AiVideoProviderFactory {
@@ -17,15 +20,45 @@ public class AiVideoProviderFactory {
     private final Map<VideoProviderType, AiVideoProvider> providers;
     private final VideoProviderType defaultProviderType;
     private final VideoProviderType asyncProviderType;
+    private final VideoProviderRouter router;
+    private final boolean routingEnabled;
+    private final AiVideoProvider hedgedDefaultProvider;
 
     public AiVideoProviderFactory(
             List<AiVideoProvider> providers,
+            VideoProviderGuards providerGuards,
+            VideoProviderRateLimiters rateLimiters,
+            VideoStatusCoalescer statusCoalescer,
+            VideoProviderRouter router,
+            LocalVideoGenerations localGenerations,
             @Value("${video.provider.default:BLOTATO}") String defaultProvider,
-            @Value("${video.provider.async:BLOTATO}") String asyncProvider) {
+            @Value("${video.provider.async:BLOTATO}") String asyncProvider,
+            @Value("${video.routing.enabled:false}") boolean routingEnabled,
+            @Value("${video.routing.hedge.provider:}") String hedgeProvider,
+            @Value("${video.provider.local-async.enabled:true}") boolean localAsyncEnabled) {
+        // Every outbound call is measured, guarded and rate limited; status checks are coalesced first so
+        // waiters never spend a token or take a bulkhead slot, and calls over quota never count against the
+        // circuit breaker or the routing statistics
         this.providers = providers.stream()
-                .collect(Collectors.toMap(AiVideoProvider::getType, Function.identity(), (left, right) -> left));
+                .collect(Collectors.toMap(AiVideoProvider::getType,
+                        provider -> {
+                            AiVideoProvider decorated = new CoalescingVideoProvider(
+                                    new RateLimitedVideoProvider(
+                                            new GuardedVideoProvider(new MeasuredVideoProvider(provider, router),
+                                                    providerGuards.forProvider(provider.getType())),
+                                            rateLimiters.forProvider(provider.getType())),
+                                    statusCoalescer);
+                            // Synchronous-only providers join the job pipeline through in-process creations
+                            return localAsyncEnabled && !provider.supportsAsyncOperations()
+                                    ? new LocalAsyncVideoProvider(decorated, localGenerations)
+                                    : decorated;
+                        },
+                        (left, right) -> left));
         this.defaultProviderType = VideoProviderType.valueOf(defaultProvider.toUpperCase());
         this.asyncProviderType = VideoProviderType.valueOf(asyncProvider.toUpperCase());
+        this.router = router;
+        this.routingEnabled = routingEnabled;
+        this.hedgedDefaultProvider = hedgedProvider(hedgeProvider);
     }
 
     public AiVideoProvider getProvider(VideoProviderType type) {
@@ -37,7 +70,7 @@ public class AiVideoProviderFactory {
     }
 
     public AiVideoProvider getDefaultProvider() {
-        return getProvider(defaultProviderType);
+        return hedgedDefaultProvider != null ? hedgedDefaultProvider : getProvider(defaultProviderType);
     }
 
     public AiVideoProvider getAsyncProvider() {
@@ -47,4 +80,41 @@ public class AiVideoProviderFactory {
         }
         return provider;
     }
+
+    /**
+     * Provider that should receive the next asynchronous creation: the configured async provider, or with
+     * routing enabled the healthiest async-capable one.
+     */
+    public AiVideoProvider getCreationProvider() {
+        return routingEnabled ? router.route(getCreationProviders(), asyncProviderType) : getAsyncProvider();
+    }
+
+    /**
+     * Every provider {@link #getCreationProvider()} may return.
+     */
+    public List<AiVideoProvider> getCreationProviders() {
+        if (!routingEnabled) {
+            return List.of(getAsyncProvider());
+        }
+        return providers.values().stream().filter(AiVideoProvider::supportsAsyncOperations).toList();
+    }
+
+    /**
+     * Provider to poll for a creation started on {@code recordedType}; jobs from before the provider was
+     * recorded fall back to the async provider.
+     */
+    public AiVideoProvider getPollingProvider(VideoProviderType recordedType) {
+        return recordedType != null ? getProvider(recordedType) : getAsyncProvider();
+    }
+
+    private AiVideoProvider hedgedProvider(String hedgeProvider) {
+        if (!StringUtils.hasText(hedgeProvider)) {
+            return null;
+        }
+        VideoProviderType hedgeType = VideoProviderType.valueOf(hedgeProvider.toUpperCase());
+        if (hedgeType == defaultProviderType) {
+            throw new IllegalStateException("Hedge provider must differ from the default provider " + defaultProviderType);
+        }
+        return new HedgingVideoProvider(getProvider(defaultProviderType), getProvider(hedgeType), router);
+    }
 }
@@ -1,12 +1,15 @@
 package com.announcements.AutomateAnnouncements.integration.provider;
 
 import com.announcements.AutomateAnnouncements.integration.BlotatoVideoService;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 /**
  * Adapter pattern – exposes {@link BlotatoVideoService} behind the {@link AiVideoProvider} interface
- * so the rest of the application does not need to know how Blotato's API works.
+ * so the rest of the application does not need to know how Blotato's API works. Blotato is called through
+ * a reactive client, so {@link #reactive()} exposes that client directly instead of bridging.
  */
 @Component
 public class BlotatoVideoProviderAdapter implements AiVideoProvider {
@@ -32,8 +35,43 @@ public class BlotatoVideoProviderAdapter implements AiVideoProvider {
         return Optional.ofNullable(blotatoVideoService.checkVideoStatus(creationId));
     }
 
+    @Override
+    public Optional<VideoCreationCallback> parseCompletionCallback(Map<String, Object> payload) {
+        return blotatoVideoService.parseCallback(payload);
+    }
+
+    @Override
+    public String getTemplateId() {
+        return blotatoVideoService.getTemplateId();
+    }
+
     @Override
     public String generateVideo(String prompt, String style) {
         return blotatoVideoService.generateVideo(prompt, style);
     }
+
+    @Override
+    public ReactiveAiVideoProvider reactive() {
+        return new ReactiveAiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return VideoProviderType.BLOTATO;
+            }
+
+            @Override
+            public Mono<String> requestVideoCreation(String prompt, String style) {
+                return blotatoVideoService.createVideoCreationAsync(prompt, style);
+            }
+
+            @Override
+            public Mono<String> fetchVideoUrl(String creationId) {
+                return blotatoVideoService.checkVideoStatusAsync(creationId);
+            }
+
+            @Override
+            public Mono<String> generateVideo(String prompt, String style) {
+                return blotatoVideoService.generateVideoAsync(prompt, style);
+            }
+        };
+    }
 }
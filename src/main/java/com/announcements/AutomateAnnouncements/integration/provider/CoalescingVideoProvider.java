@@ -0,0 +1,79 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.util.Map;
+import java.util.Optional;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator pattern – routes status checks of the wrapped provider through the {@link VideoStatusCoalescer}
+ * and delegates everything else unchanged. Its {@link #reactive()} view shares requests the same way without
+ * blocking: waiters subscribe to the in-flight request instead of joining it.
+ */
+final class CoalescingVideoProvider implements AiVideoProvider {
+
+    private final AiVideoProvider delegate;
+    private final VideoStatusCoalescer coalescer;
+
+    CoalescingVideoProvider(AiVideoProvider delegate, VideoStatusCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public VideoProviderType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public String requestVideoCreation(String prompt, String style) {
+        return delegate.requestVideoCreation(prompt, style);
+    }
+
+    @Override
+    public Optional<String> fetchVideoUrl(String creationId) {
+        return coalescer.fetchVideoUrl(delegate, creationId);
+    }
+
+    @Override
+    public String generateVideo(String prompt, String style) {
+        return delegate.generateVideo(prompt, style);
+    }
+
+    @Override
+    public ReactiveAiVideoProvider reactive() {
+        ReactiveAiVideoProvider reactiveDelegate = delegate.reactive();
+        return new ReactiveAiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return reactiveDelegate.getType();
+            }
+
+            @Override
+            public Mono<String> requestVideoCreation(String prompt, String style) {
+                return reactiveDelegate.requestVideoCreation(prompt, style);
+            }
+
+            @Override
+            public Mono<String> fetchVideoUrl(String creationId) {
+                return Mono.fromFuture(() -> coalescer.fetchVideoUrlAsync(getType(), creationId,
+                                () -> ReactiveAiVideoProvider.optional(reactiveDelegate.fetchVideoUrl(creationId)).toFuture()))
+                        .flatMap(Mono::justOrEmpty);
+            }
+
+            @Override
+            public Mono<String> generateVideo(String prompt, String style) {
+                return reactiveDelegate.generateVideo(prompt, style);
+            }
+        };
+    }
+
+    @Override
+    public Optional<VideoCreationCallback> parseCompletionCallback(Map<String, Object> payload) {
+        return delegate.parseCompletionCallback(payload);
+    }
+
+    @Override
+    public boolean supportsAsyncOperations() {
+        return delegate.supportsAsyncOperations();
+    }
+}
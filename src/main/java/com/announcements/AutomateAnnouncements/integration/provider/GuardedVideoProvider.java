@@ -0,0 +1,76 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.util.Map;
+import java.util.Optional;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator pattern – runs every outbound call of the wrapped provider through its {@link ProviderGuard}.
+ * Parsing callbacks is local work and is not guarded.
+ */
+final class GuardedVideoProvider implements AiVideoProvider {
+
+    private final AiVideoProvider delegate;
+    private final ProviderGuard guard;
+
+    GuardedVideoProvider(AiVideoProvider delegate, ProviderGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public VideoProviderType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public String requestVideoCreation(String prompt, String style) {
+        return guard.call(() -> delegate.requestVideoCreation(prompt, style), true);
+    }
+
+    @Override
+    public Optional<String> fetchVideoUrl(String creationId) {
+        return guard.call(() -> delegate.fetchVideoUrl(creationId), true);
+    }
+
+    @Override
+    public String generateVideo(String prompt, String style) {
+        return guard.call(() -> delegate.generateVideo(prompt, style), false);
+    }
+
+    @Override
+    public ReactiveAiVideoProvider reactive() {
+        ReactiveAiVideoProvider reactiveDelegate = delegate.reactive();
+        return new ReactiveAiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return reactiveDelegate.getType();
+            }
+
+            @Override
+            public Mono<String> requestVideoCreation(String prompt, String style) {
+                return guard.callAsync(reactiveDelegate.requestVideoCreation(prompt, style), true);
+            }
+
+            @Override
+            public Mono<String> fetchVideoUrl(String creationId) {
+                return guard.callAsync(reactiveDelegate.fetchVideoUrl(creationId), true);
+            }
+
+            @Override
+            public Mono<String> generateVideo(String prompt, String style) {
+                return guard.callAsync(reactiveDelegate.generateVideo(prompt, style), false);
+            }
+        };
+    }
+
+    @Override
+    public Optional<VideoCreationCallback> parseCompletionCallback(Map<String, Object> payload) {
+        return delegate.parseCompletionCallback(payload);
+    }
+
+    @Override
+    public boolean supportsAsyncOperations() {
+        return delegate.supportsAsyncOperations();
+    }
+}
@@ -0,0 +1,177 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator pattern – hedges synchronous generations of the primary provider. When a generation is still
+ * running after the router's hedge delay, the same request is also sent to the secondary provider and the
+ * first successful result wins; the slower call is cancelled. A primary that refuses the call outright
+ * (breaker open, bulkhead full, over quota) fails over to the secondary at once. Asynchronous operations
+ * go to the primary unchanged.
+ */
+@Slf4j
+final class HedgingVideoProvider implements AiVideoProvider {
+
+    private final AiVideoProvider primary;
+    private final AiVideoProvider secondary;
+    private final VideoProviderRouter router;
+
+    HedgingVideoProvider(AiVideoProvider primary, AiVideoProvider secondary, VideoProviderRouter router) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.router = router;
+    }
+
+    @Override
+    public VideoProviderType getType() {
+        return primary.getType();
+    }
+
+    @Override
+    public String requestVideoCreation(String prompt, String style) {
+        return primary.requestVideoCreation(prompt, style);
+    }
+
+    @Override
+    public Optional<String> fetchVideoUrl(String creationId) {
+        return primary.fetchVideoUrl(creationId);
+    }
+
+    @Override
+    public String generateVideo(String prompt, String style) {
+        return hedged(primary.reactive(), secondary.reactive(), prompt, style).block();
+    }
+
+    @Override
+    public ReactiveAiVideoProvider reactive() {
+        ReactiveAiVideoProvider reactivePrimary = primary.reactive();
+        ReactiveAiVideoProvider reactiveSecondary = secondary.reactive();
+        return new ReactiveAiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return reactivePrimary.getType();
+            }
+
+            @Override
+            public Mono<String> requestVideoCreation(String prompt, String style) {
+                return reactivePrimary.requestVideoCreation(prompt, style);
+            }
+
+            @Override
+            public Mono<String> fetchVideoUrl(String creationId) {
+                return reactivePrimary.fetchVideoUrl(creationId);
+            }
+
+            @Override
+            public Mono<String> generateVideo(String prompt, String style) {
+                return hedged(reactivePrimary, reactiveSecondary, prompt, style);
+            }
+        };
+    }
+
+    @Override
+    public Optional<VideoCreationCallback> parseCompletionCallback(Map<String, Object> payload) {
+        return primary.parseCompletionCallback(payload);
+    }
+
+    @Override
+    public boolean supportsAsyncOperations() {
+        return primary.supportsAsyncOperations();
+    }
+
+    private Mono<String> hedged(ReactiveAiVideoProvider first, ReactiveAiVideoProvider second, String prompt, String style) {
+        return Mono.defer(() -> {
+            Race race = new Race();
+            Duration delay = router.hedgeDelay(getType());
+
+            Mono<Outcome> primaryCall = first.generateVideo(prompt, style)
+                    .map(url -> new Outcome(url, false))
+                    .onErrorResume(error -> {
+                        if (error instanceof ProviderUnavailableException unavailable && race.startFailover()) {
+                            log.info("Failing over generation to {}: {}", second.getType(), unavailable.getMessage());
+                            return second.generateVideo(prompt, style).map(url -> new Outcome(url, false));
+                        }
+                        Throwable reported = race.primaryFailed(error);
+                        return reported != null ? Mono.error(reported) : Mono.never();
+                    });
+
+            Mono<Outcome> hedgeCall = Mono.delay(delay)
+                    .then(Mono.defer(() -> {
+                        if (!race.startHedge()) {
+                            return Mono.<Outcome>never();
+                        }
+                        log.info("Generation on {} still running after {} ms, hedging to {}",
+                                getType(), delay.toMillis(), second.getType());
+                        return second.generateVideo(prompt, style).map(url -> new Outcome(url, true));
+                    }))
+                    .onErrorResume(error -> {
+                        // Report the primary's failure; the hedge was only a second chance
+                        Throwable reported = race.hedgeFailed();
+                        return reported != null ? Mono.error(reported) : Mono.never();
+                    });
+
+            return Mono.firstWithSignal(primaryCall, hedgeCall)
+                    .doOnNext(outcome -> {
+                        if (race.hedged()) {
+                            router.recordHedge(getType(), outcome.fromHedge());
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (race.hedged()) {
+                            router.recordHedge(getType(), false);
+                        }
+                    })
+                    .map(Outcome::url);
+        });
+    }
+
+    private record Outcome(String url, boolean fromHedge) {
+    }
+
+    /**
+     * Decides which branch may call the secondary and which failure ends a hedged generation: a failed
+     * branch keeps quiet while the other one is still running.
+     */
+    private static final class Race {
+
+        private boolean secondaryStarted;
+        private boolean hedged;
+        private boolean hedgeFailed;
+        private Throwable primaryError;
+
+        synchronized boolean startFailover() {
+            if (secondaryStarted) {
+                return false;
+            }
+            secondaryStarted = true;
+            return true;
+        }
+
+        synchronized boolean startHedge() {
+            if (secondaryStarted) {
+                return false;
+            }
+            secondaryStarted = true;
+            hedged = true;
+            return true;
+        }
+
+        synchronized boolean hedged() {
+            return hedged;
+        }
+
+        synchronized Throwable primaryFailed(Throwable error) {
+            primaryError = error;
+            return hedged && !hedgeFailed ? null : error;
+        }
+
+        synchronized Throwable hedgeFailed() {
+            hedgeFailed = true;
+            return primaryError;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.util.Map;
+import java.util.Optional;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator pattern – gives a provider that only generates synchronously an asynchronous creation flow.
+ * Creations run the wrapped provider's blocking generation through {@link LocalVideoGenerations} and status
+ * checks read its result table, so neither reaches the provider's API; the generation itself still goes
+ * through the wrapped chain and is guarded, rate limited and measured like any other call.
+ */
+final class LocalAsyncVideoProvider implements AiVideoProvider {
+
+    private final AiVideoProvider delegate;
+    private final LocalVideoGenerations generations;
+
+    LocalAsyncVideoProvider(AiVideoProvider delegate, LocalVideoGenerations generations) {
+        this.delegate = delegate;
+        this.generations = generations;
+    }
+
+    @Override
+    public VideoProviderType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public String requestVideoCreation(String prompt, String style) {
+        return generations.submit(getType(), () -> delegate.generateVideo(prompt, style));
+    }
+
+    @Override
+    public Optional<String> fetchVideoUrl(String creationId) {
+        return generations.result(getType(), creationId);
+    }
+
+    @Override
+    public String generateVideo(String prompt, String style) {
+        return delegate.generateVideo(prompt, style);
+    }
+
+    @Override
+    public ReactiveAiVideoProvider reactive() {
+        ReactiveAiVideoProvider reactiveDelegate = delegate.reactive();
+        return new ReactiveAiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return reactiveDelegate.getType();
+            }
+
+            // Queueing and reading the result table never block, so both run on the subscriber's thread
+            @Override
+            public Mono<String> requestVideoCreation(String prompt, String style) {
+                return Mono.fromCallable(() -> LocalAsyncVideoProvider.this.requestVideoCreation(prompt, style));
+            }
+
+            @Override
+            public Mono<String> fetchVideoUrl(String creationId) {
+                return Mono.fromCallable(() -> generations.result(getType(), creationId)).flatMap(Mono::justOrEmpty);
+            }
+
+            @Override
+            public Mono<String> generateVideo(String prompt, String style) {
+                return reactiveDelegate.generateVideo(prompt, style);
+            }
+        };
+    }
+
+    @Override
+    public Optional<VideoCreationCallback> parseCompletionCallback(Map<String, Object> payload) {
+        return delegate.parseCompletionCallback(payload);
+    }
+
+    @Override
+    public boolean supportsAsyncOperations() {
+        return true;
+    }
+}
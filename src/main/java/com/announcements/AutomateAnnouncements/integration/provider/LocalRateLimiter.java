@@ -0,0 +1,52 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process {@link ProviderRateLimiter} kept as a single "theoretical arrival time" (the generic cell rate
+ * algorithm, equivalent to a token bucket): each permit pushes it one emission interval forward and a call
+ * is allowed while it stays within {@code burst} intervals of now. Updated with compare-and-set, so callers
+ * never block each other.
+ */
+public class LocalRateLimiter implements ProviderRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+
+    public LocalRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit permits per second and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000L / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    @Override
+    public Duration tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    @Override
+    public int availablePermits() {
+        long now = nanoClock.getAsLong();
+        long arrival = Math.max(theoreticalArrival.get(), now);
+        return (int) ((now + burstNanos - arrival) / intervalNanos);
+    }
+}
@@ -0,0 +1,209 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import com.announcements.AutomateAnnouncements.integration.VideoCreationFailedException;
+import com.announcements.AutomateAnnouncements.services.WorkerNodeRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process creations for providers that can only generate synchronously. {@link #submit} queues the
+ * blocking generation on a bounded executor and returns a local creation id at once; {@link #result}
+ * answers status checks from an in-memory table whose finished entries expire after a TTL.
+ *
+ * <p>A generation the provider refuses (breaker open, over quota) is not failed: the next status check
+ * after the provider's retry-after queues it again. Creation ids carry the node that runs them, and other
+ * nodes defer such jobs rather than failing them while that node is alive, since only it knows their
+ * outcome. Ids of a node that is gone, such as this one before a restart, are failed: their generations
+ * died with it.
+ */
+@Slf4j
+@Component
+public class LocalVideoGenerations {
+
+    private static final String ID_PREFIX = "local:";
+
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+    private final TaskExecutor executor;
+    private final String nodeId;
+    private final Predicate<String> isNodeAlive;
+    private final long resultTtlNanos;
+    private final Duration retryAfter;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LocalVideoGenerations(@Qualifier("videoLocalGenerationExecutor") TaskExecutor executor,
+                                 WorkerNodeRegistry nodes,
+                                 @Value("${video.provider.local-async.result-ttl-seconds:3600}") long resultTtlSeconds,
+                                 @Value("${video.provider.local-async.retry-after-seconds:5}") long retryAfterSeconds) {
+        this(executor, nodes.getNodeId(), nodes::isAlive, Duration.ofSeconds(resultTtlSeconds),
+                Duration.ofSeconds(retryAfterSeconds), System::nanoTime);
+    }
+
+    LocalVideoGenerations(TaskExecutor executor, String nodeId, Predicate<String> isNodeAlive, Duration resultTtl,
+                          Duration retryAfter, LongSupplier nanoClock) {
+        this.executor = executor;
+        this.nodeId = nodeId;
+        this.isNodeAlive = isNodeAlive;
+        this.resultTtlNanos = resultTtl.toNanos();
+        this.retryAfter = retryAfter;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Queues {@code generation} and returns its local creation id. A full queue is reported as a
+     * {@link ProviderUnavailableException} so the caller keeps the job queued.
+     */
+    public String submit(VideoProviderType providerType, Supplier<String> generation) {
+        String creationId = ID_PREFIX + nodeId + ":" + UUID.randomUUID();
+        Generation entry = new Generation(providerType, generation);
+        generations.put(creationId, entry);
+        try {
+            executor.execute(() -> run(creationId, entry));
+        } catch (TaskRejectedException e) {
+            generations.remove(creationId);
+            throw queueFull(providerType);
+        }
+        log.debug("Queued local {} generation {}", providerType, creationId);
+        return creationId;
+    }
+
+    /**
+     * The video URL once the generation finished, or empty while it is queued or running. A failed
+     * generation, an id this node does not know or an id of a node that is gone throws
+     * {@link VideoCreationFailedException}; an id of another live node throws
+     * {@link ProviderUnavailableException} so the job is checked again later.
+     */
+    public Optional<String> result(VideoProviderType providerType, String creationId) {
+        Generation entry = generations.get(creationId);
+        if (entry == null) {
+            String owner = ownerNode(creationId);
+            if (owner == null || nodeId.equals(owner)) {
+                throw new VideoCreationFailedException(creationId, "unknown or expired local creation");
+            }
+            if (!isNodeAlive.test(owner)) {
+                throw new VideoCreationFailedException(creationId, "node " + owner + " that ran it is gone");
+            }
+            throw new ProviderUnavailableException(providerType,
+                    "Local creation " + creationId + " runs on another node", retryAfter);
+        }
+
+        synchronized (entry) {
+            switch (entry.state) {
+                case COMPLETED -> {
+                    return Optional.of(entry.videoUrl);
+                }
+                case FAILED -> throw new VideoCreationFailedException(creationId, entry.failure);
+                case REFUSED -> {
+                    long wait = entry.retryAt - nanoClock.getAsLong();
+                    if (wait > 0) {
+                        throw new ProviderUnavailableException(providerType,
+                                "Local " + providerType + " generation is waiting for the provider", Duration.ofNanos(wait));
+                    }
+                    resubmit(creationId, entry);
+                    return Optional.empty();
+                }
+                default -> {
+                    return Optional.empty();
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${video.provider.local-async.purge-ms:60000}")
+    public void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        generations.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    public int size() {
+        return generations.size();
+    }
+
+    private void run(String creationId, Generation entry) {
+        try {
+            String videoUrl = entry.generation.get();
+            entry.finish(State.COMPLETED, videoUrl, null, nanoClock.getAsLong() + resultTtlNanos, 0);
+            log.info("Local {} generation {} completed: {}", entry.providerType, creationId, videoUrl);
+        } catch (ProviderUnavailableException e) {
+            // Nothing was generated; queue it again on a status check once the provider takes calls
+            long now = nanoClock.getAsLong();
+            entry.finish(State.REFUSED, null, e.getMessage(), now + resultTtlNanos, now + e.getRetryAfter().toNanos());
+            log.info("Local {} generation {} refused: {}", entry.providerType, creationId, e.getMessage());
+        } catch (RuntimeException e) {
+            entry.finish(State.FAILED, null, e.getMessage(), nanoClock.getAsLong() + resultTtlNanos, 0);
+            log.error("Local {} generation {} failed: {}", entry.providerType, creationId, e.getMessage());
+        }
+    }
+
+    // Called with the entry's lock held
+    private void resubmit(String creationId, Generation entry) {
+        entry.state = State.RUNNING;
+        entry.expiresAt = Long.MAX_VALUE;
+        try {
+            executor.execute(() -> run(creationId, entry));
+        } catch (TaskRejectedException e) {
+            long now = nanoClock.getAsLong();
+            entry.state = State.REFUSED;
+            entry.retryAt = now + retryAfter.toNanos();
+            entry.expiresAt = now + resultTtlNanos;
+            throw queueFull(entry.providerType);
+        }
+    }
+
+    private ProviderUnavailableException queueFull(VideoProviderType providerType) {
+        return new ProviderUnavailableException(providerType,
+                "Local generation queue for " + providerType + " is full", retryAfter);
+    }
+
+    private static String ownerNode(String creationId) {
+        int end = creationId.lastIndexOf(':');
+        return creationId.startsWith(ID_PREFIX) && end > ID_PREFIX.length()
+                ? creationId.substring(ID_PREFIX.length(), end)
+                : null;
+    }
+
+    private enum State { RUNNING, COMPLETED, FAILED, REFUSED }
+
+    private static final class Generation {
+
+        private final VideoProviderType providerType;
+        private final Supplier<String> generation;
+        private State state = State.RUNNING;
+        private String videoUrl;
+        private String failure;
+        private long retryAt;
+        // Running generations never expire
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Generation(VideoProviderType providerType, Supplier<String> generation) {
+            this.providerType = providerType;
+            this.generation = generation;
+        }
+
+        private synchronized void finish(State next, String url, String reason, long expiry, long retry) {
+            state = next;
+            videoUrl = url;
+            failure = reason;
+            retryAt = retry;
+            expiresAt = expiry;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+}
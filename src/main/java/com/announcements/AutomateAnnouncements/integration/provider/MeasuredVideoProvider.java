@@ -0,0 +1,112 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decorator pattern – times every call that actually reaches the wrapped provider and feeds the outcome to
+ * the {@link VideoProviderRouter}. It sits innermost, so calls refused by the guard or the rate limiter are
+ * never counted as provider latency or errors.
+ */
+final class MeasuredVideoProvider implements AiVideoProvider {
+
+    private final AiVideoProvider delegate;
+    private final VideoProviderRouter router;
+
+    MeasuredVideoProvider(AiVideoProvider delegate, VideoProviderRouter router) {
+        this.delegate = delegate;
+        this.router = router;
+    }
+
+    @Override
+    public VideoProviderType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public String requestVideoCreation(String prompt, String style) {
+        return measure(() -> delegate.requestVideoCreation(prompt, style), false);
+    }
+
+    @Override
+    public Optional<String> fetchVideoUrl(String creationId) {
+        return measure(() -> delegate.fetchVideoUrl(creationId), false);
+    }
+
+    @Override
+    public String generateVideo(String prompt, String style) {
+        return measure(() -> delegate.generateVideo(prompt, style), true);
+    }
+
+    @Override
+    public ReactiveAiVideoProvider reactive() {
+        ReactiveAiVideoProvider reactiveDelegate = delegate.reactive();
+        return new ReactiveAiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return reactiveDelegate.getType();
+            }
+
+            @Override
+            public Mono<String> requestVideoCreation(String prompt, String style) {
+                return measure(reactiveDelegate.requestVideoCreation(prompt, style), false);
+            }
+
+            @Override
+            public Mono<String> fetchVideoUrl(String creationId) {
+                return measure(reactiveDelegate.fetchVideoUrl(creationId), false);
+            }
+
+            @Override
+            public Mono<String> generateVideo(String prompt, String style) {
+                return measure(reactiveDelegate.generateVideo(prompt, style), true);
+            }
+        };
+    }
+
+    @Override
+    public Optional<VideoCreationCallback> parseCompletionCallback(Map<String, Object> payload) {
+        return delegate.parseCompletionCallback(payload);
+    }
+
+    @Override
+    public boolean supportsAsyncOperations() {
+        return delegate.supportsAsyncOperations();
+    }
+
+    private <T> T measure(Supplier<T> call, boolean generation) {
+        long startedAt = System.nanoTime();
+        try {
+            T result = call.get();
+            router.recordCall(getType(), System.nanoTime() - startedAt, false, generation);
+            return result;
+        } catch (RuntimeException e) {
+            router.recordCall(getType(), System.nanoTime() - startedAt, ProviderGuard.countsAsFailure(e), false);
+            throw e;
+        }
+    }
+
+    // Abandoned calls are not recorded: their latency is unknown
+    private <T> Mono<T> measure(Mono<T> call, boolean generation) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicBoolean settled = new AtomicBoolean();
+            return call
+                    .doOnSuccess(result -> {
+                        if (settled.compareAndSet(false, true)) {
+                            router.recordCall(getType(), System.nanoTime() - startedAt, false, generation);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (settled.compareAndSet(false, true)) {
+                            router.recordCall(getType(), System.nanoTime() - startedAt,
+                                    ProviderGuard.countsAsFailure(e), false);
+                        }
+                    })
+                    .doOnCancel(() -> settled.set(true));
+        });
+    }
+}
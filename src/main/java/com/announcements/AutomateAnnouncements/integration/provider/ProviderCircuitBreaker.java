@@ -0,0 +1,176 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker for one provider. While CLOSED the outcomes of the last {@code windowSize}
+ * calls are kept; once at least {@code minimumCalls} are recorded and either the failure rate or the
+ * slow-call rate reaches its threshold the breaker OPENs and rejects calls for the open duration. It then
+ * lets a few HALF_OPEN trial calls through: all of them succeeding in time closes it again, any failure
+ * or slow call reopens it.
+ */
+@Slf4j
+public class ProviderCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int nextIndex;
+    private int recordedCalls;
+    private int failures;
+    private int slows;
+
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long notPermittedCount;
+
+    public ProviderCircuitBreaker(String name, Settings settings, LongSupplier nanoClock) {
+        if (settings.windowSize() <= 0 || settings.minimumCalls() <= 0 || settings.halfOpenCalls() <= 0) {
+            throw new IllegalArgumentException("Circuit breaker window, minimum and half-open calls must be positive");
+        }
+        this.name = name;
+        this.minimumCalls = Math.min(settings.minimumCalls(), settings.windowSize());
+        this.failureRateThreshold = settings.failureRateThreshold();
+        this.slowCallRateThreshold = settings.slowCallRateThreshold();
+        this.slowCallNanos = settings.slowCallDuration().toNanos();
+        this.openNanos = settings.openDuration().toNanos();
+        this.halfOpenCalls = settings.halfOpenCalls();
+        this.nanoClock = nanoClock;
+        this.failedCalls = new boolean[settings.windowSize()];
+        this.slowCalls = new boolean[settings.windowSize()];
+    }
+
+    /**
+     * Returns whether a call may proceed. Every permitted call must be followed by {@link #onResult}
+     * or {@link #releasePermission}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openUntil >= 0) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+            return true;
+        }
+        notPermittedCount++;
+        return false;
+    }
+
+    public synchronized void onResult(boolean failed, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        switch (state) {
+            case CLOSED -> {
+                record(failed, slow);
+                if (recordedCalls >= minimumCalls
+                        && (rate(failures) >= failureRateThreshold || rate(slows) >= slowCallRateThreshold)) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                if (failed || slow) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // A call started before the breaker opened; its outcome no longer matters
+            }
+        }
+    }
+
+    /**
+     * Ends a permitted call whose outcome is unknown because the caller abandoned it. The call is not
+     * recorded; a trial permit it held in HALF_OPEN is handed back.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    /**
+     * Time left until an OPEN breaker lets trial calls through, or zero when it is not open.
+     */
+    public synchronized Duration remainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openUntil - nanoClock.getAsLong()));
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(state, recordedCalls, rate(failures), rate(slows), notPermittedCount);
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == failedCalls.length) {
+            // Evict the oldest outcome from the counters before overwriting it
+            failures -= failedCalls[nextIndex] ? 1 : 0;
+            slows -= slowCalls[nextIndex] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextIndex] = failed;
+        slowCalls[nextIndex] = slow;
+        failures += failed ? 1 : 0;
+        slows += slow ? 1 : 0;
+        nextIndex = (nextIndex + 1) % failedCalls.length;
+    }
+
+    private double rate(int count) {
+        return recordedCalls == 0 ? 0 : count * 100.0 / recordedCalls;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        switch (next) {
+            case OPEN -> openUntil = nanoClock.getAsLong() + openNanos;
+            case HALF_OPEN -> {
+                halfOpenPermits = 0;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                nextIndex = 0;
+                recordedCalls = 0;
+                failures = 0;
+                slows = 0;
+            }
+        }
+        if (next == State.OPEN) {
+            log.warn("Circuit breaker for {} moved from {} to OPEN", name, previous);
+        } else {
+            log.info("Circuit breaker for {} moved from {} to {}", name, previous, next);
+        }
+    }
+
+    public record Settings(int windowSize, int minimumCalls, double failureRateThreshold,
+                           double slowCallRateThreshold, Duration slowCallDuration,
+                           Duration openDuration, int halfOpenCalls) {
+    }
+
+    /**
+     * Point-in-time view of the breaker; rates are percentages of the calls in the current window.
+     */
+    public record Snapshot(State state, int bufferedCalls, double failureRate, double slowCallRate,
+                           long notPermittedCalls) {
+    }
+}
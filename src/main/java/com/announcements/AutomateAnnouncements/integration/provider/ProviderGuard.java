@@ -0,0 +1,154 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import com.announcements.AutomateAnnouncements.integration.VideoCreationFailedException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Circuit breaker plus concurrency bulkhead for one provider. Calls are rejected with
+ * {@link ProviderUnavailableException} when the breaker is open or when no bulkhead slot frees up within
+ * the configured wait, so a degraded provider costs callers nothing but the rejection.
+ */
+public class ProviderGuard {
+
+    private final VideoProviderType providerType;
+    private final ProviderCircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long maxWaitMillis;
+    private final Duration bulkheadRetryAfter;
+    private final LongSupplier nanoClock;
+    private final AtomicLong bulkheadRejections = new AtomicLong();
+
+    public ProviderGuard(VideoProviderType providerType, ProviderCircuitBreaker circuitBreaker,
+                         int maxConcurrentCalls, Duration maxWait, Duration bulkheadRetryAfter,
+                         LongSupplier nanoClock) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("Bulkhead size must be positive");
+        }
+        this.providerType = providerType;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMillis = maxWait.toMillis();
+        this.bulkheadRetryAfter = bulkheadRetryAfter;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs {@code call} under the bulkhead and records its outcome. Untimed calls (blocking generations
+     * that legitimately take minutes) only count towards the failure rate, never the slow-call rate.
+     */
+    public <T> T call(Supplier<T> call, boolean timed) {
+        acquireBulkhead();
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw circuitOpen();
+            }
+
+            long startedAt = nanoClock.getAsLong();
+            try {
+                T result = call.get();
+                circuitBreaker.onResult(false, timed ? nanoClock.getAsLong() - startedAt : 0);
+                return result;
+            } catch (RuntimeException | Error e) {
+                circuitBreaker.onResult(countsAsFailure(e), timed ? nanoClock.getAsLong() - startedAt : 0);
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Reactive variant of {@link #call}: guards the cold {@code call} each time it is subscribed. Waiting
+     * for a bulkhead slot would block the subscriber, so the call is rejected at once when none is free.
+     * A cancelled call releases its slot without being recorded.
+     */
+    public <T> Mono<T> callAsync(Mono<T> call, boolean timed) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                return Mono.error(bulkheadFull());
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.release();
+                return Mono.error(circuitOpen());
+            }
+
+            long startedAt = nanoClock.getAsLong();
+            // Upstream may still signal after a cancel; only the first outcome is recorded
+            AtomicBoolean settled = new AtomicBoolean();
+            return call
+                    .doOnSuccess(result -> {
+                        if (settled.compareAndSet(false, true)) {
+                            circuitBreaker.onResult(false, timed ? nanoClock.getAsLong() - startedAt : 0);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (settled.compareAndSet(false, true)) {
+                            circuitBreaker.onResult(countsAsFailure(e), timed ? nanoClock.getAsLong() - startedAt : 0);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            circuitBreaker.releasePermission();
+                        }
+                    })
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    /**
+     * Time until an open breaker lets calls through again; zero while the provider can be called.
+     */
+    public Duration remainingOpenDuration() {
+        return circuitBreaker.remainingOpenDuration();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(providerType, circuitBreaker.snapshot(), maxConcurrentCalls - bulkhead.availablePermits(),
+                maxConcurrentCalls, bulkheadRejections.get());
+    }
+
+    private void acquireBulkhead() {
+        boolean acquired;
+        try {
+            acquired = maxWaitMillis <= 0
+                    ? bulkhead.tryAcquire()
+                    : bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw bulkheadFull();
+        }
+    }
+
+    private ProviderUnavailableException bulkheadFull() {
+        bulkheadRejections.incrementAndGet();
+        return new ProviderUnavailableException(providerType,
+                "Too many concurrent calls to " + providerType, bulkheadRetryAfter);
+    }
+
+    private ProviderUnavailableException circuitOpen() {
+        return new ProviderUnavailableException(providerType,
+                "Circuit breaker for " + providerType + " is open", circuitBreaker.remainingOpenDuration());
+    }
+
+    // Caller mistakes and creations the provider reports as failed say nothing about the provider's health
+    static boolean countsAsFailure(Throwable e) {
+        return !(e instanceof IllegalArgumentException || e instanceof UnsupportedOperationException
+                || e instanceof VideoCreationFailedException);
+    }
+
+    public record Snapshot(VideoProviderType provider, ProviderCircuitBreaker.Snapshot circuitBreaker,
+                           int activeCalls, int maxConcurrentCalls, long bulkheadRejections) {
+    }
+}
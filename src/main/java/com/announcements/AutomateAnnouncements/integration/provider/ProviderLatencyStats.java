@@ -0,0 +1,80 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Live call statistics of one provider. Latency and error rate are exponentially weighted moving averages,
+ * so recent calls dominate and an old outage fades out; the latencies of the latest synchronous generations
+ * are kept as well to derive the hedging delay from a percentile.
+ */
+class ProviderLatencyStats {
+
+    private final double alpha;
+    private final long[] generationNanos;
+    private int nextGeneration;
+    private int generations;
+
+    private double latencyNanos = Double.NaN;
+    private double errorRate;
+    private long samples;
+
+    ProviderLatencyStats(double alpha, int generationWindow) {
+        this.alpha = alpha;
+        this.generationNanos = new long[generationWindow];
+    }
+
+    /**
+     * Records one call. Failed calls move the error rate only, since how fast a call fails says nothing
+     * about how fast the provider serves.
+     */
+    synchronized void record(long durationNanos, boolean failed) {
+        samples++;
+        errorRate = samples == 1 ? (failed ? 1 : 0) : errorRate + alpha * ((failed ? 1 : 0) - errorRate);
+        if (!failed) {
+            latencyNanos = Double.isNaN(latencyNanos) ? durationNanos : latencyNanos + alpha * (durationNanos - latencyNanos);
+        }
+    }
+
+    synchronized void recordGeneration(long durationNanos) {
+        generationNanos[nextGeneration] = durationNanos;
+        nextGeneration = (nextGeneration + 1) % generationNanos.length;
+        generations = Math.min(generations + 1, generationNanos.length);
+    }
+
+    /**
+     * Expected cost of routing a call here; lower is healthier. A provider without samples scores zero so
+     * it gets tried, and the error rate inflates latency because failed calls have to be redone elsewhere.
+     */
+    synchronized double score() {
+        if (Double.isNaN(latencyNanos)) {
+            return samples == 0 ? 0 : Double.MAX_VALUE;
+        }
+        return latencyNanos / Math.max(0.05, 1 - errorRate);
+    }
+
+    /**
+     * Percentile of the recent generation latencies, or {@code null} with fewer than {@code minimumSamples}.
+     */
+    synchronized Duration generationPercentile(double percentile, int minimumSamples) {
+        if (generations < Math.max(1, minimumSamples)) {
+            return null;
+        }
+        long[] sorted = Arrays.copyOf(generationNanos, generations);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * generations) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, Math.min(index, generations - 1))]);
+    }
+
+    synchronized long samples() {
+        return samples;
+    }
+
+    synchronized double latencyMillis() {
+        return Double.isNaN(latencyNanos) ? 0 : latencyNanos / 1_000_000;
+    }
+
+    synchronized double errorRate() {
+        return errorRate;
+    }
+}
@@ -0,0 +1,40 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+
+/**
+ * Token bucket guarding the request quota of one provider: {@code permitsPerSecond} tokens are added per
+ * second up to {@code burst}, and every outbound call takes one.
+ */
+public interface ProviderRateLimiter {
+
+    ProviderRateLimiter UNLIMITED = new ProviderRateLimiter() {
+        @Override
+        public Duration tryAcquire() {
+            return Duration.ZERO;
+        }
+
+        @Override
+        public int availablePermits() {
+            return Integer.MAX_VALUE;
+        }
+    };
+
+    /**
+     * Takes a token if one is available. Returns {@link Duration#ZERO} when the call may proceed, otherwise
+     * how long until the next token is due; nothing is taken in that case.
+     */
+    Duration tryAcquire();
+
+    /**
+     * Tokens that could be taken right now, without taking them.
+     */
+    int availablePermits();
+
+    /**
+     * Whether taking a token does blocking I/O, so reactive callers must not call it on their own thread.
+     */
+    default boolean isBlocking() {
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+
+/**
+ * Thrown without contacting the provider when its circuit breaker is open, its bulkhead is full or its rate
+ * limit is reached.
+ * Callers should retry after {@link #getRetryAfter()} instead of treating the job as failed.
+ */
+public class ProviderUnavailableException extends RuntimeException {
+
+    private final VideoProviderType providerType;
+    private final Duration retryAfter;
+
+    public ProviderUnavailableException(VideoProviderType providerType, String message, Duration retryAfter) {
+        super(message);
+        this.providerType = providerType;
+        this.retryAfter = retryAfter;
+    }
+
+    public VideoProviderType getProviderType() {
+        return providerType;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,96 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Decorator pattern – takes a token from the provider's {@link ProviderRateLimiter} before every outbound
+ * call of the wrapped provider. Over quota the call is refused with a {@link ProviderUnavailableException}
+ * carrying the time until the next token, so callers defer the work instead of failing it.
+ */
+final class RateLimitedVideoProvider implements AiVideoProvider {
+
+    private final AiVideoProvider delegate;
+    private final ProviderRateLimiter rateLimiter;
+
+    RateLimitedVideoProvider(AiVideoProvider delegate, ProviderRateLimiter rateLimiter) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public VideoProviderType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public String requestVideoCreation(String prompt, String style) {
+        acquire();
+        return delegate.requestVideoCreation(prompt, style);
+    }
+
+    @Override
+    public Optional<String> fetchVideoUrl(String creationId) {
+        acquire();
+        return delegate.fetchVideoUrl(creationId);
+    }
+
+    @Override
+    public String generateVideo(String prompt, String style) {
+        acquire();
+        return delegate.generateVideo(prompt, style);
+    }
+
+    @Override
+    public ReactiveAiVideoProvider reactive() {
+        ReactiveAiVideoProvider reactiveDelegate = delegate.reactive();
+        return new ReactiveAiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return reactiveDelegate.getType();
+            }
+
+            @Override
+            public Mono<String> requestVideoCreation(String prompt, String style) {
+                return acquireAsync().then(Mono.defer(() -> reactiveDelegate.requestVideoCreation(prompt, style)));
+            }
+
+            @Override
+            public Mono<String> fetchVideoUrl(String creationId) {
+                return acquireAsync().then(Mono.defer(() -> reactiveDelegate.fetchVideoUrl(creationId)));
+            }
+
+            @Override
+            public Mono<String> generateVideo(String prompt, String style) {
+                return acquireAsync().then(Mono.defer(() -> reactiveDelegate.generateVideo(prompt, style)));
+            }
+        };
+    }
+
+    @Override
+    public Optional<VideoCreationCallback> parseCompletionCallback(Map<String, Object> payload) {
+        return delegate.parseCompletionCallback(payload);
+    }
+
+    @Override
+    public boolean supportsAsyncOperations() {
+        return delegate.supportsAsyncOperations();
+    }
+
+    private void acquire() {
+        Duration wait = rateLimiter.tryAcquire();
+        if (!wait.isZero()) {
+            throw new ProviderUnavailableException(getType(),
+                    "Rate limit of provider " + getType() + " reached", wait);
+        }
+    }
+
+    private Mono<Void> acquireAsync() {
+        Mono<Void> acquire = Mono.fromRunnable(this::acquire);
+        // The shared bucket takes its token in a database transaction
+        return rateLimiter.isBlocking() ? acquire.subscribeOn(Schedulers.boundedElastic()) : acquire;
+    }
+}
@@ -0,0 +1,76 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.util.Optional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking companion of {@link AiVideoProvider}, obtained through {@link AiVideoProvider#reactive()}.
+ * Every method returns a cold {@link Mono}: nothing reaches the provider until it is subscribed, and
+ * cancelling the subscription abandons the call. Callers can therefore fan out, race or time-box
+ * provider calls without holding a thread per call.
+ */
+public interface ReactiveAiVideoProvider {
+
+    VideoProviderType getType();
+
+    /**
+     * Requests an asynchronous video creation and emits the provider-specific job identifier.
+     */
+    Mono<String> requestVideoCreation(String prompt, String style);
+
+    /**
+     * Emits the playable video URL once the creation is ready, or completes empty while it is processing.
+     */
+    Mono<String> fetchVideoUrl(String creationId);
+
+    /**
+     * Generates a video and emits the final media URL.
+     */
+    Mono<String> generateVideo(String prompt, String style);
+
+    /**
+     * Bridges a blocking provider onto {@link Schedulers#boundedElastic()}.
+     */
+    static ReactiveAiVideoProvider bridge(AiVideoProvider provider) {
+        return bridge(provider, Schedulers.boundedElastic());
+    }
+
+    /**
+     * Bridges a blocking provider: each call runs on a worker of {@code scheduler}, so the subscriber's
+     * thread is never blocked. A cancelled call interrupts the worker it runs on.
+     */
+    static ReactiveAiVideoProvider bridge(AiVideoProvider provider, Scheduler scheduler) {
+        return new ReactiveAiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return provider.getType();
+            }
+
+            @Override
+            public Mono<String> requestVideoCreation(String prompt, String style) {
+                return Mono.fromCallable(() -> provider.requestVideoCreation(prompt, style)).subscribeOn(scheduler);
+            }
+
+            @Override
+            public Mono<String> fetchVideoUrl(String creationId) {
+                return Mono.fromCallable(() -> provider.fetchVideoUrl(creationId))
+                        .flatMap(Mono::justOrEmpty)
+                        .subscribeOn(scheduler);
+            }
+
+            @Override
+            public Mono<String> generateVideo(String prompt, String style) {
+                return Mono.fromCallable(() -> provider.generateVideo(prompt, style)).subscribeOn(scheduler);
+            }
+        };
+    }
+
+    /**
+     * Emits the creation's URL wrapped in an {@link Optional}, empty while it is processing.
+     */
+    static Mono<Optional<String>> optional(Mono<String> videoUrl) {
+        return videoUrl.map(Optional::of).defaultIfEmpty(Optional.empty());
+    }
+}
@@ -0,0 +1,133 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.announcements.AutomateAnnouncements.entities.ProviderRateLimit;
+import com.announcements.AutomateAnnouncements.repositories.ProviderRateLimitRepository;
+
+/**
+ * {@link ProviderRateLimiter} whose bucket is a row of {@code provider_rate_limit}, so every node draws from
+ * one quota. Taking from the row is a short transaction that locks it, refills it for the time elapsed
+ * since the last refill and leases up to {@code leaseSize} tokens at once; the node spends the lease
+ * locally, so most calls never touch the database. Leased tokens left unspent after a second are dropped
+ * rather than spent late, which can only leave quota unused. Refills use the nodes' wall clocks; a node
+ * whose clock lags simply adds nothing until it catches up.
+ */
+@Slf4j
+public class SharedRateLimiter implements ProviderRateLimiter {
+
+    private static final long LEASE_TTL_MILLIS = 1_000;
+
+    private final VideoProviderType provider;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int leaseSize;
+    private final ProviderRateLimitRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final LongSupplier millisClock;
+    private int leasedTokens;
+    private long leasedAtMillis;
+
+    public SharedRateLimiter(VideoProviderType provider, double permitsPerSecond, int burst, int leaseSize,
+                             ProviderRateLimitRepository repository, TransactionTemplate transactionTemplate,
+                             LongSupplier millisClock) {
+        if (permitsPerSecond <= 0 || burst <= 0 || leaseSize <= 0) {
+            throw new IllegalArgumentException("Rate limit permits per second, burst and lease size must be positive");
+        }
+        this.provider = provider;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.leaseSize = Math.min(leaseSize, burst);
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.millisClock = millisClock;
+    }
+
+    @Override
+    public Duration tryAcquire() {
+        if (takeLeasedToken()) {
+            return Duration.ZERO;
+        }
+        Lease lease;
+        try {
+            lease = transactionTemplate.execute(status -> leaseTokens());
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the bucket first; lock the row it inserted
+            log.debug("Rate limit bucket for {} created concurrently, retrying", provider);
+            lease = transactionTemplate.execute(status -> leaseTokens());
+        }
+        if (lease.tokens() == 0) {
+            return lease.retryAfter();
+        }
+        addLeasedTokens(lease.tokens() - 1);
+        return Duration.ZERO;
+    }
+
+    @Override
+    public int availablePermits() {
+        long now = millisClock.getAsLong();
+        int available = repository.findById(provider)
+                .map(bucket -> (int) refilled(bucket, now))
+                .orElse(burst);
+        synchronized (this) {
+            return now - leasedAtMillis < LEASE_TTL_MILLIS ? available + leasedTokens : available;
+        }
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return true;
+    }
+
+    private synchronized boolean takeLeasedToken() {
+        if (leasedTokens > 0 && millisClock.getAsLong() - leasedAtMillis < LEASE_TTL_MILLIS) {
+            leasedTokens--;
+            return true;
+        }
+        leasedTokens = 0;
+        return false;
+    }
+
+    private synchronized void addLeasedTokens(int tokens) {
+        if (tokens > 0) {
+            leasedTokens += tokens;
+            leasedAtMillis = millisClock.getAsLong();
+        }
+    }
+
+    private Lease leaseTokens() {
+        long now = millisClock.getAsLong();
+        ProviderRateLimit bucket = repository.findForUpdate(provider).orElse(null);
+        if (bucket == null) {
+            bucket = new ProviderRateLimit();
+            bucket.setProvider(provider);
+            bucket.setTokens(burst - leaseSize);
+            bucket.setRefilledAtMillis(now);
+            repository.saveAndFlush(bucket);
+            return new Lease(leaseSize, Duration.ZERO);
+        }
+
+        double tokens = refilled(bucket, now);
+        bucket.setRefilledAtMillis(Math.max(now, bucket.getRefilledAtMillis()));
+        if (tokens < 1) {
+            bucket.setTokens(tokens);
+            return new Lease(0, Duration.ofMillis((long) Math.ceil((1 - tokens) * 1000 / permitsPerSecond)));
+        }
+        int leased = (int) Math.min(leaseSize, Math.floor(tokens));
+        bucket.setTokens(tokens - leased);
+        return new Lease(leased, Duration.ZERO);
+    }
+
+    private double refilled(ProviderRateLimit bucket, long now) {
+        long elapsedMillis = Math.max(0, now - bucket.getRefilledAtMillis());
+        return Math.min(burst, bucket.getTokens() + elapsedMillis * permitsPerSecond / 1000);
+    }
+
+    private record Lease(int tokens, Duration retryAfter) {
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 /**
  * Adapter for the mock Sora integration. Sora only exposes synchronous generations, so
  * asynchronous methods either return empty results or signal that the operation is unsupported.
+ * {@link AiVideoProviderFactory} wraps it in {@link LocalAsyncVideoProvider}, which runs creations in-process.
  */
 @Component
 public class SoraVideoProviderAdapter implements AiVideoProvider {
@@ -0,0 +1,16 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+/**
+ * Provider-neutral view of a completion notification pushed by an AI provider, so callback handling
+ * does not depend on any provider's payload layout.
+ */
+public record VideoCreationCallback(String creationId, String status, String videoUrl) {
+
+    public boolean isCompleted() {
+        return "completed".equalsIgnoreCase(status) && videoUrl != null && !videoUrl.isBlank();
+    }
+
+    public boolean isFailed() {
+        return "failed".equalsIgnoreCase(status);
+    }
+}
@@ -0,0 +1,54 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds one {@link ProviderGuard} per provider type. Settings are read from
+ * {@code video.provider.guard.<setting>} and can be overridden per provider with
+ * {@code video.provider.guard.<provider>.<setting>} (e.g. {@code video.provider.guard.blotato.max-concurrent-calls}).
+ */
+@Component
+public class VideoProviderGuards {
+
+    private static final String PREFIX = "video.provider.guard.";
+
+    private final Map<VideoProviderType, ProviderGuard> guards = new EnumMap<>(VideoProviderType.class);
+
+    public VideoProviderGuards(Environment environment) {
+        for (VideoProviderType type : VideoProviderType.values()) {
+            String provider = type.name().toLowerCase();
+            ProviderCircuitBreaker.Settings settings = new ProviderCircuitBreaker.Settings(
+                    setting(environment, provider, "window-size", Integer.class, 20),
+                    setting(environment, provider, "minimum-calls", Integer.class, 10),
+                    setting(environment, provider, "failure-rate-threshold", Double.class, 50.0),
+                    setting(environment, provider, "slow-call-rate-threshold", Double.class, 80.0),
+                    Duration.ofMillis(setting(environment, provider, "slow-call-threshold-ms", Long.class, 10_000L)),
+                    Duration.ofSeconds(setting(environment, provider, "open-duration-seconds", Long.class, 30L)),
+                    setting(environment, provider, "half-open-calls", Integer.class, 3));
+            guards.put(type, new ProviderGuard(type,
+                    new ProviderCircuitBreaker(type.name(), settings, System::nanoTime),
+                    setting(environment, provider, "max-concurrent-calls", Integer.class, 50),
+                    Duration.ofMillis(setting(environment, provider, "max-wait-ms", Long.class, 0L)),
+                    Duration.ofSeconds(setting(environment, provider, "bulkhead-retry-after-seconds", Long.class, 5L)),
+                    System::nanoTime));
+        }
+    }
+
+    public ProviderGuard forProvider(VideoProviderType type) {
+        return guards.get(type);
+    }
+
+    public List<ProviderGuard.Snapshot> snapshot() {
+        return guards.values().stream().map(ProviderGuard::snapshot).toList();
+    }
+
+    private static <T> T setting(Environment environment, String provider, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + provider + "." + key, type,
+                environment.getProperty(PREFIX + key, type, defaultValue));
+    }
+}
@@ -0,0 +1,67 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.announcements.AutomateAnnouncements.repositories.ProviderRateLimitRepository;
+
+/**
+ * Holds one {@link ProviderRateLimiter} per provider type. Settings are read from
+ * {@code video.provider.rate-limit.<setting>} and can be overridden per provider with
+ * {@code video.provider.rate-limit.<provider>.<setting>}. A rate of 0 leaves the provider unlimited;
+ * {@code mode=shared} keeps the bucket in the database so all nodes together respect the quota; each node
+ * then takes {@code lease-size} tokens per database round trip, by default a tenth of a second's worth.
+ */
+@Slf4j
+@Component
+public class VideoProviderRateLimiters {
+
+    private static final String PREFIX = "video.provider.rate-limit.";
+
+    private final Map<VideoProviderType, ProviderRateLimiter> limiters = new EnumMap<>(VideoProviderType.class);
+
+    public VideoProviderRateLimiters(Environment environment,
+                                     ProviderRateLimitRepository repository,
+                                     PlatformTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Token bookkeeping commits on its own, never as part of the caller's transaction
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (VideoProviderType type : VideoProviderType.values()) {
+            String provider = type.name().toLowerCase();
+            double permitsPerSecond = setting(environment, provider, "permits-per-second", Double.class, 0.0);
+            if (permitsPerSecond <= 0) {
+                limiters.put(type, ProviderRateLimiter.UNLIMITED);
+                continue;
+            }
+            int burst = setting(environment, provider, "burst", Integer.class,
+                    (int) Math.max(1, Math.ceil(permitsPerSecond)));
+            String mode = setting(environment, provider, "mode", String.class, "local");
+            ProviderRateLimiter limiter = switch (mode.toLowerCase()) {
+                case "local" -> new LocalRateLimiter(permitsPerSecond, burst, System::nanoTime);
+                case "shared" -> new SharedRateLimiter(type, permitsPerSecond, burst,
+                        setting(environment, provider, "lease-size", Integer.class,
+                                (int) Math.max(1, Math.ceil(permitsPerSecond / 10))),
+                        repository, transactionTemplate, System::currentTimeMillis);
+                default -> throw new IllegalStateException("Unknown rate limit mode for " + type + ": " + mode);
+            };
+            log.info("Rate limiting {} to {} calls/s (burst {}, {} mode)", type, permitsPerSecond, burst, mode);
+            limiters.put(type, limiter);
+        }
+    }
+
+    public ProviderRateLimiter forProvider(VideoProviderType type) {
+        return limiters.get(type);
+    }
+
+    private static <T> T setting(Environment environment, String provider, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + provider + "." + key, type,
+                environment.getProperty(PREFIX + key, type, defaultValue));
+    }
+}
@@ -0,0 +1,145 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps live latency and error statistics per provider and decides where new creations go: the provider
+ * with the lowest {@link ProviderLatencyStats#score() score} among those whose circuit breaker is not open,
+ * with a small share of decisions spread randomly so idle providers keep fresh statistics. Also derives the
+ * hedging delay for synchronous generations from a latency percentile. Settings live under
+ * {@code video.routing.*}; routing decisions and hedges are counted for {@code GET /api/videos/providers/routing}.
+ */
+@Slf4j
+@Component
+public class VideoProviderRouter {
+
+    private static final String PREFIX = "video.routing.";
+
+    private final VideoProviderGuards providerGuards;
+    private final double explorationRate;
+    private final double hedgePercentile;
+    private final int hedgeMinimumSamples;
+    private final Duration hedgeMinDelay;
+    private final Map<VideoProviderType, ProviderLatencyStats> stats = new EnumMap<>(VideoProviderType.class);
+    private final Map<VideoProviderType, Counters> counters = new EnumMap<>(VideoProviderType.class);
+
+    public VideoProviderRouter(Environment environment, VideoProviderGuards providerGuards) {
+        this.providerGuards = providerGuards;
+        this.explorationRate = environment.getProperty(PREFIX + "exploration-rate", Double.class, 0.05);
+        this.hedgePercentile = environment.getProperty(PREFIX + "hedge.percentile", Double.class, 95.0);
+        this.hedgeMinimumSamples = environment.getProperty(PREFIX + "hedge.minimum-samples", Integer.class, 20);
+        this.hedgeMinDelay = Duration.ofMillis(environment.getProperty(PREFIX + "hedge.min-delay-ms", Long.class, 30_000L));
+        double alpha = environment.getProperty(PREFIX + "ewma-alpha", Double.class, 0.2);
+        int window = environment.getProperty(PREFIX + "hedge.window", Integer.class, 100);
+        for (VideoProviderType type : VideoProviderType.values()) {
+            stats.put(type, new ProviderLatencyStats(alpha, window));
+            counters.put(type, new Counters());
+        }
+    }
+
+    /**
+     * Picks the provider for a new creation. When every candidate's breaker is open the preferred one is
+     * returned anyway; its guard then refuses the call with a retry-after and the work is deferred.
+     */
+    public AiVideoProvider route(List<AiVideoProvider> candidates, VideoProviderType preferred) {
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No AI video provider available for routing");
+        }
+        List<AiVideoProvider> available = candidates.stream()
+                .filter(provider -> isCallPermitted(provider.getType()))
+                .toList();
+
+        AiVideoProvider chosen;
+        if (available.isEmpty()) {
+            chosen = candidates.stream().filter(provider -> provider.getType() == preferred).findFirst()
+                    .orElse(candidates.get(0));
+        } else if (available.size() > 1 && ThreadLocalRandom.current().nextDouble() < explorationRate) {
+            chosen = available.get(ThreadLocalRandom.current().nextInt(available.size()));
+        } else {
+            chosen = available.get(0);
+            for (AiVideoProvider candidate : available) {
+                double score = stats.get(candidate.getType()).score();
+                double best = stats.get(chosen.getType()).score();
+                if (score < best || (score == best && candidate.getType() == preferred)) {
+                    chosen = candidate;
+                }
+            }
+        }
+
+        counters.get(chosen.getType()).routed.incrementAndGet();
+        if (chosen.getType() != preferred && !isCallPermitted(preferred)) {
+            counters.get(preferred).failovers.incrementAndGet();
+            log.debug("Provider {} is unavailable, routing creation to {}", preferred, chosen.getType());
+        }
+        return chosen;
+    }
+
+    /**
+     * How long a synchronous generation on {@code type} may run before it is hedged: the configured
+     * percentile of its recent generation latencies, never below the minimum delay.
+     */
+    public Duration hedgeDelay(VideoProviderType type) {
+        Duration percentile = stats.get(type).generationPercentile(hedgePercentile, hedgeMinimumSamples);
+        return percentile == null || percentile.compareTo(hedgeMinDelay) < 0 ? hedgeMinDelay : percentile;
+    }
+
+    void recordCall(VideoProviderType type, long durationNanos, boolean failed, boolean generation) {
+        ProviderLatencyStats providerStats = stats.get(type);
+        providerStats.record(durationNanos, failed);
+        if (generation) {
+            providerStats.recordGeneration(durationNanos);
+        }
+    }
+
+    void recordHedge(VideoProviderType primary, boolean hedgeWon) {
+        Counters primaryCounters = counters.get(primary);
+        primaryCounters.hedged.incrementAndGet();
+        if (hedgeWon) {
+            primaryCounters.hedgeWins.incrementAndGet();
+        }
+    }
+
+    public List<Snapshot> snapshot() {
+        return stats.entrySet().stream()
+                .map(entry -> {
+                    VideoProviderType type = entry.getKey();
+                    ProviderLatencyStats providerStats = entry.getValue();
+                    Counters providerCounters = counters.get(type);
+                    return new Snapshot(type, !isCallPermitted(type), providerStats.samples(),
+                            providerStats.latencyMillis(), providerStats.errorRate() * 100,
+                            hedgeDelay(type).toMillis(), providerCounters.routed.get(),
+                            providerCounters.failovers.get(), providerCounters.hedged.get(),
+                            providerCounters.hedgeWins.get());
+                })
+                .toList();
+    }
+
+    private boolean isCallPermitted(VideoProviderType type) {
+        return providerGuards.forProvider(type).remainingOpenDuration().isZero();
+    }
+
+    private static final class Counters {
+        private final AtomicLong routed = new AtomicLong();
+        private final AtomicLong failovers = new AtomicLong();
+        private final AtomicLong hedged = new AtomicLong();
+        private final AtomicLong hedgeWins = new AtomicLong();
+    }
+
+    /**
+     * Routing view of one provider: EWMA latency in milliseconds and error rate in percent, creations routed
+     * to it, creations routed elsewhere while its breaker was open, and generations on it that were hedged
+     * and how many of those the hedge won.
+     */
+    public record Snapshot(VideoProviderType provider, boolean circuitOpen, long samples, double latencyMillis,
+                           double errorRate, long hedgeDelayMillis, long routedCreations, long failovers,
+                           long hedgedGenerations, long hedgeWins) {
+    }
+}
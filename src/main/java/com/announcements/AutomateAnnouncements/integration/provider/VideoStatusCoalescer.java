@@ -0,0 +1,166 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-flight front for {@link AiVideoProvider#fetchVideoUrl}: concurrent checks of the same creation
+ * share one provider request, a "still processing" answer is reused for a few seconds and a finished URL
+ * is kept until the job is finalized (see {@link #evict}). Errors are never cached. State is local to
+ * this node; across nodes the worker's job leases already keep a creation on a single poller.
+ */
+@Component
+public class VideoStatusCoalescer {
+
+    private final Map<StatusKey, StatusEntry> entries = new ConcurrentHashMap<>();
+    private final long pendingTtlNanos;
+    private final long completedTtlNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong providerCalls = new AtomicLong();
+    private final AtomicLong sharedCalls = new AtomicLong();
+
+    @Autowired
+    public VideoStatusCoalescer(@Value("${video.status-cache.pending-ttl-ms:5000}") long pendingTtlMillis,
+                                @Value("${video.status-cache.completed-ttl-seconds:600}") long completedTtlSeconds) {
+        this(Duration.ofMillis(pendingTtlMillis), Duration.ofSeconds(completedTtlSeconds), System::nanoTime);
+    }
+
+    VideoStatusCoalescer(Duration pendingTtl, Duration completedTtl, LongSupplier nanoClock) {
+        this.pendingTtlNanos = pendingTtl.toNanos();
+        this.completedTtlNanos = completedTtl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public Optional<String> fetchVideoUrl(AiVideoProvider provider, String creationId) {
+        return await(fetchVideoUrlAsync(provider.getType(), creationId, () -> {
+            // The owner runs the check on its own thread, exactly as if it had called the provider directly
+            try {
+                return CompletableFuture.completedFuture(provider.fetchVideoUrl(creationId));
+            } catch (RuntimeException | Error e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
+    }
+
+    /**
+     * Non-blocking variant: {@code request} is only invoked when no in-flight or cached result can be
+     * shared, and the returned future completes with that request's outcome. Completing or cancelling
+     * the returned future does not affect other callers sharing the request.
+     */
+    public CompletableFuture<Optional<String>> fetchVideoUrlAsync(VideoProviderType providerType, String creationId,
+                                                                  Supplier<CompletableFuture<Optional<String>>> request) {
+        StatusKey key = new StatusKey(providerType, creationId);
+        while (true) {
+            StatusEntry current = entries.get(key);
+            if (current != null && !current.isExpired(nanoClock.getAsLong())) {
+                sharedCalls.incrementAndGet();
+                return current.result.copy();
+            }
+
+            StatusEntry fresh = new StatusEntry();
+            boolean owner = current == null
+                    ? entries.putIfAbsent(key, fresh) == null
+                    : entries.replace(key, current, fresh);
+            if (owner) {
+                return load(request, key, fresh);
+            }
+            // Another caller installed a request first; retry and share it
+        }
+    }
+
+    /**
+     * Drops whatever is cached for the creation, called once its job reached a terminal state.
+     */
+    public void evict(String creationId) {
+        for (VideoProviderType type : VideoProviderType.values()) {
+            entries.remove(new StatusKey(type, creationId));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${video.status-cache.purge-ms:60000}")
+    public void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * Number of status checks that actually reached a provider.
+     */
+    public long getProviderCallCount() {
+        return providerCalls.get();
+    }
+
+    /**
+     * Number of status checks answered by an in-flight or cached result.
+     */
+    public long getSharedCallCount() {
+        return sharedCalls.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private CompletableFuture<Optional<String>> load(Supplier<CompletableFuture<Optional<String>>> request,
+                                                     StatusKey key, StatusEntry entry) {
+        providerCalls.incrementAndGet();
+        CompletableFuture<Optional<String>> call;
+        try {
+            call = request.get();
+        } catch (RuntimeException | Error e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((videoUrl, error) -> {
+            if (error != null) {
+                entries.remove(key, entry);
+                entry.result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                return;
+            }
+            long ttl = videoUrl.isPresent() ? completedTtlNanos : pendingTtlNanos;
+            entry.expiresAt = nanoClock.getAsLong() + ttl;
+            entry.result.complete(videoUrl);
+        });
+        return entry.result.copy();
+    }
+
+    private static Optional<String> await(CompletableFuture<Optional<String>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record StatusKey(VideoProviderType providerType, String creationId) {
+    }
+
+    private static final class StatusEntry {
+
+        private final CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        // In-flight requests never expire; the owner removes the entry if the request fails
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+}
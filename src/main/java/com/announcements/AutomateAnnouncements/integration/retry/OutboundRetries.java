@@ -0,0 +1,225 @@
+package com.announcements.AutomateAnnouncements.integration.retry;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Retry engine shared by the outbound clients (Blotato, OpenAI images, n8n). Each client has a named
+ * {@link RetryPolicy} read from {@code outbound.retry.<setting>}, overridable per client with
+ * {@code outbound.retry.<client>.<setting>}. Only I/O failures, timeouts and the configured HTTP statuses
+ * are retried, {@code Retry-After} is honored and every retry draws from one global {@link RetryBudget}.
+ * Non-idempotent calls get a narrower policy of their own: {@value #NON_IDEMPOTENT_STATUSES} unless the
+ * client overrides it, and only connection failures among transport errors.
+ * Waiting between attempts is a timer on a shared scheduler, never a sleeping thread.
+ */
+@Slf4j
+@Component
+public class OutboundRetries {
+
+    private static final String PREFIX = "outbound.retry.";
+    private static final String IDEMPOTENT_STATUSES = "408,425,429,500,502,503,504";
+    // Statuses with which a server says it did not process the request
+    private static final String NON_IDEMPOTENT_STATUSES = "429,503";
+
+    private final Environment environment;
+    private final Map<String, RetryPolicy> policies = new ConcurrentHashMap<>();
+    // Kept apart so the first caller of a client cannot fix its policy for the other kind of call
+    private final Map<String, RetryPolicy> nonIdempotentPolicies = new ConcurrentHashMap<>();
+    private final RetryBudget budget;
+    private final Scheduler scheduler = Schedulers.parallel();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong budgetRejections = new AtomicLong();
+
+    public OutboundRetries(Environment environment) {
+        this.environment = environment;
+        this.budget = new RetryBudget(
+                environment.getProperty(PREFIX + "budget.ratio", Double.class, 0.2),
+                environment.getProperty(PREFIX + "budget.min-retries-per-second", Integer.class, 5),
+                environment.getProperty(PREFIX + "budget.window-seconds", Integer.class, 10),
+                System::nanoTime);
+    }
+
+    /**
+     * Subscribes to {@code call} and resubscribes to it according to the client's policy. Every
+     * subscription to the returned Mono counts as one first attempt towards the retry budget.
+     */
+    public <T> Mono<T> withRetries(String client, Mono<T> call) {
+        return withRetries(client, policy(client), call);
+    }
+
+    /**
+     * Same as {@link #withRetries(String, Mono)} for a call that must not run twice, such as a POST that
+     * starts a paid job: it is only retried when the server cannot have processed it.
+     */
+    public <T> Mono<T> withNonIdempotentRetries(String client, Mono<T> call) {
+        return withRetries(client, nonIdempotentPolicy(client), call);
+    }
+
+    private <T> Mono<T> withRetries(String client, RetryPolicy policy, Mono<T> call) {
+        return Mono.defer(() -> {
+            budget.recordRequest();
+            return call.retryWhen(retrySpec(client, policy));
+        });
+    }
+
+    public RetryPolicy policy(String client) {
+        return policies.computeIfAbsent(client, name -> loadPolicy(name, true));
+    }
+
+    public RetryPolicy nonIdempotentPolicy(String client) {
+        return nonIdempotentPolicies.computeIfAbsent(client, name -> loadPolicy(name, false));
+    }
+
+    public boolean isRetryable(RetryPolicy policy, Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return policy.retryableStatuses().contains(response.getStatusCode().value());
+        }
+        if (!policy.idempotent()) {
+            return error instanceof WebClientRequestException && isConnectFailure(error);
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    // The connection was never established, so the request cannot have reached the server
+    private static boolean isConnectFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of retries scheduled since startup.
+     */
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * Number of retries refused because the budget was spent.
+     */
+    public long getBudgetRejectionCount() {
+        return budgetRejections.get();
+    }
+
+    private Retry retrySpec(String client, RetryPolicy policy) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long retry = signal.totalRetries() + 1;
+            Duration delay = retry < policy.maxAttempts() && isRetryable(policy, failure)
+                    ? delayBeforeRetry(policy, retry, failure)
+                    : null;
+            if (delay == null) {
+                return Mono.error(failure);
+            }
+            if (!budget.tryAcquireRetry()) {
+                budgetRejections.incrementAndGet();
+                log.warn("Retry budget exhausted, not retrying {} call: {}", client, failure.getMessage());
+                return Mono.error(failure);
+            }
+
+            retryCount.incrementAndGet();
+            log.warn("Attempt {} of {} call failed ({}), retrying in {} ms",
+                    retry, client, failure.getMessage(), delay.toMillis());
+            return Mono.delay(delay, scheduler);
+        }));
+    }
+
+    /**
+     * Jittered backoff, stretched to the server's {@code Retry-After}; {@code null} when the server asks
+     * for a longer wait than the policy accepts.
+     */
+    private static Duration delayBeforeRetry(RetryPolicy policy, long retry, Throwable failure) {
+        Duration delay = jittered(policy.backoff(retry), policy.jitter());
+        Duration retryAfter = failure instanceof WebClientResponseException response
+                ? retryAfter(response.getHeaders())
+                : null;
+        if (retryAfter == null) {
+            return delay;
+        }
+        if (retryAfter.compareTo(policy.maxRetryAfter()) > 0) {
+            return null;
+        }
+        return retryAfter.compareTo(delay) > 0 ? retryAfter : delay;
+    }
+
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // Not delta-seconds; an HTTP-date
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Duration jittered(Duration delay, double jitter) {
+        if (jitter == 0) {
+            return delay;
+        }
+        double scale = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Duration.ofMillis(Math.round(delay.toMillis() * scale));
+    }
+
+    private RetryPolicy loadPolicy(String client, boolean idempotent) {
+        // The shared status list is meant for idempotent calls, so non-idempotent ones only take their own
+        String statuses = idempotent
+                ? setting(client, "retryable-statuses", String.class, IDEMPOTENT_STATUSES)
+                : environment.getProperty(PREFIX + client + ".retryable-statuses", NON_IDEMPOTENT_STATUSES);
+        return new RetryPolicy(
+                setting(client, "max-attempts", Integer.class, 3),
+                Duration.ofMillis(setting(client, "initial-backoff-ms", Long.class, 500L)),
+                Duration.ofMillis(setting(client, "max-backoff-ms", Long.class, 10_000L)),
+                setting(client, "jitter", Double.class, 0.5),
+                Duration.ofSeconds(setting(client, "max-retry-after-seconds", Long.class, 60L)),
+                parseStatuses(statuses),
+                idempotent);
+    }
+
+    private <T> T setting(String client, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + client + "." + key, type,
+                environment.getProperty(PREFIX + key, type, defaultValue));
+    }
+
+    private static Set<Integer> parseStatuses(String statuses) {
+        return Arrays.stream(statuses.split(","))
+                .map(String::trim)
+                .filter(status -> !status.isEmpty())
+                .map(Integer::valueOf)
+                .collect(Collectors.toSet());
+    }
+}
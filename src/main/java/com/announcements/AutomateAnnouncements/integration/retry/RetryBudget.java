@@ -0,0 +1,69 @@
+package com.announcements.AutomateAnnouncements.integration.retry;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries at a fraction of recent first attempts, plus a small floor per second, over a sliding window
+ * of one-second buckets. During an outage every call fails, so without a budget each one would multiply
+ * into {@code maxAttempts} calls against a provider that is already struggling.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final int minRetriesPerSecond;
+    private final long[] requests;
+    private final long[] retries;
+    private final long[] bucketSeconds;
+    private final LongSupplier nanoClock;
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, int windowSeconds, LongSupplier nanoClock) {
+        if (ratio < 0 || minRetriesPerSecond < 0 || windowSeconds <= 0) {
+            throw new IllegalArgumentException("Retry budget ratio, floor and window must be non-negative");
+        }
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.requests = new long[windowSeconds];
+        this.retries = new long[windowSeconds];
+        this.bucketSeconds = new long[windowSeconds];
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized void recordRequest() {
+        requests[currentBucket()]++;
+    }
+
+    /**
+     * Takes one retry from the budget, or returns {@code false} when the window has none left.
+     */
+    public synchronized boolean tryAcquireRetry() {
+        int bucket = currentBucket();
+        long now = bucketSeconds[bucket];
+        long windowRequests = 0;
+        long windowRetries = 0;
+        for (int i = 0; i < requests.length; i++) {
+            // Buckets not written for a whole window still hold counts from seconds that have expired
+            if (now - bucketSeconds[i] < requests.length) {
+                windowRequests += requests[i];
+                windowRetries += retries[i];
+            }
+        }
+        double allowed = windowRequests * ratio + (double) minRetriesPerSecond * requests.length;
+        if (windowRetries + 1 > allowed) {
+            return false;
+        }
+        retries[bucket]++;
+        return true;
+    }
+
+    private int currentBucket() {
+        long second = nanoClock.getAsLong() / 1_000_000_000L;
+        int bucket = (int) Math.floorMod(second, (long) requests.length);
+        if (bucketSeconds[bucket] != second) {
+            // The bucket last held an older second that has left the window
+            bucketSeconds[bucket] = second;
+            requests[bucket] = 0;
+            retries[bucket] = 0;
+        }
+        return bucket;
+    }
+}
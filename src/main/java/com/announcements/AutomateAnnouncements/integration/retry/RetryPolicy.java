@@ -0,0 +1,41 @@
+package com.announcements.AutomateAnnouncements.integration.retry;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * How one outbound client retries: up to {@code maxAttempts} calls in total, exponential backoff from
+ * {@code initialBackoff} capped at {@code maxBackoff} and scaled by a random factor in
+ * {@code [1 - jitter, 1 + jitter)}. A {@code Retry-After} longer than the backoff replaces it; one longer
+ * than {@code maxRetryAfter} ends the retries.
+ *
+ * <p>Calls that are not {@code idempotent} (a paid creation, a webhook post) may already have been processed
+ * when they fail, so they are only retried on the listed statuses and when the connection could not be
+ * established, never on timeouts or on I/O errors after the request was sent.
+ */
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double jitter,
+                          Duration maxRetryAfter, Set<Integer> retryableStatuses, boolean idempotent) {
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry max attempts must be at least 1");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Retry backoff must be non-negative and max >= initial");
+        }
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Retry jitter must be in [0, 1)");
+        }
+        retryableStatuses = Set.copyOf(retryableStatuses);
+    }
+
+    /**
+     * Backoff before retry number {@code retry} (1-based), before jitter.
+     */
+    Duration backoff(long retry) {
+        // Cap the shift so the multiplication cannot overflow
+        long factor = 1L << Math.min(Math.max(retry - 1, 0), 20);
+        long millis = initialBackoff.toMillis() * factor;
+        return millis >= maxBackoff.toMillis() ? maxBackoff : Duration.ofMillis(millis);
+    }
+}
@@ -0,0 +1,21 @@
+package com.announcements.AutomateAnnouncements.repositories;
+
+import com.announcements.AutomateAnnouncements.entities.ProviderRateLimit;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProviderRateLimitRepository extends JpaRepository<ProviderRateLimit, VideoProviderType> {
+
+    // Row lock held until the caller's transaction ends, so nodes take tokens from the bucket one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ProviderRateLimit b WHERE b.provider = :provider")
+    Optional<ProviderRateLimit> findForUpdate(@Param("provider") VideoProviderType provider);
+}
@@ -1,20 +1,149 @@
 package com.announcements.AutomateAnnouncements.repositories;
 
+import com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatusResponseDTO;
 import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface VideoGenerationJobRepository extends JpaRepository<VideoGenerationJob, Integer> {
 
-    List<VideoGenerationJob> findByStatusIn(List<String> statuses);
+    List<VideoGenerationJob> findByStatusIn(List<VideoJobStatus> statuses);
 
-    List<VideoGenerationJob> findByOwnerId(Integer ownerId);
+    // Several jobs share a creation when duplicates attached to it through the result cache
+    List<VideoGenerationJob> findAllByBlotatoCreationId(String blotatoCreationId);
+
+    @Query("SELECT new com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatusResponseDTO("
+            + "j.id, j.status, j.createdAt, j.updatedAt, j.videoUrl, j.errorMessage) "
+            + "FROM VideoGenerationJob j WHERE j.id IN :ids AND j.ownerId = :ownerId")
+    List<VideoJobStatusResponseDTO> findStatusViewsByIds(@Param("ids") Collection<Integer> ids,
+                                                         @Param("ownerId") Integer ownerId);
+
+    // Served by idx_video_job_owner_created; the status filter is applied to the owner's index range
+    @Query("SELECT new com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatusResponseDTO("
+            + "j.id, j.status, j.createdAt, j.updatedAt, j.videoUrl, j.errorMessage) "
+            + "FROM VideoGenerationJob j WHERE j.ownerId = :ownerId AND j.status IN :statuses "
+            + "ORDER BY j.createdAt DESC, j.id DESC")
+    Slice<VideoJobStatusResponseDTO> findStatusViewsByOwner(@Param("ownerId") Integer ownerId,
+                                                            @Param("statuses") Collection<VideoJobStatus> statuses,
+                                                            Pageable pageable);
+
+    @Query("SELECT j FROM VideoGenerationJob j WHERE j.ownerId IN :ownerIds AND j.updatedAt >= :since ORDER BY j.updatedAt")
+    List<VideoGenerationJob> findUpdatedSince(@Param("ownerIds") Collection<Integer> ownerIds,
+                                              @Param("since") LocalDateTime since);
 
     @Query("SELECT j FROM VideoGenerationJob j WHERE j.status IN :statuses ORDER BY j.createdAt ASC")
-    List<VideoGenerationJob> findPendingJobs(@Param("statuses") List<String> statuses);
+    List<VideoGenerationJob> findPendingJobs(@Param("statuses") List<VideoJobStatus> statuses);
+
+    /**
+     * Locks a batch of due jobs whose lease is free or expired. Rows already locked by another node's
+     * claim are skipped rather than waited on, so concurrent nodes partition the pending set.
+     */
+    @Query(value = "SELECT id FROM video_generation_job "
+            + "WHERE status IN (:statuses) AND (next_poll_at IS NULL OR next_poll_at <= :now) "
+            + "AND (lease_expires_at IS NULL OR lease_expires_at < :now) "
+            + "ORDER BY next_poll_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockDueJobIds(@Param("statuses") List<String> statuses,
+                                @Param("now") LocalDateTime now,
+                                @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VideoGenerationJob j SET j.claimedBy = :workerId, j.leaseExpiresAt = :leaseUntil "
+            + "WHERE j.id IN :ids")
+    int claimJobs(@Param("ids") List<Integer> ids,
+                  @Param("workerId") String workerId,
+                  @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VideoGenerationJob j SET j.leaseExpiresAt = :leaseUntil "
+            + "WHERE j.id IN :ids AND j.claimedBy = :workerId")
+    int renewLeases(@Param("ids") List<Integer> ids,
+                    @Param("workerId") String workerId,
+                    @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE VideoGenerationJob j SET j.nextPollAt = :nextPollAt, j.pollAttempts = :pollAttempts, "
+            + "j.claimedBy = NULL, j.leaseExpiresAt = NULL WHERE j.id = :id")
+    int updatePollSchedule(@Param("id") Integer id,
+                           @Param("nextPollAt") LocalDateTime nextPollAt,
+                           @Param("pollAttempts") Integer pollAttempts);
+
+    /*
+     * Status transitions are single conditional UPDATEs: they return 0 when the job is not in one of the
+     * expected source states (already finalized, or moved by another node), without a prior SELECT.
+     */
+
+    // Only the node still holding the lease may move the job; a node whose lease ran out updates nothing
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VideoGenerationJob j SET j.status = com.announcements.AutomateAnnouncements.entities.VideoJobStatus.PROCESSING, "
+            + "j.blotatoCreationId = :creationId, j.provider = :provider, j.deadlineAt = :deadlineAt, "
+            + "j.nextPollAt = :nextPollAt, j.pollAttempts = 0, "
+            + "j.claimedBy = NULL, j.leaseExpiresAt = NULL, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status IN :expected "
+            + "AND j.claimedBy = :workerId AND j.leaseExpiresAt >= :now")
+    int markClaimedProcessing(@Param("id") Integer id,
+                              @Param("workerId") String workerId,
+                              @Param("creationId") String creationId,
+                              @Param("provider") VideoProviderType provider,
+                              @Param("deadlineAt") LocalDateTime deadlineAt,
+                              @Param("nextPollAt") LocalDateTime nextPollAt,
+                              @Param("now") LocalDateTime now,
+                              @Param("expected") List<VideoJobStatus> expected);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VideoGenerationJob j SET j.status = com.announcements.AutomateAnnouncements.entities.VideoJobStatus.COMPLETED, "
+            + "j.videoUrl = :videoUrl, j.completedAt = :now, j.updatedAt = :now, "
+            + "j.claimedBy = NULL, j.leaseExpiresAt = NULL "
+            + "WHERE j.id = :id AND j.status IN :expected")
+    int markCompleted(@Param("id") Integer id,
+                      @Param("videoUrl") String videoUrl,
+                      @Param("now") LocalDateTime now,
+                      @Param("expected") List<VideoJobStatus> expected);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VideoGenerationJob j SET j.status = com.announcements.AutomateAnnouncements.entities.VideoJobStatus.FAILED, "
+            + "j.errorMessage = :errorMessage, j.updatedAt = :now, j.claimedBy = NULL, j.leaseExpiresAt = NULL "
+            + "WHERE j.id = :id AND j.status IN :expected")
+    int markFailed(@Param("id") Integer id,
+                   @Param("errorMessage") String errorMessage,
+                   @Param("now") LocalDateTime now,
+                   @Param("expected") List<VideoJobStatus> expected);
+
+    /**
+     * Locks a batch of pending jobs whose deadline has passed, skipping rows another node is already
+     * reaping or claiming.
+     */
+    @Query(value = "SELECT id FROM video_generation_job "
+            + "WHERE status IN (:statuses) AND deadline_at < :now "
+            + "ORDER BY deadline_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockExpiredJobIds(@Param("statuses") List<String> statuses,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
+
+    @Query("SELECT j FROM VideoGenerationJob j WHERE j.status IN :statuses AND j.deadlineAt IS NULL ORDER BY j.id")
+    List<VideoGenerationJob> findPendingWithoutDeadline(@Param("statuses") List<VideoJobStatus> statuses, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE VideoGenerationJob j SET j.deadlineAt = :deadlineAt WHERE j.id = :id AND j.deadlineAt IS NULL")
+    int setMissingDeadline(@Param("id") Integer id, @Param("deadlineAt") LocalDateTime deadlineAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VideoGenerationJob j SET j.status = com.announcements.AutomateAnnouncements.entities.VideoJobStatus.FAILED, "
+            + "j.errorMessage = :errorMessage, j.updatedAt = :now, j.claimedBy = NULL, j.leaseExpiresAt = NULL "
+            + "WHERE j.id IN :ids AND j.status IN :expected")
+    int markAllFailed(@Param("ids") List<Integer> ids,
+                      @Param("errorMessage") String errorMessage,
+                      @Param("now") LocalDateTime now,
+                      @Param("expected") List<VideoJobStatus> expected);
 }
@@ -0,0 +1,35 @@
+package com.announcements.AutomateAnnouncements.repositories;
+
+import com.announcements.AutomateAnnouncements.entities.VideoResultCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface VideoResultCacheRepository extends JpaRepository<VideoResultCacheEntry, String> {
+
+    @Modifying
+    @Query("UPDATE VideoResultCacheEntry e SET e.lastUsedAt = :now WHERE e.cacheKey = :cacheKey")
+    int touch(@Param("cacheKey") String cacheKey, @Param("now") LocalDateTime now);
+
+    // Completed entries are kept: the video exists even though this job failed
+    @Modifying
+    @Query("DELETE FROM VideoResultCacheEntry e WHERE e.creationId = :creationId AND e.videoUrl IS NULL")
+    int deletePendingByCreationId(@Param("creationId") String creationId);
+
+    @Modifying
+    @Query("DELETE FROM VideoResultCacheEntry e WHERE e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    long countByVideoUrlIsNotNull();
+
+    // Served by idx_video_result_cache_last_used
+    @Query("SELECT e.cacheKey FROM VideoResultCacheEntry e WHERE e.videoUrl IS NOT NULL ORDER BY e.lastUsedAt ASC")
+    List<String> findLeastRecentlyUsedKeys(Pageable pageable);
+}
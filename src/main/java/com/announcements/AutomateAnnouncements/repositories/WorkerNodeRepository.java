@@ -0,0 +1,22 @@
+package com.announcements.AutomateAnnouncements.repositories;
+
+import com.announcements.AutomateAnnouncements.entities.WorkerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface WorkerNodeRepository extends JpaRepository<WorkerNode, String> {
+
+    @Modifying
+    @Query("UPDATE WorkerNode n SET n.heartbeatAt = :now WHERE n.nodeId = :nodeId")
+    int touch(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM WorkerNode n WHERE n.heartbeatAt < :cutoff")
+    int deleteSilentSince(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,6 +2,7 @@ package com.announcements.AutomateAnnouncements.services;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -10,15 +11,17 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.announcements.AutomateAnnouncements.config.OutboundHttpConfig;
 import com.announcements.AutomateAnnouncements.dtos.request.ImageGenerationRequestDTO;
 import com.announcements.AutomateAnnouncements.dtos.response.ImageGenerationResponseDTO;
+import com.announcements.AutomateAnnouncements.integration.retry.OutboundRetries;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
@@ -29,15 +32,21 @@ import reactor.core.publisher.Mono;
 @Service
 public class ImageGenerationService {
 
+    private static final String RETRY_CLIENT = "openai-images";
+
     private final WebClient webClient;
+    private final OutboundRetries retries;
     private final String defaultModel;
 
     public ImageGenerationService(
             WebClient.Builder webClientBuilder,
+            OutboundRetries retries,
             @Value("${openai.api.key}") String apiKey,
             @Value("${openai.api.base-url:https://api.openai.com/v1}") String apiBaseUrl,
-            @Value("${openai.images.model:dall-e-3}") String defaultModel) {
+            @Value("${openai.images.model:dall-e-3}") String defaultModel,
+            @Value("${openai.images.response-timeout-ms:120000}") long responseTimeoutMillis) {
 
+        this.retries = retries;
         String sanitizedApiKey = sanitizeConfigValue(apiKey);
         if (!StringUtils.hasText(sanitizedApiKey)) {
             throw new IllegalStateException("OpenAI API key is not configured");
@@ -54,7 +63,9 @@ public class ImageGenerationService {
         String sanitizedModel = sanitizeConfigValue(defaultModel);
         this.defaultModel = StringUtils.hasText(sanitizedModel) ? sanitizedModel : "dall-e-3";
 
+        // Image generation routinely takes longer than the shared outbound read timeout
         this.webClient = webClientBuilder
+                .defaultRequest(OutboundHttpConfig.responseTimeout(Duration.ofMillis(responseTimeoutMillis)))
                 .baseUrl(normalizedBaseUrl)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + sanitizedApiKey)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
@@ -78,21 +89,24 @@ public class ImageGenerationService {
 
         log.info("Requesting OpenAI image generation with size={}, quality={}, style={}", size, quality, style);
 
-        OpenAiImageResponse response = webClient.post()
+        Mono<OpenAiImageResponse> openAiCall = webClient.post()
                 .uri("/images/generations")
                 .bodyValue(payload)
                 .retrieve()
-                .onStatus(HttpStatusCode::isError, clientResponse -> clientResponse.bodyToMono(String.class)
-                        .map(body -> {
-                            log.error("OpenAI API error: status={}, body={}", clientResponse.statusCode(), body);
-                            return new ResponseStatusException(HttpStatus.BAD_GATEWAY,
-                                    "El servicio de imágenes no está disponible en este momento.");
-                        }))
-                .bodyToMono(OpenAiImageResponse.class)
-                .onErrorResume(throwable -> {
+                .bodyToMono(OpenAiImageResponse.class);
+        // Error statuses reach the retry engine untranslated so rate limits are retried; every generation is
+        // billed, so only calls OpenAI cannot have processed are sent again
+        OpenAiImageResponse response = retries.withNonIdempotentRetries(RETRY_CLIENT, openAiCall)
+                .onErrorMap(throwable -> {
+                    if (throwable instanceof WebClientResponseException responseError) {
+                        log.error("OpenAI API error: status={}, body={}",
+                                responseError.getStatusCode(), responseError.getResponseBodyAsString());
+                        return new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                                "El servicio de imágenes no está disponible en este momento.");
+                    }
                     log.error("Unexpected error calling OpenAI image API", throwable);
-                    return Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY,
-                            "No se pudo generar la imagen. Intenta de nuevo en unos minutos."));
+                    return new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                            "No se pudo generar la imagen. Intenta de nuevo en unos minutos.");
                 })
                 .block();
 
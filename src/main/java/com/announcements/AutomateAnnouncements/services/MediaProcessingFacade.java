@@ -1,30 +1,60 @@
 package com.announcements.AutomateAnnouncements.services;
 
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationBatchRequestDTO;
 import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
 import com.announcements.AutomateAnnouncements.entities.UserProfile;
 import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
 import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
 import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.ProviderUnavailableException;
+import com.announcements.AutomateAnnouncements.integration.provider.ReactiveAiVideoProvider;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Facade pattern – simplifies controllers by orchestrating multiple services and provider lookups
  * whenever we need to upload or generate media content.
  */
+@Slf4j
 @Component
 public class MediaProcessingFacade {
 
     private final VideoService videoService;
     private final VideoGenerationJobService videoGenerationJobService;
     private final AiVideoProviderFactory aiVideoProviderFactory;
+    private final VideoResultCache resultCache;
+    private final WorkerNodeRegistry nodes;
+    private final int maxBatchSize;
+    private final Duration syncDeadline;
+    private final Duration syncPollInterval;
 
     public MediaProcessingFacade(VideoService videoService,
                                  VideoGenerationJobService videoGenerationJobService,
-                                 AiVideoProviderFactory aiVideoProviderFactory) {
+                                 AiVideoProviderFactory aiVideoProviderFactory,
+                                 VideoResultCache resultCache,
+                                 WorkerNodeRegistry nodes,
+                                 @Value("${video.batch.max-size:500}") int maxBatchSize,
+                                 @Value("${video.generation.sync.deadline-seconds:10}") long syncDeadlineSeconds,
+                                 @Value("${video.generation.sync.poll-interval-ms:1000}") long syncPollIntervalMs) {
         this.videoService = videoService;
+        this.maxBatchSize = maxBatchSize;
+        this.syncDeadline = Duration.ofSeconds(syncDeadlineSeconds);
+        this.syncPollInterval = Duration.ofMillis(syncPollIntervalMs);
         this.videoGenerationJobService = videoGenerationJobService;
         this.aiVideoProviderFactory = aiVideoProviderFactory;
+        this.resultCache = resultCache;
+        this.nodes = nodes;
     }
 
     public String uploadUserVideo(UserProfile userProfile,
@@ -35,7 +65,15 @@ public class MediaProcessingFacade {
         return videoService.uploadUserVideo(userProfile, file, title, description, targets);
     }
 
+    /**
+     * Persists a QUEUED job and returns right away; {@link VideoGenerationSubmitter} hands it to the
+     * provider in the background. A prompt and style already in the {@link VideoResultCache} completes the
+     * job at once.
+     */
     public VideoGenerationJob enqueueVideoGeneration(UserProfile owner, VideoGenerationRequest request) {
+        // Fail fast on a misconfigured async provider before accepting work
+        aiVideoProviderFactory.getAsyncProvider();
+
         VideoGenerationJob job = videoGenerationJobService.createJob(
                 owner.getId(),
                 request.getPrompt(),
@@ -44,10 +82,44 @@ public class MediaProcessingFacade {
                 request.getTargets(),
                 request.getStyle());
 
-        AiVideoProvider provider = aiVideoProviderFactory.getAsyncProvider();
-        String creationId = provider.requestVideoCreation(request.getPrompt(), request.getStyle());
-        videoGenerationJobService.updateJobStatus(job.getId(), "PROCESSING", creationId);
-        return job;
+        Optional<String> cachedVideoUrl = resultCache.findVideoUrl(request.getPrompt(), request.getStyle());
+        if (cachedVideoUrl.isEmpty()) {
+            return job;
+        }
+        videoGenerationJobService.completeJob(job.getId(), cachedVideoUrl.get());
+        return videoGenerationJobService.getJobById(job.getId()).orElse(job);
+    }
+
+    /**
+     * Queues every valid item of a batch in one transaction. An invalid item does not sink the batch: it
+     * gets its validation error at its index and the rest are queued.
+     */
+    public List<BatchItemResult> enqueueVideoGenerations(UserProfile owner, List<VideoGenerationBatchRequestDTO.Item> items) {
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch can contain at most " + maxBatchSize + " video requests");
+        }
+        aiVideoProviderFactory.getAsyncProvider();
+
+        List<VideoGenerationRequest> requests = new ArrayList<>();
+        String[] errors = new String[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                requests.add(items.get(i).toVideoGenerationRequest());
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+
+        Iterator<VideoGenerationJob> jobs = requests.isEmpty()
+                ? Collections.emptyIterator()
+                : videoGenerationJobService.createJobs(owner.getId(), requests).iterator();
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(errors[i] != null
+                    ? new BatchItemResult(i, null, errors[i])
+                    : new BatchItemResult(i, jobs.next().getId(), null));
+        }
+        return results;
     }
 
     public String generateVideoSynchronously(UserProfile owner, VideoGenerationRequest request) {
@@ -61,4 +133,164 @@ public class MediaProcessingFacade {
                 request.getStyle(),
                 provider);
     }
+
+    /**
+     * Non-blocking {@link #generateVideoSynchronously}: emits the video URL once the provider generated it
+     * and the result is recorded. No thread waits on the provider; recording the result is blocking JPA
+     * work and runs on a bounded elastic worker.
+     */
+    public Mono<String> generateVideo(UserProfile owner, VideoGenerationRequest request) {
+        String style = request.getStyle() != null ? request.getStyle() : "default";
+        return Mono.defer(() -> aiVideoProviderFactory.getDefaultProvider().reactive().generateVideo(request.getPrompt(), style))
+                .publishOn(Schedulers.boundedElastic())
+                .map(videoUrl -> videoService.publishGeneratedVideo(
+                        videoUrl,
+                        request.getTitle(),
+                        request.getDescription(),
+                        owner,
+                        request.getTargets()));
+    }
+
+    /**
+     * Hybrid generation: starts an asynchronous creation and waits up to the sync deadline, counted from the
+     * request, for it. A video ready in time is recorded and returned; otherwise the caller gets the id of
+     * the job that finishes the generation, so nothing is generated twice. The job is persisted, leased to
+     * this node, before the provider is called, and the creation is recorded on it as soon as its id
+     * arrives even if the caller has gone by then. A provider refusing the creation leaves the job QUEUED
+     * for the submitter. Like queued jobs, it goes through the {@link VideoResultCache}: a cached video
+     * completes it at once and a duplicate of a creation in flight waits for that creation. With a zero
+     * deadline this waits for {@link #generateVideo}.
+     */
+    public Mono<GenerationResult> generateVideoWithDeadline(UserProfile owner, VideoGenerationRequest request) {
+        if (syncDeadline.isZero()) {
+            return generateVideo(owner, request).map(GenerationResult::completed);
+        }
+
+        String style = request.getStyle() != null ? request.getStyle() : "default";
+        return Mono.defer(() -> {
+            long deadlineAt = System.nanoTime() + syncDeadline.toNanos();
+            AiVideoProvider provider = aiVideoProviderFactory.getCreationProvider();
+            return Mono.fromCallable(() -> startGeneration(owner, request, provider))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(start -> {
+                        VideoGenerationJob job = start.job();
+                        VideoResultCache.Reservation reservation = start.reservation();
+                        return switch (reservation.outcome()) {
+                            case CACHED -> Mono.just(GenerationResult.completed(reservation.videoUrl()));
+                            case PENDING -> Mono.just(GenerationResult.deferred(job.getId()));
+                            case IN_FLIGHT -> awaitGeneration(job, Mono.just(reservation.creationId()),
+                                    aiVideoProviderFactory.getPollingProvider(reservation.provider()), deadlineAt);
+                            case RESERVED -> awaitGeneration(job,
+                                    // Cancelling the caller's wait leaves the creation running
+                                    Mono.fromFuture(submitCreation(job, reservation, provider, request.getPrompt(), style), true),
+                                    provider, deadlineAt);
+                        };
+                    });
+        });
+    }
+
+    // Persists the job and settles it right away unless the provider has to be called or polled
+    private SyncStart startGeneration(UserProfile owner, VideoGenerationRequest request, AiVideoProvider provider) {
+        VideoGenerationJob job = videoGenerationJobService.createClaimedJob(owner.getId(), request, nodes.getNodeId());
+        VideoResultCache.Reservation reservation = resultCache.reserve(provider.getType(), request.getPrompt(), request.getStyle());
+        switch (reservation.outcome()) {
+            case CACHED -> {
+                log.info("Completing job {} from the result cache", job.getId());
+                videoGenerationJobService.completeJob(job.getId(), reservation.videoUrl());
+            }
+            case IN_FLIGHT -> {
+                log.info("Attaching job {} to {} creation {}", job.getId(), reservation.provider(), reservation.creationId());
+                videoGenerationJobService.markProcessing(job.getId(), nodes.getNodeId(), reservation.creationId(),
+                        reservation.provider());
+            }
+            // The submission that reserved the key records its creation id shortly
+            case PENDING -> videoGenerationJobService.deferJob(job, resultCache.getPendingRetry());
+            case RESERVED -> {
+            }
+        }
+        return new SyncStart(job, reservation);
+    }
+
+    private Mono<GenerationResult> awaitGeneration(VideoGenerationJob job, Mono<String> creation,
+                                                   AiVideoProvider provider, long deadlineAt) {
+        ReactiveAiVideoProvider reactive = provider.reactive();
+        return creation
+                .flatMap(creationId -> awaitVideoUrl(reactive, creationId))
+                .timeout(remaining(deadlineAt), Mono.empty())
+                .publishOn(Schedulers.boundedElastic())
+                .map(videoUrl -> {
+                    videoGenerationJobService.completeJob(job.getId(), videoUrl);
+                    return GenerationResult.completed(videoUrl);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.info("Job {} was not ready within the {} s sync deadline, continuing in the background",
+                            job.getId(), syncDeadline.toSeconds());
+                    return GenerationResult.deferred(job.getId());
+                }));
+    }
+
+    // Subscribed right away rather than by the caller, so the outcome of the creation always reaches the job
+    private CompletableFuture<String> submitCreation(VideoGenerationJob job, VideoResultCache.Reservation reservation,
+                                                     AiVideoProvider provider, String prompt, String style) {
+        return Mono.defer(() -> provider.reactive().requestVideoCreation(prompt, style))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnError(e -> resultCache.release(reservation))
+                .doOnNext(creationId -> {
+                    resultCache.recordCreation(reservation, creationId);
+                    if (!videoGenerationJobService.markProcessing(job.getId(), nodes.getNodeId(), creationId, provider.getType())) {
+                        log.warn("Lost the lease on job {} before recording creation {}", job.getId(), creationId);
+                    }
+                })
+                .onErrorResume(ProviderUnavailableException.class, e -> {
+                    log.info("Provider refused the sync creation, queueing job {}: {}", job.getId(), e.getMessage());
+                    videoGenerationJobService.deferJob(job, e.getRetryAfter());
+                    return Mono.empty();
+                })
+                .doOnError(e -> videoGenerationJobService.failJob(job.getId(), e.getMessage()))
+                .toFuture();
+    }
+
+    // Emits the URL once the creation is ready; never completes empty
+    private Mono<String> awaitVideoUrl(ReactiveAiVideoProvider provider, String creationId) {
+        return Mono.defer(() -> provider.fetchVideoUrl(creationId))
+                // A status check over quota is not a failure; the job pipeline polls again later
+                .onErrorResume(ProviderUnavailableException.class, e -> Mono.empty())
+                .repeatWhenEmpty(attempts -> attempts.delayElements(syncPollInterval));
+    }
+
+    private static Duration remaining(long deadlineAt) {
+        return Duration.ofNanos(Math.max(0, deadlineAt - System.nanoTime()));
+    }
+
+    private record SyncStart(VideoGenerationJob job, VideoResultCache.Reservation reservation) {
+    }
+
+    /**
+     * Outcome of one item of {@link #enqueueVideoGenerations}: the queued job, or why the item was rejected.
+     */
+    public record BatchItemResult(int index, Integer jobId, String error) {
+
+        public boolean accepted() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Outcome of {@link #generateVideoWithDeadline}: the video URL when it was ready in time, otherwise the
+     * id of the job that finishes the generation.
+     */
+    public record GenerationResult(String videoUrl, Integer jobId) {
+
+        public static GenerationResult completed(String videoUrl) {
+            return new GenerationResult(videoUrl, null);
+        }
+
+        public static GenerationResult deferred(Integer jobId) {
+            return new GenerationResult(null, jobId);
+        }
+
+        public boolean isCompleted() {
+            return videoUrl != null;
+        }
+    }
 }
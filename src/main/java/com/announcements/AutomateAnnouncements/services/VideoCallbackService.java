@@ -0,0 +1,142 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoCreationCallback;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Handles completion notifications pushed by AI providers so finished jobs are finalized as soon as the
+ * provider knows about them, leaving the poller as a slow safety net. Callbacks are authenticated with an
+ * HMAC-SHA256 of the raw body using a shared secret. While {@code video.callbacks.enabled} is off the
+ * endpoint answers 404 as if it did not exist.
+ */
+@Slf4j
+@Service
+public class VideoCallbackService {
+
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final AiVideoProviderFactory aiVideoProviderFactory;
+    private final VideoGenerationJobService jobService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String secret;
+
+    public VideoCallbackService(AiVideoProviderFactory aiVideoProviderFactory,
+                                VideoGenerationJobService jobService,
+                                ObjectMapper objectMapper,
+                                @Value("${video.callbacks.enabled:false}") boolean enabled,
+                                @Value("${video.callbacks.secret:}") String secret) {
+        this.aiVideoProviderFactory = aiVideoProviderFactory;
+        this.jobService = jobService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.secret = secret;
+    }
+
+    public CallbackOutcome handleCallback(String providerName, String signature, String rawBody) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Video callbacks are not enabled");
+        }
+        VideoProviderType providerType = resolveProviderType(providerName);
+        verifySignature(signature, rawBody);
+
+        AiVideoProvider provider = aiVideoProviderFactory.getProvider(providerType);
+        VideoCreationCallback callback = provider.parseCompletionCallback(readPayload(rawBody))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Callback payload does not identify a video creation"));
+
+        List<VideoGenerationJob> jobs = jobService.getJobsByCreationId(callback.creationId());
+        if (jobs.isEmpty()) {
+            log.warn("Received {} callback for unknown creation {}", providerType, callback.creationId());
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No job found for creation " + callback.creationId());
+        }
+
+        if (callback.isCompleted()) {
+            for (VideoGenerationJob job : jobs) {
+                log.info("Provider {} reported job {} completed via callback", providerType, job.getId());
+                jobService.completeJob(job.getId(), callback.videoUrl());
+            }
+            return CallbackOutcome.COMPLETED;
+        }
+        if (callback.isFailed()) {
+            for (VideoGenerationJob job : jobs) {
+                log.info("Provider {} reported job {} failed via callback", providerType, job.getId());
+                jobService.failCreation(job.getId(), "Video generation failed on " + providerType + " side");
+            }
+            return CallbackOutcome.FAILED;
+        }
+
+        log.debug("Ignoring {} callback for creation {} with status {}", providerType, callback.creationId(), callback.status());
+        return CallbackOutcome.IGNORED;
+    }
+
+    private VideoProviderType resolveProviderType(String providerName) {
+        try {
+            return VideoProviderType.valueOf(providerName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown video provider: " + providerName);
+        }
+    }
+
+    private void verifySignature(String signature, String rawBody) {
+        if (!StringUtils.hasText(secret)) {
+            log.warn("Rejecting video callback because video.callbacks.secret is not configured");
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Video callbacks have no secret configured");
+        }
+        if (!StringUtils.hasText(signature)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing callback signature");
+        }
+
+        String provided = signature.startsWith(SIGNATURE_PREFIX) ? signature.substring(SIGNATURE_PREFIX.length()) : signature;
+        byte[] expected = sign(rawBody).getBytes(StandardCharsets.US_ASCII);
+        // Constant-time comparison so the signature cannot be guessed byte by byte
+        if (!MessageDigest.isEqual(expected, provided.toLowerCase().getBytes(StandardCharsets.US_ASCII))) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid callback signature");
+        }
+    }
+
+    String sign(String rawBody) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(rawBody.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private Map<String, Object> readPayload(String rawBody) {
+        try {
+            return objectMapper.readValue(rawBody, MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Callback body is not valid JSON");
+        }
+    }
+
+    public enum CallbackOutcome {
+        COMPLETED,
+        FAILED,
+        IGNORED
+    }
+}
@@ -2,21 +2,29 @@ package com.announcements.AutomateAnnouncements.services;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
 import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
 import com.announcements.AutomateAnnouncements.repositories.VideoGenerationJobRepository;
 import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
 import com.announcements.AutomateAnnouncements.dtos.response.AssetResponseDTO;
 import com.announcements.AutomateAnnouncements.dtos.response.PostDraftResponseDTO;
+import com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatusResponseDTO;
 import com.announcements.AutomateAnnouncements.services.listeners.VideoJobEventPublisher;
 import com.announcements.AutomateAnnouncements.dtos.request.UserPostRequestDTO;
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
 import com.announcements.AutomateAnnouncements.services.TargetAudienceTranslator;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,9 +53,61 @@ public class VideoGenerationJobService {
     @Autowired
     private TargetAudienceTranslator targetAudienceTranslator;
 
+    @Autowired
+    private VideoPollBackoff pollBackoff;
+
+    @Autowired
+    private VideoJobDeadlines jobDeadlines;
+
+    @Value("${video.worker.lease-seconds:120}")
+    private long leaseSeconds;
+
     @Transactional
     public VideoGenerationJob createJob(Integer ownerId, String prompt, String title,
                                       String description, String targets, String style) {
+        VideoGenerationJob savedJob = jobRepository.save(newQueuedJob(ownerId, prompt, title, description, targets, style));
+        log.info("Created video generation job with ID: {}", savedJob.getId());
+
+        return savedJob;
+    }
+
+    /**
+     * Persists a QUEUED job already leased to {@code workerId}, for a caller that submits it to the provider
+     * itself: the submitter leaves it alone while the lease holds, and
+     * {@link #markProcessing(Integer, String, String, VideoProviderType)} records the creation. Should the
+     * caller die first, the job is submitted once the lease expires.
+     */
+    @Transactional
+    public VideoGenerationJob createClaimedJob(Integer ownerId, VideoGenerationRequest request, String workerId) {
+        VideoGenerationJob job = newQueuedJob(ownerId, request.getPrompt(), request.getTitle(),
+                request.getDescription(), request.getTargets(), request.getStyle());
+        job.setClaimedBy(workerId);
+        job.setLeaseExpiresAt(job.getCreatedAt().plusSeconds(leaseSeconds));
+
+        VideoGenerationJob savedJob = jobRepository.save(job);
+        log.info("Created video generation job {} claimed by {}", savedJob.getId(), workerId);
+        return savedJob;
+    }
+
+    /**
+     * Persists a whole campaign of QUEUED jobs in one transaction; with sequence ids the inserts are sent
+     * as JDBC batches instead of one round trip per job.
+     */
+    @Transactional
+    public List<VideoGenerationJob> createJobs(Integer ownerId, List<VideoGenerationRequest> requests) {
+        List<VideoGenerationJob> jobs = requests.stream()
+                .map(request -> newQueuedJob(ownerId, request.getPrompt(), request.getTitle(),
+                        request.getDescription(), request.getTargets(), request.getStyle()))
+                .toList();
+
+        List<VideoGenerationJob> savedJobs = jobRepository.saveAll(jobs);
+        log.info("Created {} video generation jobs for owner {}", savedJobs.size(), ownerId);
+        return savedJobs;
+    }
+
+    private VideoGenerationJob newQueuedJob(Integer ownerId, String prompt, String title,
+                                            String description, String targets, String style) {
+        LocalDateTime now = LocalDateTime.now();
         VideoGenerationJob job = new VideoGenerationJob();
         job.setOwnerId(ownerId);
         job.setPrompt(prompt);
@@ -55,36 +115,53 @@ public class VideoGenerationJobService {
         job.setDescription(description);
         job.setTargets(targets);
         job.setStyle(style);
-        job.setStatus("QUEUED");
-        job.setCreatedAt(LocalDateTime.now());
-        job.setUpdatedAt(LocalDateTime.now());
-
-        VideoGenerationJob savedJob = jobRepository.save(job);
-        log.info("Created video generation job with ID: {}", savedJob.getId());
-
-        return savedJob;
+        job.setStatus(VideoJobStatus.QUEUED);
+        job.setNextPollAt(now);
+        job.setPollAttempts(0);
+        job.setDeadlineAt(jobDeadlines.queuedDeadline(now));
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        return job;
     }
 
+    /**
+     * Records the provider's creation id and moves a job claimed by {@code workerId} to PROCESSING, restarting
+     * its deadline from the provider's timeout. The update only applies while that node still holds the lease,
+     * so a node that re-claimed the job after the lease expired is never overwritten. Returns false when the
+     * job was no longer pending or the lease was lost.
+     */
     @Transactional
-    public void updateJobStatus(Integer jobId, String status, String blotatoCreationId) {
-        Optional<VideoGenerationJob> jobOpt = jobRepository.findById(jobId);
-        if (jobOpt.isPresent()) {
-            VideoGenerationJob job = jobOpt.get();
-            job.setStatus(status);
-            job.setBlotatoCreationId(blotatoCreationId);
-            job.setUpdatedAt(LocalDateTime.now());
-
-            if ("COMPLETED".equals(status)) {
-                job.setCompletedAt(LocalDateTime.now());
-            }
+    public boolean markProcessing(Integer jobId, String workerId, String blotatoCreationId, VideoProviderType providerType) {
+        LocalDateTime now = LocalDateTime.now();
+        // Fresh creations get polled soon, then back off as they age
+        int updated = jobRepository.markClaimedProcessing(jobId, workerId, blotatoCreationId, providerType,
+                jobDeadlines.processingDeadline(providerType, now), pollBackoff.firstPollAt(now), now,
+                VideoJobStatus.PROCESSING.predecessors());
+        if (!logProcessing(jobId, updated)) {
+            return false;
+        }
+        jobRepository.findById(jobId).ifPresent(jobEventPublisher::notifyJobProcessing);
+        return true;
+    }
 
-            jobRepository.save(job);
-            log.info("Updated job {} status to: {}", jobId, status);
+    private boolean logProcessing(Integer jobId, int updated) {
+        if (updated == 0) {
+            log.warn("Job {} could not move to {}: not in {} or leased to another node", jobId,
+                    VideoJobStatus.PROCESSING, VideoJobStatus.PROCESSING.predecessors());
+            return false;
         }
+        log.info("Updated job {} status to: {}", jobId, VideoJobStatus.PROCESSING);
+        return true;
     }
 
     @Transactional
     public void completeJob(Integer jobId, String videoUrl) {
+        // Conditional transition first: the row lock it takes makes any concurrent completion wait and then skip
+        if (jobRepository.markCompleted(jobId, videoUrl, LocalDateTime.now(), VideoJobStatus.COMPLETED.predecessors()) == 0) {
+            log.info("Job {} is no longer pending, skipping completion", jobId);
+            return;
+        }
+
         Optional<VideoGenerationJob> jobOpt = jobRepository.findById(jobId);
         if (jobOpt.isPresent()) {
             VideoGenerationJob job = jobOpt.get();
@@ -134,12 +211,8 @@ public class VideoGenerationJobService {
 
             userPostService.createPost(userProfile, userPostRequestDTO);
 
-            job.setVideoUrl(videoUrl);
             job.setAssetId(asset.getId());
             job.setPostDraftId(postDraft.getId());
-            job.setStatus("COMPLETED");
-            job.setCompletedAt(LocalDateTime.now());
-            job.setUpdatedAt(LocalDateTime.now());
 
             jobRepository.save(job);
             log.info("Completed job {} with video URL: {}", jobId, videoUrl);
@@ -149,28 +222,157 @@ public class VideoGenerationJobService {
 
     @Transactional
     public void failJob(Integer jobId, String errorMessage) {
-        Optional<VideoGenerationJob> jobOpt = jobRepository.findById(jobId);
-        if (jobOpt.isPresent()) {
-            VideoGenerationJob job = jobOpt.get();
-            job.setStatus("FAILED");
-            job.setErrorMessage(errorMessage);
-            job.setUpdatedAt(LocalDateTime.now());
+        fail(jobId, errorMessage).ifPresent(jobEventPublisher::notifyJobFailed);
+    }
 
-            jobRepository.save(job);
-            log.error("Failed job {} with error: {}", jobId, errorMessage);
+    /**
+     * Fails a job because the provider reported its creation as failed, which also tells listeners the
+     * creation is gone for every job attached to it.
+     */
+    @Transactional
+    public void failCreation(Integer jobId, String errorMessage) {
+        fail(jobId, errorMessage).ifPresent(job -> {
             jobEventPublisher.notifyJobFailed(job);
+            jobEventPublisher.notifyCreationFailed(job);
+        });
+    }
+
+    private Optional<VideoGenerationJob> fail(Integer jobId, String errorMessage) {
+        if (jobRepository.markFailed(jobId, errorMessage, LocalDateTime.now(), VideoJobStatus.FAILED.predecessors()) == 0) {
+            log.warn("Ignoring failure for job {} which is no longer pending: {}", jobId, errorMessage);
+            return Optional.empty();
         }
+
+        log.error("Failed job {} with error: {}", jobId, errorMessage);
+        return jobRepository.findById(jobId);
+    }
+
+    /**
+     * Fails up to {@code limit} pending jobs whose deadline has passed with a single UPDATE and returns
+     * them so the caller can notify listeners once the transaction has committed.
+     */
+    @Transactional
+    public List<VideoGenerationJob> timeOutExpiredJobs(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> jobIds = jobRepository.lockExpiredJobIds(
+                VideoJobStatus.PENDING.stream().map(Enum::name).toList(), now, limit);
+        if (jobIds.isEmpty()) {
+            return List.of();
+        }
+
+        jobRepository.markAllFailed(jobIds, "Timed out waiting for the video provider", now,
+                VideoJobStatus.FAILED.predecessors());
+        return jobRepository.findAllById(jobIds);
+    }
+
+    /**
+     * Gives up to {@code limit} pending jobs persisted before jobs had deadlines one, counted from their
+     * creation, so the reaper can time them out. Returns how many were updated; call until it returns 0.
+     */
+    @Transactional
+    public int backfillMissingDeadlines(int limit) {
+        List<VideoGenerationJob> jobs = jobRepository.findPendingWithoutDeadline(VideoJobStatus.PENDING,
+                PageRequest.of(0, limit));
+        jobs.forEach(job -> jobRepository.setMissingDeadline(job.getId(), jobDeadlines.missingDeadline(job)));
+        return jobs.size();
     }
 
     public List<VideoGenerationJob> getPendingJobs() {
-        return jobRepository.findPendingJobs(Arrays.asList("QUEUED", "PROCESSING"));
+        return jobRepository.findPendingJobs(VideoJobStatus.PENDING);
+    }
+
+    /**
+     * Leases up to {@code limit} due jobs in the given statuses to {@code workerId} and returns them. Jobs
+     * leased by other nodes are not returned until their lease expires, so each job is handled by a single node.
+     */
+    @Transactional
+    public List<VideoGenerationJob> claimDueJobs(String workerId, List<VideoJobStatus> statuses, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        // Row locks from the SELECT ... FOR UPDATE SKIP LOCKED are held until this transaction commits the lease
+        List<Integer> jobIds = jobRepository.lockDueJobIds(statuses.stream().map(Enum::name).toList(), now, limit);
+        if (jobIds.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        jobRepository.claimJobs(jobIds, workerId, leaseUntil);
+        log.debug("Worker {} claimed {} jobs until {}", workerId, jobIds.size(), leaseUntil);
+        return jobRepository.findAllById(jobIds);
+    }
+
+    /**
+     * Extends the lease of those of {@code jobIds} that {@code workerId} still holds, for work that may
+     * outlast a single lease.
+     */
+    @Transactional
+    public int renewLeases(String workerId, List<Integer> jobIds) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plusSeconds(leaseSeconds);
+        int renewed = jobRepository.renewLeases(jobIds, workerId, leaseUntil);
+        log.debug("Worker {} renewed {} leases until {}", workerId, renewed, leaseUntil);
+        return renewed;
+    }
+
+    public Duration getLeaseDuration() {
+        return Duration.ofSeconds(leaseSeconds);
+    }
+
+    /**
+     * Pushes the next poll of a job that is still processing further out using exponential backoff.
+     */
+    @Transactional
+    public void scheduleNextPoll(VideoGenerationJob job) {
+        int attempts = job.getPollAttempts() != null ? job.getPollAttempts() + 1 : 1;
+        LocalDateTime nextPollAt = pollBackoff.nextPollAt(LocalDateTime.now(), attempts);
+        jobRepository.updatePollSchedule(job.getId(), nextPollAt, attempts);
+        log.debug("Job {} polled {} times, next poll at {}", job.getId(), attempts, nextPollAt);
+    }
+
+    /**
+     * Releases a claimed job without counting a poll so it is picked up again after {@code delay}, used when
+     * the provider rejected the call before doing any work.
+     */
+    @Transactional
+    public void deferJob(VideoGenerationJob job, Duration delay) {
+        int attempts = job.getPollAttempts() != null ? job.getPollAttempts() : 0;
+        jobRepository.updatePollSchedule(job.getId(), LocalDateTime.now().plus(delay), attempts);
+        log.debug("Job {} deferred for {} ms", job.getId(), delay.toMillis());
+    }
+
+    /**
+     * Jobs of {@code ownerIds} whose state changed at or after {@code since}, oldest change first.
+     */
+    public List<VideoGenerationJob> getJobsUpdatedSince(Collection<Integer> ownerIds, LocalDateTime since) {
+        return jobRepository.findUpdatedSince(ownerIds, since);
+    }
+
+    public List<VideoGenerationJob> getJobsByCreationId(String creationId) {
+        return jobRepository.findAllByBlotatoCreationId(creationId);
     }
 
     public Optional<VideoGenerationJob> getJobById(Integer jobId) {
         return jobRepository.findById(jobId);
     }
 
-    public List<VideoGenerationJob> getJobsByOwner(Integer ownerId) {
-        return jobRepository.findByOwnerId(ownerId);
+    /**
+     * Statuses of the given jobs that belong to {@code ownerId}, in one query; ids of other owners' jobs or
+     * unknown ids are left out of the result.
+     */
+    public List<VideoJobStatusResponseDTO> getJobStatuses(Integer ownerId, Collection<Integer> jobIds) {
+        if (jobIds.isEmpty()) {
+            return List.of();
+        }
+        return jobRepository.findStatusViewsByIds(jobIds, ownerId);
+    }
+
+    /**
+     * One page of the owner's jobs, newest first, optionally restricted to some statuses. Uses a slice
+     * instead of a page so no count query is issued.
+     */
+    public Slice<VideoJobStatusResponseDTO> getJobStatusesByOwner(Integer ownerId, Collection<VideoJobStatus> statuses,
+                                                                  int page, int size) {
+        Collection<VideoJobStatus> filter = statuses == null || statuses.isEmpty()
+                ? List.of(VideoJobStatus.values())
+                : statuses;
+        return jobRepository.findStatusViewsByOwner(ownerId, filter, PageRequest.of(page, size));
     }
 }
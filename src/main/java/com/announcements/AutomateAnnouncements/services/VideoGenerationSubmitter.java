@@ -0,0 +1,155 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.ProviderUnavailableException;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderRateLimiters;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background stage that hands QUEUED jobs to the async provider, or to the one the router picks. Requests
+ * only persist the job, so a slow or retrying provider never holds an HTTP thread; submissions fan out with
+ * bounded concurrency and successful ones move the job to PROCESSING for the poller. Claims are sized to the
+ * submit concurrency and the providers' free rate-limit tokens, so jobs over quota wait in QUEUED rather than
+ * being claimed and refused, and no claimed job waits for a free submit thread. The lease is renewed while
+ * submissions are in flight, and a job only moves to PROCESSING while this node still holds its lease.
+ * Jobs whose prompt and style were already generated, or are being generated, are served by the
+ * {@link VideoResultCache} instead of a new creation.
+ */
+@Slf4j
+@Service
+public class VideoGenerationSubmitter {
+
+    private final VideoGenerationJobService jobService;
+    private final AiVideoProviderFactory aiVideoProviderFactory;
+    private final VideoProviderRateLimiters rateLimiters;
+    private final VideoResultCache resultCache;
+    private final TaskExecutor submitExecutor;
+    private final String workerId;
+    private final int batchSize;
+    private final int submitConcurrency;
+
+    public VideoGenerationSubmitter(VideoGenerationJobService jobService,
+                                    AiVideoProviderFactory aiVideoProviderFactory,
+                                    VideoProviderRateLimiters rateLimiters,
+                                    VideoResultCache resultCache,
+                                    @Qualifier("videoSubmitExecutor") TaskExecutor submitExecutor,
+                                    WorkerNodeRegistry nodes,
+                                    @Value("${video.submitter.batch-size:100}") int batchSize,
+                                    @Value("${video.submitter.concurrency:8}") int submitConcurrency) {
+        this.jobService = jobService;
+        this.aiVideoProviderFactory = aiVideoProviderFactory;
+        this.rateLimiters = rateLimiters;
+        this.resultCache = resultCache;
+        this.submitExecutor = submitExecutor;
+        this.workerId = nodes.getNodeId();
+        this.batchSize = batchSize;
+        this.submitConcurrency = submitConcurrency;
+    }
+
+    @Scheduled(fixedDelayString = "${video.submitter.tick-ms:1000}")
+    public void submitQueuedJobs() {
+        long permits = aiVideoProviderFactory.getCreationProviders().stream()
+                .mapToLong(provider -> rateLimiters.forProvider(provider.getType()).availablePermits())
+                .sum();
+        if (permits == 0) {
+            return;
+        }
+
+        List<VideoGenerationJob> queuedJobs = jobService.claimDueJobs(workerId, List.of(VideoJobStatus.QUEUED),
+                (int) Math.min(Math.min(batchSize, submitConcurrency), permits));
+        if (queuedJobs.isEmpty()) {
+            return;
+        }
+
+        log.info("Submitter {} claimed {} queued jobs", workerId, queuedJobs.size());
+
+        CompletableFuture<?>[] submissions = queuedJobs.stream()
+                .map(job -> CompletableFuture.runAsync(() -> submit(job), submitExecutor))
+                .toArray(CompletableFuture[]::new);
+
+        // A slow provider call with retries can outlast one lease; keep renewing it until the batch is done
+        List<Integer> jobIds = queuedJobs.stream().map(VideoGenerationJob::getId).toList();
+        Duration renewEvery = jobService.getLeaseDuration().dividedBy(3);
+        CompletableFuture<Void> batch = CompletableFuture.allOf(submissions);
+        while (!awaitBatch(batch, renewEvery)) {
+            jobService.renewLeases(workerId, jobIds);
+        }
+    }
+
+    private static boolean awaitBatch(CompletableFuture<Void> batch, Duration timeout) {
+        try {
+            batch.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    private void submit(VideoGenerationJob job) {
+        try {
+            AiVideoProvider provider = aiVideoProviderFactory.getCreationProvider();
+            VideoResultCache.Reservation reservation = resultCache.reserve(provider.getType(), job.getPrompt(), job.getStyle());
+            switch (reservation.outcome()) {
+                case CACHED -> {
+                    log.info("Completing job {} from the result cache", job.getId());
+                    jobService.completeJob(job.getId(), reservation.videoUrl());
+                    return;
+                }
+                case IN_FLIGHT -> {
+                    log.info("Attaching job {} to {} creation {}", job.getId(), reservation.provider(), reservation.creationId());
+                    jobService.markProcessing(job.getId(), workerId, reservation.creationId(), reservation.provider());
+                    return;
+                }
+                case PENDING -> {
+                    // The submission that reserved the key records its creation id shortly
+                    jobService.deferJob(job, resultCache.getPendingRetry());
+                    return;
+                }
+                default -> {
+                }
+            }
+
+            String creationId;
+            try {
+                creationId = provider.requestVideoCreation(job.getPrompt(), job.getStyle());
+            } catch (RuntimeException e) {
+                resultCache.release(reservation);
+                throw e;
+            }
+            resultCache.recordCreation(reservation, creationId);
+            if (!jobService.markProcessing(job.getId(), workerId, creationId, provider.getType())) {
+                // The creation is in the result cache, so the node that took the job over attaches to it
+                log.warn("Lost the lease on job {} while submitting it; creation {} is left to the new owner",
+                        job.getId(), creationId);
+            }
+        } catch (ProviderUnavailableException e) {
+            // Nothing reached the provider; keep the job queued until it accepts calls again
+            log.warn("Deferring job {}: {}", job.getId(), e.getMessage());
+            jobService.deferJob(job, e.getRetryAfter());
+        } catch (Exception e) {
+            log.error("Failed to submit job {} to provider: {}", job.getId(), e.getMessage());
+            jobService.failJob(job.getId(), e.getMessage());
+        }
+    }
+}
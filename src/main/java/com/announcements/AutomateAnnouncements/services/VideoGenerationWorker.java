@@ -2,69 +2,149 @@ package com.announcements.AutomateAnnouncements.services;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.VideoCreationFailedException;
 import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
 import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.ProviderUnavailableException;
+import com.announcements.AutomateAnnouncements.integration.provider.ReactiveAiVideoProvider;
 
 import java.util.List;
+import java.util.Optional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @Service
 public class VideoGenerationWorker {
 
-    @Autowired
-    private VideoGenerationJobService jobService;
+    private final VideoGenerationJobService jobService;
+    private final AiVideoProviderFactory aiVideoProviderFactory;
+    private final int pollConcurrency;
+    private final Scheduler completionScheduler;
+    private final String workerId;
+    private final int batchSize;
 
     @Autowired
-    private AiVideoProviderFactory aiVideoProviderFactory;
+    public VideoGenerationWorker(VideoGenerationJobService jobService,
+                                 AiVideoProviderFactory aiVideoProviderFactory,
+                                 @Value("${video.worker.poll-concurrency:32}") int pollConcurrency,
+                                 @Qualifier("videoCompletionExecutor") TaskExecutor completionExecutor,
+                                 WorkerNodeRegistry nodes,
+                                 @Value("${video.worker.batch-size:500}") int batchSize) {
+        this(jobService, aiVideoProviderFactory, pollConcurrency, completionExecutor, nodes.getNodeId(), batchSize);
+    }
 
-    // Run every 30 seconds
-    @Scheduled(fixedRate = 30000)
+    VideoGenerationWorker(VideoGenerationJobService jobService,
+                          AiVideoProviderFactory aiVideoProviderFactory,
+                          int pollConcurrency,
+                          TaskExecutor completionExecutor,
+                          String workerId,
+                          int batchSize) {
+        this.workerId = workerId;
+        this.batchSize = batchSize;
+        this.jobService = jobService;
+        this.aiVideoProviderFactory = aiVideoProviderFactory;
+        this.pollConcurrency = pollConcurrency;
+        this.completionScheduler = Schedulers.fromExecutor(completionExecutor);
+    }
+
+    // Ticks frequently; each job carries its own backoff schedule so only due jobs are selected
+    @Scheduled(fixedDelayString = "${video.worker.tick-ms:5000}")
     public void processPendingJobs() {
         log.debug("Checking for pending video generation jobs...");
 
-        List<VideoGenerationJob> pendingJobs = jobService.getPendingJobs();
+        List<VideoGenerationJob> pendingJobs = jobService.claimDueJobs(workerId, List.of(VideoJobStatus.PROCESSING), batchSize);
 
         if (pendingJobs.isEmpty()) {
             log.debug("No pending jobs found");
             return;
         }
 
-        log.info("Found {} pending jobs to process", pendingJobs.size());
+        log.info("Worker {} claimed {} pending jobs to process", workerId, pendingJobs.size());
 
-        for (VideoGenerationJob job : pendingJobs) {
-            try {
-                processJob(job);
-            } catch (Exception e) {
-                log.error("Failed to process job {}: {}", job.getId(), e.getMessage());
-                jobService.failJob(job.getId(), e.getMessage());
-            }
-        }
+        long startedAt = System.nanoTime();
+
+        // Status checks are non-blocking and capped at the poll concurrency; applying a result touches the
+        // database and hops onto the bounded completion executor. The cap keeps in-flight completions well
+        // below the completion queue, so they never fall back to running on a provider's I/O thread.
+        Long completed = Flux.fromIterable(pendingJobs)
+                .flatMap(job -> ReactiveAiVideoProvider.optional(fetchVideoUrl(job))
+                                .map(videoUrl -> new PollResult(job, videoUrl, null))
+                                .onErrorResume(error -> Mono.just(new PollResult(job, null, error)))
+                                .publishOn(completionScheduler)
+                                .map(result -> applyPollResult(result.job(), result.videoUrl(), result.error())),
+                        pollConcurrency)
+                .filter(Boolean::booleanValue)
+                .count()
+                // Wait for the whole cycle so scheduled runs never overlap
+                .block();
+
+        log.info("Processed {} pending jobs in {} ms ({} completed)",
+                pendingJobs.size(), (System.nanoTime() - startedAt) / 1_000_000, completed);
+    }
+
+    public String getWorkerId() {
+        return workerId;
     }
 
-    private void processJob(VideoGenerationJob job) {
-        log.info("Processing job {} with creation ID: {}", job.getId(), job.getBlotatoCreationId());
+    private Mono<String> fetchVideoUrl(VideoGenerationJob job) {
+        log.debug("Processing job {} with creation ID: {}", job.getId(), job.getBlotatoCreationId());
 
         String creationId = job.getBlotatoCreationId();
         if (creationId == null || creationId.isBlank()) {
             log.error("Job {} does not have a valid Blotato creation ID. Marking job as failed.", job.getId());
-            jobService.failJob(job.getId(), "Missing Blotato creation ID");
-            return;
+            return Mono.error(new IllegalStateException("Missing Blotato creation ID"));
+        }
+
+        // Poll the provider that accepted the creation, which routing may have chosen
+        AiVideoProvider provider = aiVideoProviderFactory.getPollingProvider(job.getProvider());
+        return Mono.defer(() -> provider.reactive().fetchVideoUrl(creationId));
+    }
+
+    private boolean applyPollResult(VideoGenerationJob job, Optional<String> videoUrl, Throwable error) {
+        if (error != null) {
+            if (error instanceof ProviderUnavailableException unavailable) {
+                log.debug("Deferring job {}: {}", job.getId(), unavailable.getMessage());
+                jobService.deferJob(job, unavailable.getRetryAfter());
+                return false;
+            }
+            log.error("Failed to process job {}: {}", job.getId(), error.getMessage());
+            if (error instanceof VideoCreationFailedException) {
+                jobService.failCreation(job.getId(), error.getMessage());
+            } else {
+                jobService.failJob(job.getId(), error.getMessage());
+            }
+            return false;
         }
 
-        AiVideoProvider provider = aiVideoProviderFactory.getAsyncProvider();
-        String videoUrl = provider.fetchVideoUrl(creationId).orElse(null);
+        try {
+            if (videoUrl.isPresent()) {
+                // Video is ready
+                log.info("Video for job {} is ready: {}", job.getId(), videoUrl.get());
+                jobService.completeJob(job.getId(), videoUrl.get());
+                return true;
+            }
 
-        if (videoUrl != null) {
-            // Video is ready
-            log.info("Video for job {} is ready: {}", job.getId(), videoUrl);
-            jobService.completeJob(job.getId(), videoUrl);
-        } else {
             // Still processing
             log.debug("Video for job {} still processing", job.getId());
+            jobService.scheduleNextPoll(job);
+        } catch (Exception e) {
+            log.error("Failed to process job {}: {}", job.getId(), e.getMessage());
+            jobService.failJob(job.getId(), e.getMessage());
         }
+        return false;
+    }
+
+    private record PollResult(VideoGenerationJob job, Optional<String> videoUrl, Throwable error) {
     }
 }
@@ -0,0 +1,61 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+
+/**
+ * Computes the deadline after which a pending video job is timed out by {@link VideoJobReaper}. QUEUED
+ * jobs get the queue timeout; once handed to a provider the deadline is reset from that provider's
+ * {@code video.jobs.deadline-minutes.<provider>} setting, falling back to the default.
+ */
+@Component
+public class VideoJobDeadlines {
+
+    private final Duration queueTimeout;
+    private final Duration defaultTimeout;
+    private final Map<VideoProviderType, Duration> providerTimeouts = new EnumMap<>(VideoProviderType.class);
+
+    public VideoJobDeadlines(Environment environment,
+                             @Value("${video.jobs.queue-timeout-minutes:30}") long queueTimeoutMinutes,
+                             @Value("${video.jobs.deadline-minutes.default:60}") long defaultDeadlineMinutes) {
+        if (queueTimeoutMinutes <= 0 || defaultDeadlineMinutes <= 0) {
+            throw new IllegalArgumentException("Video job deadlines must be positive");
+        }
+        this.queueTimeout = Duration.ofMinutes(queueTimeoutMinutes);
+        this.defaultTimeout = Duration.ofMinutes(defaultDeadlineMinutes);
+        for (VideoProviderType type : VideoProviderType.values()) {
+            long minutes = environment.getProperty("video.jobs.deadline-minutes." + type.name().toLowerCase(),
+                    Long.class, defaultDeadlineMinutes);
+            providerTimeouts.put(type, Duration.ofMinutes(minutes));
+        }
+    }
+
+    public LocalDateTime queuedDeadline(LocalDateTime now) {
+        return now.plus(queueTimeout);
+    }
+
+    public LocalDateTime processingDeadline(VideoProviderType providerType, LocalDateTime now) {
+        return now.plus(providerTimeouts.get(providerType));
+    }
+
+    /**
+     * Deadline of a pending job that was persisted without one, counted from when it was created. A
+     * PROCESSING job with no provider recorded gets the default timeout.
+     */
+    public LocalDateTime missingDeadline(VideoGenerationJob job) {
+        LocalDateTime since = job.getCreatedAt() != null ? job.getCreatedAt() : LocalDateTime.now();
+        if (job.getStatus() == VideoJobStatus.QUEUED) {
+            return queuedDeadline(since);
+        }
+        return job.getProvider() != null ? processingDeadline(job.getProvider(), since) : since.plus(defaultTimeout);
+    }
+}
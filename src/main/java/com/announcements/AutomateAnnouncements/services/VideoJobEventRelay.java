@@ -0,0 +1,54 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delivers job changes committed by other nodes to the event streams open on this one. Listeners only
+ * see the transitions this node makes, so every {@code video.events.relay-ms} the recently changed jobs of
+ * owners with an open stream are read back and published; the hub drops states it already sent. Each read
+ * reaches {@code video.events.relay-lookback-seconds} behind the previous one, so a change that committed
+ * late or was stamped by a node whose clock runs behind is still picked up.
+ */
+@Slf4j
+@Service
+public class VideoJobEventRelay {
+
+    private final VideoGenerationJobService jobService;
+    private final VideoJobSubscriptionHub subscriptionHub;
+    private final Duration lookback;
+    private volatile LocalDateTime lastRelayAt;
+
+    public VideoJobEventRelay(VideoGenerationJobService jobService,
+                              VideoJobSubscriptionHub subscriptionHub,
+                              @Value("${video.events.relay-lookback-seconds:30}") long lookbackSeconds) {
+        this.jobService = jobService;
+        this.subscriptionHub = subscriptionHub;
+        this.lookback = Duration.ofSeconds(lookbackSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${video.events.relay-ms:5000}")
+    public int relayRecentChanges() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = (lastRelayAt != null ? lastRelayAt : now).minus(lookback);
+        lastRelayAt = now;
+
+        Set<Integer> ownerIds = subscriptionHub.getSubscribedOwnerIds();
+        if (ownerIds.isEmpty()) {
+            return 0;
+        }
+        List<VideoGenerationJob> changed = jobService.getJobsUpdatedSince(ownerIds, since);
+        changed.forEach(subscriptionHub::publish);
+        log.debug("Relayed {} job changes to streams of {} owners", changed.size(), ownerIds.size());
+        return changed.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.services.listeners.VideoJobEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background stage that fails pending jobs whose provider never reported a result before the job's
+ * deadline, so the poller's pending set stays bounded. Each batch is timed out with one UPDATE and
+ * listeners are notified after it commits. Pending jobs persisted before jobs had deadlines get one from
+ * their creation time at startup.
+ */
+@Slf4j
+@Service
+public class VideoJobReaper {
+
+    private final VideoGenerationJobService jobService;
+    private final VideoJobEventPublisher jobEventPublisher;
+    private final int batchSize;
+    private final AtomicLong reapedCount = new AtomicLong();
+
+    public VideoJobReaper(VideoGenerationJobService jobService,
+                          VideoJobEventPublisher jobEventPublisher,
+                          @Value("${video.reaper.batch-size:1000}") int batchSize) {
+        this.jobService = jobService;
+        this.jobEventPublisher = jobEventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfillMissingDeadlines() {
+        int backfilled = 0;
+        int batch;
+        while ((batch = jobService.backfillMissingDeadlines(batchSize)) > 0) {
+            backfilled += batch;
+        }
+        if (backfilled > 0) {
+            log.info("Gave {} pending video jobs without a deadline one from their creation time", backfilled);
+        }
+        return backfilled;
+    }
+
+    @Scheduled(fixedDelayString = "${video.reaper.tick-ms:60000}")
+    public int reapExpiredJobs() {
+        List<VideoGenerationJob> reaped = jobService.timeOutExpiredJobs(batchSize);
+        if (reaped.isEmpty()) {
+            return 0;
+        }
+
+        reapedCount.addAndGet(reaped.size());
+        log.warn("Timed out {} video jobs past their deadline", reaped.size());
+        reaped.forEach(job -> {
+            try {
+                jobEventPublisher.notifyJobFailed(job);
+            } catch (Exception e) {
+                log.error("Failed to notify listeners about timed out job {}: {}", job.getId(), e.getMessage());
+            }
+        });
+        return reaped.size();
+    }
+
+    /**
+     * Total number of jobs this node has timed out since startup.
+     */
+    public long getReapedCount() {
+        return reapedCount.get();
+    }
+}
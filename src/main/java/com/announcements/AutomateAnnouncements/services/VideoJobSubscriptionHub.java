@@ -0,0 +1,251 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatusResponseDTO;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * In-memory, per-owner registry of Server-Sent Event subscriptions to video job state changes.
+ * Publishing never blocks the caller: events go into a small per-subscription buffer drained on the
+ * event executor, and a subscriber whose buffer overflows, whose drain the executor refuses or whose
+ * send stalls longer than {@code video.events.send-timeout-ms} is disconnected so it reconnects and
+ * receives a fresh snapshot. Changes committed by other nodes arrive through {@link VideoJobEventRelay},
+ * so the same state of a job may be published twice; each subscription sends it once.
+ */
+@Slf4j
+@Component
+public class VideoJobSubscriptionHub {
+
+    static final String STATUS_EVENT = "job-status";
+
+    private final Map<Integer, Set<Subscription>> subscriptionsByOwner = new ConcurrentHashMap<>();
+    private final TaskExecutor eventExecutor;
+    private final int bufferSize;
+    private final int maxSubscriptionsPerOwner;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+
+    public VideoJobSubscriptionHub(@Qualifier("videoEventExecutor") TaskExecutor eventExecutor,
+                                   @Value("${video.events.buffer-size:32}") int bufferSize,
+                                   @Value("${video.events.max-subscriptions-per-owner:10}") int maxSubscriptionsPerOwner,
+                                   @Value("${video.events.timeout-ms:1800000}") long timeoutMillis,
+                                   @Value("${video.events.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.eventExecutor = eventExecutor;
+        this.bufferSize = bufferSize;
+        this.maxSubscriptionsPerOwner = maxSubscriptionsPerOwner;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+    }
+
+    /**
+     * Opens a stream of the owner's job events. When {@code jobId} is set only that job's events are sent
+     * and the stream completes after its terminal state. The {@code snapshot} is read once the subscription
+     * is registered and, when it returns a job, sent first; a transition that lands around subscribing is
+     * then either in the snapshot or published to the stream, never lost.
+     */
+    public SseEmitter subscribe(Integer ownerId, Integer jobId, Supplier<VideoGenerationJob> snapshot) {
+        Subscription subscription = new Subscription(ownerId, jobId, new SseEmitter(timeoutMillis), bufferSize);
+        // Check and add under the map's lock for the owner, so concurrent requests cannot exceed the cap
+        subscriptionsByOwner.compute(ownerId, (id, subscriptions) -> {
+            Set<Subscription> owned = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            if (owned.size() >= maxSubscriptionsPerOwner) {
+                throw new IllegalStateException("Too many open job event streams for owner " + ownerId);
+            }
+            owned.add(subscription);
+            return owned;
+        });
+        subscription.emitter.onCompletion(() -> remove(subscription));
+        subscription.emitter.onTimeout(() -> remove(subscription));
+        subscription.emitter.onError(error -> remove(subscription));
+
+        VideoGenerationJob job = snapshot.get();
+        // A terminal event published meanwhile is newer than anything the snapshot can show
+        if (job != null && !subscription.completeWhenDrained) {
+            send(subscription, job);
+        }
+        return subscription.emitter;
+    }
+
+    public void publish(VideoGenerationJob job) {
+        Set<Subscription> subscriptions = subscriptionsByOwner.get(job.getOwnerId());
+        if (subscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.jobId == null || subscription.jobId.equals(job.getId())) {
+                send(subscription, job);
+            }
+        }
+    }
+
+    /**
+     * Owners with at least one open stream.
+     */
+    public Set<Integer> getSubscribedOwnerIds() {
+        return Set.copyOf(subscriptionsByOwner.keySet());
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${video.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        long now = System.nanoTime();
+        subscriptionsByOwner.values().forEach(subscriptions -> subscriptions.forEach(subscription -> {
+            long sendingSince = subscription.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutNanos) {
+                // The stuck send holds the emitter's lock; the drain completes the stream once it returns
+                log.debug("Job event send stalled for owner {}, dropping subscription", subscription.ownerId);
+                remove(subscription);
+            } else {
+                enqueue(subscription, SseEmitter.event().comment("heartbeat"), false);
+            }
+        }));
+    }
+
+    /**
+     * Ends open streams before the web server's graceful shutdown, which would otherwise wait for them.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        subscriptionsByOwner.values().forEach(subscriptions -> subscriptions.forEach(this::close));
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptionsByOwner.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Skips a state this subscription already sent, or one older than it
+    private void send(Subscription subscription, VideoGenerationJob job) {
+        synchronized (subscription) {
+            SentState sent = subscription.sentStates.get(job.getId());
+            if (sent != null && !sent.isOlderThan(job)) {
+                return;
+            }
+            subscription.sentStates.put(job.getId(), new SentState(job.getStatus(), job.getUpdatedAt()));
+            enqueue(subscription, statusEvent(job), subscription.jobId != null && job.getStatus().isTerminal());
+        }
+    }
+
+    private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event, boolean last) {
+        if (subscription.closed) {
+            return;
+        }
+        if (!subscription.buffer.offer(event)) {
+            log.debug("Event buffer full for owner {}, closing subscription", subscription.ownerId);
+            close(subscription);
+            return;
+        }
+        if (last) {
+            subscription.completeWhenDrained = true;
+        }
+        scheduleDrain(subscription);
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            try {
+                eventExecutor.execute(() -> drain(subscription));
+            } catch (TaskRejectedException e) {
+                // Dispatch is saturated; this subscriber reconnects rather than queueing without bound
+                log.debug("Job event dispatch saturated, closing subscription for owner {}", subscription.ownerId);
+                subscription.draining.set(false);
+                close(subscription);
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscription.closed && (event = subscription.buffer.poll()) != null) {
+                subscription.sendingSince = System.nanoTime();
+                subscription.emitter.send(event);
+                subscription.sendingSince = 0;
+            }
+            if (subscription.closed || subscription.completeWhenDrained && subscription.buffer.isEmpty()) {
+                close(subscription);
+            }
+        } catch (Exception e) {
+            log.debug("Dropping job event subscription for owner {}: {}", subscription.ownerId, e.getMessage());
+            subscription.emitter.completeWithError(e);
+            remove(subscription);
+        } finally {
+            subscription.sendingSince = 0;
+            subscription.draining.set(false);
+            // An event may have been enqueued after the last poll but before the flag was cleared
+            if (!subscription.closed && !subscription.buffer.isEmpty()) {
+                scheduleDrain(subscription);
+            }
+        }
+    }
+
+    private void close(Subscription subscription) {
+        remove(subscription);
+        subscription.emitter.complete();
+    }
+
+    private void remove(Subscription subscription) {
+        subscription.closed = true;
+        subscription.buffer.clear();
+        subscriptionsByOwner.computeIfPresent(subscription.ownerId, (ownerId, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder statusEvent(VideoGenerationJob job) {
+        return SseEmitter.event().name(STATUS_EVENT).id(String.valueOf(job.getId()))
+                .data(VideoJobStatusResponseDTO.from(job));
+    }
+
+    private record SentState(VideoJobStatus status, LocalDateTime updatedAt) {
+
+        boolean isOlderThan(VideoGenerationJob job) {
+            return status != job.getStatus()
+                    && (updatedAt == null || job.getUpdatedAt() == null || !job.getUpdatedAt().isBefore(updatedAt));
+        }
+    }
+
+    private static final class Subscription {
+
+        private final Integer ownerId;
+        private final Integer jobId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final Map<Integer, SentState> sentStates = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean completeWhenDrained;
+        private volatile boolean closed;
+        // System.nanoTime() when the send in progress started, 0 when none is
+        private volatile long sendingSince;
+
+        private Subscription(Integer ownerId, Integer jobId, SseEmitter emitter, int bufferSize) {
+            this.ownerId = ownerId;
+            this.jobId = jobId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
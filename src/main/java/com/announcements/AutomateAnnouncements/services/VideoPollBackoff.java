@@ -0,0 +1,70 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes when a pending video job should next be polled. Delays grow exponentially with the
+ * number of polls already made (capped at a maximum) and are jittered so jobs created together
+ * do not keep hitting the provider in lockstep. When providers push completion callbacks, polling
+ * is only a safety net and every delay is raised to at least the safety-net interval.
+ */
+@Component
+public class VideoPollBackoff {
+
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final double jitter;
+
+    public VideoPollBackoff(@Value("${video.worker.poll.initial-delay-seconds:10}") long initialDelaySeconds,
+                            @Value("${video.worker.poll.max-delay-seconds:300}") long maxDelaySeconds,
+                            @Value("${video.worker.poll.jitter:0.2}") double jitter,
+                            @Value("${video.callbacks.enabled:false}") boolean callbacksEnabled,
+                            @Value("${video.callbacks.safety-net-delay-seconds:900}") long safetyNetDelaySeconds) {
+        if (initialDelaySeconds <= 0 || maxDelaySeconds < initialDelaySeconds) {
+            throw new IllegalArgumentException("Poll delays must be positive and max >= initial");
+        }
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Poll jitter must be in [0, 1)");
+        }
+        if (callbacksEnabled) {
+            initialDelaySeconds = Math.max(initialDelaySeconds, safetyNetDelaySeconds);
+            maxDelaySeconds = Math.max(maxDelaySeconds, safetyNetDelaySeconds);
+        }
+        this.initialDelay = Duration.ofSeconds(initialDelaySeconds);
+        this.maxDelay = Duration.ofSeconds(maxDelaySeconds);
+        this.jitter = jitter;
+    }
+
+    /**
+     * Time of the first poll for a job that was just handed to the provider.
+     */
+    public LocalDateTime firstPollAt(LocalDateTime now) {
+        return now.plus(jittered(initialDelay));
+    }
+
+    /**
+     * Time of the next poll for a job that has already been polled {@code attempts} times.
+     */
+    public LocalDateTime nextPollAt(LocalDateTime now, int attempts) {
+        return now.plus(jittered(delayFor(attempts)));
+    }
+
+    Duration delayFor(int attempts) {
+        // Cap the shift so the multiplication cannot overflow for very old jobs
+        long factor = 1L << Math.min(Math.max(attempts, 0), 20);
+        long millis = initialDelay.toMillis() * factor;
+        return millis >= maxDelay.toMillis() ? maxDelay : Duration.ofMillis(millis);
+    }
+
+    private Duration jittered(Duration delay) {
+        if (jitter == 0) {
+            return delay;
+        }
+        double scale = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Duration.ofMillis(Math.round(delay.toMillis() * scale));
+    }
+}
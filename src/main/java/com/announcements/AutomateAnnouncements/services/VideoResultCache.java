@@ -0,0 +1,315 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoResultCacheEntry;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import com.announcements.AutomateAnnouncements.repositories.VideoResultCacheRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Content-addressed cache of generated videos in {@code video_result_cache}. Entries are keyed by a hash of
+ * the provider, its template and the normalized prompt and style, so regenerating a combination that was
+ * already rendered completes from the stored URL instead of paying for another provider call.
+ *
+ * <p>A submission reserves its key before calling the provider and records the creation id once the call
+ * was accepted, so duplicates of a creation in flight attach to it rather than starting a new one. Failed
+ * creations drop their entry; completed ones expire after the TTL, and beyond {@code max-entries} the least
+ * recently used are evicted. Writes commit on their own so a lost race never rolls back the caller.
+ */
+@Slf4j
+@Service
+public class VideoResultCache {
+
+    private final VideoResultCacheRepository repository;
+    private final AiVideoProviderFactory aiVideoProviderFactory;
+    private final VideoJobDeadlines jobDeadlines;
+    private final TransactionTemplate writeTransaction;
+    private final Map<VideoProviderType, String> templateIds = new EnumMap<>(VideoProviderType.class);
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration reservationTimeout;
+    private final Duration pendingRetry;
+    private final int maxEntries;
+
+    public VideoResultCache(VideoResultCacheRepository repository,
+                            AiVideoProviderFactory aiVideoProviderFactory,
+                            VideoJobDeadlines jobDeadlines,
+                            List<AiVideoProvider> providers,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${video.result-cache.enabled:true}") boolean enabled,
+                            @Value("${video.result-cache.ttl-hours:24}") long ttlHours,
+                            @Value("${video.result-cache.reservation-seconds:120}") long reservationSeconds,
+                            @Value("${video.result-cache.pending-retry-seconds:5}") long pendingRetrySeconds,
+                            @Value("${video.result-cache.max-entries:10000}") int maxEntries) {
+        this.repository = repository;
+        this.aiVideoProviderFactory = aiVideoProviderFactory;
+        this.jobDeadlines = jobDeadlines;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        providers.stream()
+                .filter(provider -> provider.getTemplateId() != null)
+                .forEach(provider -> templateIds.put(provider.getType(), provider.getTemplateId()));
+        this.enabled = enabled;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.reservationTimeout = Duration.ofSeconds(reservationSeconds);
+        this.pendingRetry = Duration.ofSeconds(pendingRetrySeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * URL of a video already generated for this prompt and style by any provider new creations may go to.
+     */
+    public Optional<String> findVideoUrl(String prompt, String style) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return liveEntries(prompt, style, now).stream()
+                .filter(entry -> entry.getVideoUrl() != null)
+                .findFirst()
+                .map(entry -> {
+                    write(status -> repository.touch(entry.getCacheKey(), now));
+                    return entry.getVideoUrl();
+                });
+    }
+
+    /**
+     * Decides how a queued job for this prompt and style is served: from a completed entry, by attaching to
+     * a creation in flight, by waiting for a submission that reserved the key first, or by submitting it
+     * to {@code provider} under a new reservation the caller must {@link #recordCreation record} or
+     * {@link #release}.
+     */
+    public Reservation reserve(VideoProviderType provider, String prompt, String style) {
+        if (!enabled) {
+            return Reservation.reserved(null, provider);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<VideoResultCacheEntry> entries = liveEntries(prompt, style, now);
+        Optional<VideoResultCacheEntry> completed = entries.stream().filter(entry -> entry.getVideoUrl() != null).findFirst();
+        if (completed.isPresent()) {
+            write(status -> repository.touch(completed.get().getCacheKey(), now));
+            return new Reservation(Outcome.CACHED, completed.get().getCacheKey(), completed.get().getProvider(),
+                    completed.get().getCreationId(), completed.get().getVideoUrl());
+        }
+        Optional<VideoResultCacheEntry> inFlight = entries.stream().filter(entry -> entry.getCreationId() != null).findFirst();
+        if (inFlight.isPresent()) {
+            return new Reservation(Outcome.IN_FLIGHT, inFlight.get().getCacheKey(), inFlight.get().getProvider(),
+                    inFlight.get().getCreationId(), null);
+        }
+
+        String cacheKey = cacheKey(provider, templateIds.get(provider), prompt, style);
+        Boolean reserved = write(status -> {
+            VideoResultCacheEntry entry = repository.findById(cacheKey).orElse(null);
+            if (entry != null && !isExpired(entry, now)) {
+                return false;
+            }
+            if (entry == null) {
+                entry = new VideoResultCacheEntry();
+                entry.setCacheKey(cacheKey);
+            }
+            entry.setProvider(provider);
+            entry.setCreationId(null);
+            entry.setVideoUrl(null);
+            entry.setCreatedAt(now);
+            entry.setLastUsedAt(now);
+            entry.setExpiresAt(now.plus(reservationTimeout));
+            repository.saveAndFlush(entry);
+            return true;
+        });
+        return Boolean.TRUE.equals(reserved)
+                ? Reservation.reserved(cacheKey, provider)
+                : new Reservation(Outcome.PENDING, cacheKey, provider, null, null);
+    }
+
+    /**
+     * Records the creation the provider accepted for a reservation; it stays in flight until its job deadline.
+     */
+    public void recordCreation(Reservation reservation, String creationId) {
+        if (reservation.cacheKey() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        write(status -> {
+            VideoResultCacheEntry entry = repository.findById(reservation.cacheKey())
+                    .orElseGet(() -> newEntry(reservation.cacheKey(), now));
+            if (entry.getVideoUrl() != null) {
+                return null;
+            }
+            entry.setProvider(reservation.provider());
+            entry.setCreationId(creationId);
+            entry.setExpiresAt(jobDeadlines.processingDeadline(reservation.provider(), now));
+            return repository.saveAndFlush(entry);
+        });
+    }
+
+    /**
+     * Drops a reservation whose submission never reached the provider, so the next duplicate submits itself.
+     */
+    public void release(Reservation reservation) {
+        if (reservation.cacheKey() == null) {
+            return;
+        }
+        write(status -> {
+            repository.findById(reservation.cacheKey())
+                    .filter(entry -> entry.getCreationId() == null && entry.getVideoUrl() == null)
+                    .ifPresent(repository::delete);
+            return null;
+        });
+    }
+
+    /**
+     * Stores the URL a completed job's creation produced.
+     */
+    public void recordResult(VideoGenerationJob job) {
+        if (!enabled || job.getProvider() == null || job.getVideoUrl() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String cacheKey = cacheKey(job.getProvider(), templateIds.get(job.getProvider()), job.getPrompt(), job.getStyle());
+        write(status -> {
+            VideoResultCacheEntry entry = repository.findById(cacheKey).orElseGet(() -> newEntry(cacheKey, now));
+            entry.setProvider(job.getProvider());
+            entry.setCreationId(job.getBlotatoCreationId());
+            entry.setVideoUrl(job.getVideoUrl());
+            entry.setLastUsedAt(now);
+            entry.setExpiresAt(now.plus(ttl));
+            return repository.saveAndFlush(entry);
+        });
+    }
+
+    /**
+     * Forgets a creation that failed, so duplicates waiting on it are submitted again.
+     */
+    public void evictCreation(String creationId) {
+        if (enabled && creationId != null) {
+            write(status -> repository.deletePendingByCreationId(creationId));
+        }
+    }
+
+    /**
+     * How long a job whose key another submission reserved waits before it is looked up again.
+     */
+    public Duration getPendingRetry() {
+        return pendingRetry;
+    }
+
+    @Scheduled(fixedDelayString = "${video.result-cache.eviction-ms:600000}")
+    public void evictEntries() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        write(status -> {
+            int expired = repository.deleteExpired(now);
+            long excess = repository.countByVideoUrlIsNotNull() - maxEntries;
+            List<String> leastRecentlyUsed = excess > 0
+                    ? repository.findLeastRecentlyUsedKeys(PageRequest.of(0, (int) Math.min(excess, Integer.MAX_VALUE)))
+                    : List.of();
+            repository.deleteAllByIdInBatch(leastRecentlyUsed);
+            if (expired > 0 || !leastRecentlyUsed.isEmpty()) {
+                log.info("Evicted {} expired and {} least recently used video results", expired, leastRecentlyUsed.size());
+            }
+            return null;
+        });
+    }
+
+    // Entries of every provider new creations may go to
+    private List<VideoResultCacheEntry> liveEntries(String prompt, String style, LocalDateTime now) {
+        List<String> keys = aiVideoProviderFactory.getCreationProviders().stream()
+                .map(provider -> cacheKey(provider.getType(), templateIds.get(provider.getType()), prompt, style))
+                .toList();
+        return repository.findAllById(keys).stream()
+                .filter(entry -> !isExpired(entry, now))
+                .toList();
+    }
+
+    // Lost races (a concurrent insert or update of the same key) leave the other writer's entry in place
+    private <T> T write(TransactionCallback<T> callback) {
+        try {
+            return writeTransaction.execute(callback);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            log.debug("Concurrent video result cache write: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static VideoResultCacheEntry newEntry(String cacheKey, LocalDateTime now) {
+        VideoResultCacheEntry entry = new VideoResultCacheEntry();
+        entry.setCacheKey(cacheKey);
+        entry.setCreatedAt(now);
+        entry.setLastUsedAt(now);
+        return entry;
+    }
+
+    private static boolean isExpired(VideoResultCacheEntry entry, LocalDateTime now) {
+        return entry.getExpiresAt() != null && entry.getExpiresAt().isBefore(now);
+    }
+
+    /**
+     * SHA-256 over the provider, its template and the prompt and style with case, Unicode forms and
+     * whitespace normalized.
+     */
+    static String cacheKey(VideoProviderType provider, String templateId, String prompt, String style) {
+        String content = String.join("\n", provider.name(), templateId != null ? templateId : "",
+                normalize(prompt), style != null && !style.isBlank() ? normalize(style) : "default");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public enum Outcome {
+        // The caller submits the creation
+        RESERVED,
+        // A completed entry holds the video
+        CACHED,
+        // Another job's creation for the same key is being rendered
+        IN_FLIGHT,
+        // Another submission reserved the key and has no creation id yet
+        PENDING
+    }
+
+    public record Reservation(Outcome outcome, String cacheKey, VideoProviderType provider, String creationId,
+                              String videoUrl) {
+
+        static Reservation reserved(String cacheKey, VideoProviderType provider) {
+            return new Reservation(Outcome.RESERVED, cacheKey, provider, null, null);
+        }
+    }
+}
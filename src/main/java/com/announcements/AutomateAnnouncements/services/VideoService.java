@@ -100,6 +100,14 @@ public class VideoService {
         String videoUrl = provider.generateVideo(prompt, styleToUse);
         log.info("Video generated by {} provider with style '{}': {}", provider.getType(), styleToUse, videoUrl);
 
+        return publishGeneratedVideo(videoUrl, title, description, userProfile, targets);
+    }
+
+    /**
+     * Records a video a provider already generated (asset, post draft and user post) and sends it to n8n.
+     */
+    @Transactional
+    public String publishGeneratedVideo(String videoUrl, String title, String description, UserProfile userProfile, String targets) {
         // Create asset record
         com.announcements.AutomateAnnouncements.dtos.request.AssetRequestDTO assetRequest2 = new com.announcements.AutomateAnnouncements.dtos.request.AssetRequestDTO();
         assetRequest2.setOwner(userProfile.getId());
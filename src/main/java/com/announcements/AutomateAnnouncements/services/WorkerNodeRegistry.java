@@ -0,0 +1,117 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.announcements.AutomateAnnouncements.entities.WorkerNode;
+import com.announcements.AutomateAnnouncements.repositories.WorkerNodeRepository;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heartbeats of the running nodes. Each node reports in every {@code video.worker.heartbeat-ms}; one that
+ * has been silent for {@code video.worker.node-expiry-seconds} is considered gone, so work only it could
+ * finish (its in-process generations) can be failed instead of waited on. A node with no row at all is
+ * assumed alive, since it may not have reported in yet; rows are forgotten after a day.
+ */
+@Slf4j
+@Service
+public class WorkerNodeRegistry {
+
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private final WorkerNodeRepository repository;
+    private final TransactionTemplate writeTransaction;
+    private final String nodeId;
+    private final Duration expiry;
+    private final Duration livenessCacheTtl;
+    private final Map<String, Liveness> livenessByNode = new ConcurrentHashMap<>();
+
+    public WorkerNodeRegistry(WorkerNodeRepository repository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${video.worker.node-id:}") String nodeId,
+                              @Value("${video.worker.node-expiry-seconds:60}") long expirySeconds,
+                              @Value("${video.worker.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.repository = repository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = resolveNodeId(nodeId);
+        this.expiry = Duration.ofSeconds(expirySeconds);
+        this.livenessCacheTtl = Duration.ofMillis(heartbeatMillis);
+    }
+
+    /**
+     * Identifier of this process: its heartbeat row, the {@code claimed_by} of the jobs it leases and the
+     * owner of its in-process generations. Defaults to the host name plus a random suffix, drawn once.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${video.worker.heartbeat-ms:15000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                if (repository.touch(nodeId, now) == 0) {
+                    WorkerNode node = new WorkerNode();
+                    node.setNodeId(nodeId);
+                    node.setHeartbeatAt(now);
+                    repository.save(node);
+                }
+                repository.deleteSilentSince(now.minus(RETENTION));
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Node {} registered concurrently: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether {@code otherNodeId} reported in recently, or has not reported at all yet. Answers are cached
+     * for one heartbeat interval.
+     */
+    public boolean isAlive(String otherNodeId) {
+        if (nodeId.equals(otherNodeId)) {
+            return true;
+        }
+        long now = System.nanoTime();
+        Liveness cached = livenessByNode.get(otherNodeId);
+        if (cached != null && now - cached.checkedAt() < livenessCacheTtl.toNanos()) {
+            return cached.alive();
+        }
+        Optional<WorkerNode> node = repository.findById(otherNodeId);
+        boolean alive = node.isEmpty() || node.get().getHeartbeatAt().isAfter(LocalDateTime.now().minus(expiry));
+        livenessByNode.put(otherNodeId, new Liveness(alive, now));
+        return alive;
+    }
+
+    private record Liveness(boolean alive, long checkedAt) {
+    }
+
+    private static String resolveNodeId(String configuredNodeId) {
+        if (StringUtils.hasText(configuredNodeId)) {
+            return configuredNodeId;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "worker";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
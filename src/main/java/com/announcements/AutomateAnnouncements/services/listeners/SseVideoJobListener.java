@@ -0,0 +1,50 @@
+package com.announcements.AutomateAnnouncements.services.listeners;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.services.VideoJobSubscriptionHub;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Concrete observer that forwards job state changes to the browsers subscribed to the owner's event
+ * streams. Changes are pushed once their transaction commits, so a subscriber that reads its snapshot
+ * in between sees the committed state or gets the event, never neither.
+ */
+@Component
+public class SseVideoJobListener implements VideoJobListener {
+
+    private final VideoJobSubscriptionHub subscriptionHub;
+
+    public SseVideoJobListener(VideoJobSubscriptionHub subscriptionHub) {
+        this.subscriptionHub = subscriptionHub;
+    }
+
+    @Override
+    public void onJobProcessing(VideoGenerationJob job) {
+        publishAfterCommit(job);
+    }
+
+    @Override
+    public void onJobCompleted(VideoGenerationJob job) {
+        publishAfterCommit(job);
+    }
+
+    @Override
+    public void onJobFailed(VideoGenerationJob job) {
+        publishAfterCommit(job);
+    }
+
+    private void publishAfterCommit(VideoGenerationJob job) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            subscriptionHub.publish(job);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                subscriptionHub.publish(job);
+            }
+        });
+    }
+}
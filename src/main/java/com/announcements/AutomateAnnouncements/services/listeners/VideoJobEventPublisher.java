@@ -17,6 +17,10 @@ public class VideoJobEventPublisher {
         this.listeners = listeners;
     }
 
+    public void notifyJobProcessing(VideoGenerationJob job) {
+        listeners.forEach(listener -> listener.onJobProcessing(job));
+    }
+
     public void notifyJobCompleted(VideoGenerationJob job) {
         listeners.forEach(listener -> listener.onJobCompleted(job));
     }
@@ -24,4 +28,8 @@ public class VideoJobEventPublisher {
     public void notifyJobFailed(VideoGenerationJob job) {
         listeners.forEach(listener -> listener.onJobFailed(job));
     }
+
+    public void notifyCreationFailed(VideoGenerationJob job) {
+        listeners.forEach(listener -> listener.onCreationFailed(job));
+    }
 }
@@ -4,11 +4,22 @@ import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
 
 /**
  * Observer pattern – listeners implement this contract to react when a video generation job
- * finishes or fails without the job service knowing about the concrete side-effects.
+ * starts processing, finishes or fails without the job service knowing about the concrete side-effects.
  */
 public interface VideoJobListener {
 
+    /**
+     * The provider accepted the job's creation and the job is now being polled.
+     */
+    default void onJobProcessing(VideoGenerationJob job) {}
+
     default void onJobCompleted(VideoGenerationJob job) {}
 
     default void onJobFailed(VideoGenerationJob job) {}
+
+    /**
+     * The provider reported the job's creation itself as failed, as opposed to the job failing on its own
+     * (e.g. timing out). Fired after {@link #onJobFailed}.
+     */
+    default void onCreationFailed(VideoGenerationJob job) {}
 }
@@ -0,0 +1,30 @@
+package com.announcements.AutomateAnnouncements.services.listeners;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.services.VideoResultCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concrete observer that stores the videos of completed jobs in the result cache and forgets creations
+ * the provider reported as failed, so later duplicates are submitted again. A job failing on its own,
+ * such as timing out, leaves the creation to the other jobs attached to it.
+ */
+@Component
+public class VideoResultCacheListener implements VideoJobListener {
+
+    private final VideoResultCache resultCache;
+
+    public VideoResultCacheListener(VideoResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    @Override
+    public void onJobCompleted(VideoGenerationJob job) {
+        resultCache.recordResult(job);
+    }
+
+    @Override
+    public void onCreationFailed(VideoGenerationJob job) {
+        resultCache.evictCreation(job.getBlotatoCreationId());
+    }
+}
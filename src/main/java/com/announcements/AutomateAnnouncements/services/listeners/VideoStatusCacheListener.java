@@ -0,0 +1,34 @@
+package com.announcements.AutomateAnnouncements.services.listeners;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoStatusCoalescer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concrete observer that releases the cached provider status of a job once it is finalized.
+ */
+@Component
+public class VideoStatusCacheListener implements VideoJobListener {
+
+    private final VideoStatusCoalescer statusCoalescer;
+
+    public VideoStatusCacheListener(VideoStatusCoalescer statusCoalescer) {
+        this.statusCoalescer = statusCoalescer;
+    }
+
+    @Override
+    public void onJobCompleted(VideoGenerationJob job) {
+        evict(job);
+    }
+
+    @Override
+    public void onJobFailed(VideoGenerationJob job) {
+        evict(job);
+    }
+
+    private void evict(VideoGenerationJob job) {
+        if (job.getBlotatoCreationId() != null) {
+            statusCoalescer.evict(job.getBlotatoCreationId());
+        }
+    }
+}
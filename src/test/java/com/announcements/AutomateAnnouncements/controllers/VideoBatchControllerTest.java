@@ -0,0 +1,102 @@
+package com.announcements.AutomateAnnouncements.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.N8nIntegrationService;
+import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
+import com.announcements.AutomateAnnouncements.repositories.VideoGenerationJobRepository;
+import com.announcements.AutomateAnnouncements.security.JwtService;
+
+@SpringBootTest(classes = AutomatAununciosApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VideoBatchControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private N8nIntegrationService n8nIntegrationService;
+
+    @Autowired
+    private VideoGenerationJobRepository jobRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queuesTheValidItemsAndReportsTheInvalidOneAtItsIndex() {
+        UserProfile owner = newProfile();
+        Map<String, Object> batch = Map.of(
+                "ownerId", owner.getId(),
+                "requests", List.of(
+                        Map.of("prompt", "first prompt", "title", "first", "targets", "instagram"),
+                        Map.of("prompt", "second prompt", "targets", "instagram"),
+                        Map.of("prompt", "third prompt", "title", "third", "targets", "tiktok", "style", "cinematic")));
+
+        ResponseEntity<Map<String, Object>> response = clientFor(owner).post()
+                .uri("/api/videos/generate/batch")
+                .bodyValue(batch)
+                .retrieve()
+                .toEntity(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .block();
+
+        assertThat(response.getStatusCode().value()).isEqualTo(202);
+        Map<String, Object> body = response.getBody();
+        List<Integer> jobIds = (List<Integer>) body.get("jobIds");
+        assertThat(body).containsEntry("count", 2);
+        assertThat((List<Map<String, Object>>) body.get("results"))
+                .extracting(result -> result.get("index"), result -> result.get("jobId"), result -> result.get("error"))
+                .containsExactly(
+                        tuple(0, jobIds.get(0), null),
+                        tuple(1, null, "Title is required"),
+                        tuple(2, jobIds.get(1), null));
+
+        List<VideoGenerationJob> rows = jobRepository.findAllById(jobIds);
+        assertThat(rows)
+                .extracting(VideoGenerationJob::getId, VideoGenerationJob::getOwnerId, VideoGenerationJob::getPrompt,
+                        VideoGenerationJob::getTitle, VideoGenerationJob::getTargets, VideoGenerationJob::getStyle,
+                        VideoGenerationJob::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(jobIds.get(0), owner.getId(), "first prompt", "first", "instagram", null, VideoJobStatus.QUEUED),
+                        tuple(jobIds.get(1), owner.getId(), "third prompt", "third", "tiktok", "cinematic", VideoJobStatus.QUEUED));
+        assertThat(jobRepository.findAll()).filteredOn(job -> "second prompt".equals(job.getPrompt())).isEmpty();
+    }
+
+    private UserProfile newProfile() {
+        UserProfile profile = new UserProfile();
+        String authUserId = "batch-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        profile.setDisplayName("Batch Test");
+        return userProfileRepository.save(profile);
+    }
+
+    private WebClient clientFor(UserProfile profile) {
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBearerAuth(jwtService.generateToken(profile)))
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.announcements.AutomateAnnouncements.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.N8nIntegrationService;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
+import com.announcements.AutomateAnnouncements.services.VideoGenerationJobService;
+
+@SpringBootTest(classes = AutomatAununciosApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"video.callbacks.enabled=true", "video.callbacks.secret=" + VideoCallbackControllerTest.SECRET})
+class VideoCallbackControllerTest {
+
+    static final String SECRET = "test-callback-secret";
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private N8nIntegrationService n8nIntegrationService;
+
+    @Autowired
+    private VideoGenerationJobService jobService;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    private CallbackStub stub;
+    private UserProfile owner;
+
+    @BeforeEach
+    void setUp() {
+        stub = new CallbackStub(WebClient.create("http://localhost:" + port));
+        UserProfile profile = new UserProfile();
+        String authUserId = "callback-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        owner = userProfileRepository.save(profile);
+    }
+
+    @Test
+    void signedCompletionCallbackCompletesJobImmediately() {
+        VideoGenerationJob job = processingJob();
+        String body = """
+                {"item": {"id": "%s", "status": "completed", "videoUrl": "https://cdn.example.com/done.mp4"}}
+                """.formatted(job.getBlotatoCreationId());
+
+        HttpStatusCode status = stub.post("blotato", body, sign(body));
+
+        assertThat(status.value()).isEqualTo(200);
+        VideoGenerationJob updated = jobService.getJobById(job.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(VideoJobStatus.COMPLETED);
+        assertThat(updated.getVideoUrl()).isEqualTo("https://cdn.example.com/done.mp4");
+        assertThat(updated.getAssetId()).isNotNull();
+    }
+
+    @Test
+    void callbackWithInvalidSignatureIsRejected() {
+        VideoGenerationJob job = processingJob();
+        String body = """
+                {"id": "%s", "status": "completed", "videoUrl": "https://cdn.example.com/forged.mp4"}
+                """.formatted(job.getBlotatoCreationId());
+
+        HttpStatusCode status = stub.post("blotato", body, "sha256=" + "0".repeat(64));
+
+        assertThat(status.value()).isEqualTo(401);
+        assertThat(jobService.getJobById(job.getId()).orElseThrow().getStatus()).isEqualTo(VideoJobStatus.PROCESSING);
+    }
+
+    @Test
+    void processingCallbackLeavesJobPending() {
+        VideoGenerationJob job = processingJob();
+        String body = """
+                {"id": "%s", "status": "processing"}
+                """.formatted(job.getBlotatoCreationId());
+
+        HttpStatusCode status = stub.post("blotato", body, sign(body));
+
+        assertThat(status.value()).isEqualTo(202);
+        assertThat(jobService.getJobById(job.getId()).orElseThrow().getStatus()).isEqualTo(VideoJobStatus.PROCESSING);
+    }
+
+    private VideoGenerationJob processingJob() {
+        VideoGenerationRequest request = VideoGenerationRequest.builder()
+                .withPrompt("prompt").withTitle("title").withDescription("description").withTargets("instagram").build();
+        VideoGenerationJob job = jobService.createClaimedJob(owner.getId(), request, "test-node");
+        jobService.markProcessing(job.getId(), "test-node", "creation-" + UUID.randomUUID(), VideoProviderType.BLOTATO);
+        return jobService.getJobById(job.getId()).orElseThrow();
+    }
+
+    private static String sign(String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Plays the provider's role by posting notifications to the local callback endpoint.
+     */
+    private record CallbackStub(WebClient webClient) {
+
+        HttpStatusCode post(String provider, String body, String signature) {
+            return webClient.post()
+                    .uri("/api/videos/callbacks/{provider}", provider)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(VideoCallbackController.SIGNATURE_HEADER, signature)
+                    .bodyValue(body)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                    .block();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.announcements.AutomateAnnouncements.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.N8nIntegrationService;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
+import com.announcements.AutomateAnnouncements.repositories.VideoGenerationJobRepository;
+import com.announcements.AutomateAnnouncements.security.JwtService;
+import com.announcements.AutomateAnnouncements.services.VideoGenerationJobService;
+import com.announcements.AutomateAnnouncements.services.VideoJobEventRelay;
+import com.announcements.AutomateAnnouncements.services.VideoJobSubscriptionHub;
+
+@SpringBootTest(classes = AutomatAununciosApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VideoJobEventsControllerTest {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private N8nIntegrationService n8nIntegrationService;
+
+    @Autowired
+    private VideoGenerationJobService jobService;
+
+    @Autowired
+    private VideoJobSubscriptionHub subscriptionHub;
+
+    @Autowired
+    private VideoJobEventRelay eventRelay;
+
+    @Autowired
+    private VideoGenerationJobRepository jobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private WebClient client;
+    private UserProfile owner;
+
+    @BeforeEach
+    void setUp() {
+        UserProfile profile = new UserProfile();
+        String authUserId = "events-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        profile.setDisplayName("Events Test");
+        owner = userProfileRepository.save(profile);
+        client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBearerAuth(jwtService.generateToken(owner)))
+                .build();
+    }
+
+    @Test
+    void jobStreamSendsSnapshotThenTerminalEventAndCompletes() {
+        VideoGenerationJob job = processingJob();
+
+        List<Map<String, Object>> events = client.get().uri("/api/videos/jobs/{id}/events", job.getId())
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                .filter(event -> "job-status".equals(event.event()))
+                .doOnNext(event -> {
+                    if ("PROCESSING".equals(event.data().get("status"))) {
+                        CompletableFuture.runAsync(() -> jobService.failJob(job.getId(), "provider rejected prompt"));
+                    }
+                })
+                .map(ServerSentEvent::data)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(events).extracting(event -> event.get("status")).containsExactly("PROCESSING", "FAILED");
+        assertThat(events.get(1)).containsEntry("errorMessage", "provider rejected prompt");
+    }
+
+    @Test
+    void jobStreamPushesTheMoveToProcessing() {
+        VideoGenerationJob job = jobService.createClaimedJob(owner.getId(), request(), "test-node");
+
+        List<Object> statuses = client.get().uri("/api/videos/jobs/{id}/events", job.getId())
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                .filter(event -> "job-status".equals(event.event()))
+                .map(event -> event.data().get("status"))
+                .doOnNext(status -> {
+                    if ("QUEUED".equals(status)) {
+                        CompletableFuture.runAsync(() -> jobService.markProcessing(job.getId(), "test-node",
+                                "creation-" + UUID.randomUUID(), VideoProviderType.BLOTATO));
+                    } else if ("PROCESSING".equals(status)) {
+                        CompletableFuture.runAsync(() -> jobService.completeJob(job.getId(), "https://cdn.example.com/v.mp4"));
+                    }
+                })
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(statuses).containsExactly("QUEUED", "PROCESSING", "COMPLETED");
+    }
+
+    @Test
+    void jobStreamReceivesAFailureCommittedByAnotherNode() {
+        VideoGenerationJob job = processingJob();
+
+        List<Map<String, Object>> events = client.get().uri("/api/videos/jobs/{id}/events", job.getId())
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                .filter(event -> "job-status".equals(event.event()))
+                .doOnNext(event -> {
+                    if ("PROCESSING".equals(event.data().get("status"))) {
+                        CompletableFuture.runAsync(() -> {
+                            // Written straight to the database, as another node would, so no listener here sees it
+                            transactionTemplate.executeWithoutResult(status -> jobRepository.markFailed(job.getId(),
+                                    "failed elsewhere", LocalDateTime.now(), VideoJobStatus.FAILED.predecessors()));
+                            eventRelay.relayRecentChanges();
+                        });
+                    }
+                })
+                .map(ServerSentEvent::data)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(events).extracting(event -> event.get("status")).containsExactly("PROCESSING", "FAILED");
+        assertThat(events.get(1)).containsEntry("errorMessage", "failed elsewhere");
+    }
+
+    @Test
+    void ownerStreamPushesChangesOfEveryJob() throws Exception {
+        VideoGenerationJob first = processingJob();
+        VideoGenerationJob second = processingJob();
+        int subscriptionsBefore = subscriptionHub.getSubscriptionCount();
+
+        CompletableFuture<List<Object>> received = client.get().uri("/api/videos/jobs/events")
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                .filter(event -> "job-status".equals(event.event()))
+                .map(event -> event.data().get("jobId"))
+                .take(2)
+                .collectList()
+                .toFuture();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (subscriptionHub.getSubscriptionCount() == subscriptionsBefore && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        jobService.failJob(first.getId(), "timed out");
+        jobService.failJob(second.getId(), "timed out");
+
+        assertThat(received.get(10, TimeUnit.SECONDS)).containsExactly(first.getId(), second.getId());
+    }
+
+    private VideoGenerationJob processingJob() {
+        VideoGenerationJob job = jobService.createClaimedJob(owner.getId(), request(), "test-node");
+        jobService.markProcessing(job.getId(), "test-node", "creation-" + UUID.randomUUID(), VideoProviderType.BLOTATO);
+        return job;
+    }
+
+    private static VideoGenerationRequest request() {
+        return VideoGenerationRequest.builder()
+                .withPrompt("prompt").withTitle("title").withDescription("description").withTargets("instagram").build();
+    }
+}
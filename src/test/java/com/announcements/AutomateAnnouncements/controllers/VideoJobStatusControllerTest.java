@@ -0,0 +1,151 @@
+package com.announcements.AutomateAnnouncements.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.integration.N8nIntegrationService;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
+import com.announcements.AutomateAnnouncements.repositories.VideoGenerationJobRepository;
+import com.announcements.AutomateAnnouncements.security.JwtService;
+import com.announcements.AutomateAnnouncements.services.VideoGenerationJobService;
+import com.announcements.AutomateAnnouncements.services.VideoJobReaper;
+
+@SpringBootTest(classes = AutomatAununciosApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VideoJobStatusControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private N8nIntegrationService n8nIntegrationService;
+
+    @Autowired
+    private VideoGenerationJobService jobService;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private VideoGenerationJobRepository jobRepository;
+
+    @Autowired
+    private VideoJobReaper reaper;
+
+    private UserProfile owner;
+    private WebClient client;
+
+    @BeforeEach
+    void setUp() {
+        owner = newProfile();
+        client = clientFor(owner);
+    }
+
+    @Test
+    void looksUpSeveralJobsAndOmitsOtherOwnersJobs() {
+        VideoGenerationJob queued = newJob(owner);
+        VideoGenerationJob processing = jobService.createClaimedJob(owner.getId(), VideoGenerationRequest.builder()
+                .withPrompt("prompt").withTitle("title").withDescription("description").withTargets("instagram").build(),
+                "test-node");
+        jobService.markProcessing(processing.getId(), "test-node", "creation-" + UUID.randomUUID(), VideoProviderType.BLOTATO);
+        VideoGenerationJob foreign = newJob(newProfile());
+
+        List<Map<String, Object>> statuses = client.get()
+                .uri("/api/videos/jobs?ids={ids}", queued.getId() + "," + processing.getId() + "," + foreign.getId())
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
+                .block();
+
+        assertThat(statuses).extracting(status -> status.get("jobId"), status -> status.get("status"))
+                .containsExactlyInAnyOrder(
+                        tuple(queued.getId(), "QUEUED"),
+                        tuple(processing.getId(), "PROCESSING"));
+    }
+
+    @Test
+    void pagesThroughOwnJobsNewestFirstFilteredByStatus() {
+        List<Integer> queuedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            queuedIds.add(newJob(owner).getId());
+        }
+        VideoGenerationJob failed = newJob(owner);
+        jobService.failJob(failed.getId(), "provider error");
+
+        Map<String, Object> firstPage = page("/api/videos/jobs?owner=me&status=QUEUED&page=0&size=3");
+        Map<String, Object> secondPage = page("/api/videos/jobs?owner=me&status=QUEUED&page=1&size=3");
+
+        assertThat(jobIds(firstPage)).containsExactly(queuedIds.get(4), queuedIds.get(3), queuedIds.get(2));
+        assertThat(firstPage).containsEntry("hasNext", true);
+        assertThat(jobIds(secondPage)).containsExactly(queuedIds.get(1), queuedIds.get(0));
+        assertThat(secondPage).containsEntry("hasNext", false);
+        assertThat(jobIds(page("/api/videos/jobs?owner=me&status=FAILED"))).containsExactly(failed.getId());
+    }
+
+    @Test
+    void statsCountTheJobsTimedOutByTheReaper() {
+        VideoGenerationJob stuck = newJob(owner);
+        VideoGenerationJob job = jobRepository.findById(stuck.getId()).orElseThrow();
+        job.setDeadlineAt(LocalDateTime.now().minusMinutes(1));
+        jobRepository.save(job);
+        long reapedBefore = ((Number) page("/api/videos/jobs/stats").get("reapedJobs")).longValue();
+
+        reaper.reapExpiredJobs();
+
+        assertThat(((Number) page("/api/videos/jobs/stats").get("reapedJobs")).longValue()).isGreaterThan(reapedBefore);
+    }
+
+    private Map<String, Object> page(String uri) {
+        return client.get().uri(uri)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .block();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> jobIds(Map<String, Object> page) {
+        return ((List<Map<String, Object>>) page.get("jobs")).stream().map(job -> job.get("jobId")).toList();
+    }
+
+    private VideoGenerationJob newJob(UserProfile profile) {
+        return jobService.createJob(profile.getId(), "prompt", "title", "description", "instagram", null);
+    }
+
+    private UserProfile newProfile() {
+        UserProfile profile = new UserProfile();
+        String authUserId = "status-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        profile.setDisplayName("Status Test");
+        return userProfileRepository.save(profile);
+    }
+
+    private WebClient clientFor(UserProfile profile) {
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBearerAuth(jwtService.generateToken(profile)))
+                .build();
+    }
+}
@@ -0,0 +1,236 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.announcements.AutomateAnnouncements.config.BlobStorageConfig;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobStorageException;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs {@link BlobStorageService} against a local stand-in for Azurite's blob endpoint that creates
+ * containers, accepts block blob uploads (whole or staged as blocks) and records every request it receives.
+ * The benchmark throttles each connection to {@link #BENCHMARK_MEGABYTES_PER_SECOND} so parallel staging
+ * can be measured; the other tests run unthrottled.
+ */
+@Slf4j
+class BlobStorageServiceTest {
+
+    // Azurite's well-known development account
+    private static final String ACCOUNT = "devstoreaccount1";
+    private static final String ACCOUNT_KEY =
+            "Eby8vdM02xNOcqFlqUwJPLlmEtlCDXJ1OUzFT50uSRZ6IFsuFq2UVErCz4I6tq/K1SZFPTOtr/KBHBeksoGMGw==";
+    private static final String CONTAINER = "videos";
+    private static final int BENCHMARK_MEGABYTES_PER_SECOND = 5;
+    private static final Pattern LATEST_BLOCK = Pattern.compile("<Latest>([^<]+)</Latest>");
+
+    private final MockWebServer server = new MockWebServer();
+    private final Set<String> containers = ConcurrentHashMap.newKeySet();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<String> stagedBlocks = new CopyOnWriteArrayList<>();
+    private final List<String> committedBlocks = new CopyOnWriteArrayList<>();
+    // Block index whose first attempt fails with a 503, or -1
+    private volatile int failingBlock = -1;
+    private final AtomicReference<String> failedBlockId = new AtomicReference<>();
+    // Per-connection upload speed, or 0 for no throttling
+    private volatile int megabytesPerSecond;
+    private BlobServiceClient client;
+    private BlobStorageService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handle(request);
+            }
+        });
+        server.start();
+        String connectionString = "DefaultEndpointsProtocol=http;AccountName=" + ACCOUNT + ";AccountKey=" + ACCOUNT_KEY
+                + ";BlobEndpoint=" + server.url("/" + ACCOUNT).toString().replaceAll("/$", "") + ";";
+        client = new BlobStorageConfig().blobServiceClient(connectionString, 3, 10, 100);
+        service = new BlobStorageService(client, CONTAINER, false, 1, 4, 1);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void checksTheContainerOnceForManyUploads() {
+        for (int i = 0; i < 5; i++) {
+            String url = service.uploadFile(video("clip-" + i + ".MP4"));
+            assertThat(url).contains("/" + ACCOUNT + "/" + CONTAINER + "/").endsWith(".mp4");
+        }
+
+        // Checking before every upload cost one extra round trip each: 10 requests instead of 6
+        assertThat(requests).hasSize(6);
+        assertThat(requests.get(0)).isEqualTo("PUT container");
+        assertThat(requests.subList(1, 6)).containsOnly("PUT blob");
+
+        BlobUploadMetrics.Snapshot metrics = service.getUploadMetrics();
+        assertThat(metrics.uploads()).isEqualTo(5);
+        assertThat(metrics.failures()).isZero();
+        assertThat(metrics.bytes()).isEqualTo(5L * video("clip.mp4").getSize());
+        assertThat(metrics.containerChecks()).isEqualTo(1);
+        assertThat(metrics.p95Millis()).isPositive().isLessThanOrEqualTo(metrics.maxMillis());
+    }
+
+    @Test
+    void checksTheContainerAgainAfterItWasDeleted() {
+        service.uploadFile(video("first.mp4"));
+
+        containers.clear();
+        assertThatThrownBy(() -> service.uploadFile(video("lost.mp4"))).isInstanceOf(BlobStorageException.class);
+        service.uploadFile(video("recovered.mp4"));
+
+        assertThat(requests).containsExactly("PUT container", "PUT blob", "PUT blob", "PUT container", "PUT blob");
+        assertThat(service.getUploadMetrics())
+                .satisfies(metrics -> assertThat(metrics.failures()).isEqualTo(1))
+                .satisfies(metrics -> assertThat(metrics.containerChecks()).isEqualTo(2));
+    }
+
+    @Test
+    void stagesLargeFilesAsBlocksAndRetriesOnlyTheFailedOne() {
+        failingBlock = 2;
+
+        service.uploadFile(video("campaign.mp4", 3 * 1024 * 1024 + 1));
+
+        // 4 blocks, the third sent twice, then one commit listing every block in order
+        assertThat(requests).filteredOn("PUT block"::equals).hasSize(5);
+        assertThat(requests).filteredOn("PUT blocklist"::equals).hasSize(1);
+        assertThat(requests).doesNotContain("PUT blob");
+        assertThat(stagedBlocks).filteredOn(failedBlockId.get()::equals).hasSize(2);
+        assertThat(committedBlocks).hasSize(4).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(
+                Set.copyOf(stagedBlocks));
+        assertThat(service.getUploadMetrics().failures()).isZero();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void parallelBlocksUploadFasterThanOneStream() {
+        megabytesPerSecond = BENCHMARK_MEGABYTES_PER_SECOND;
+        MockMultipartFile large = video("launch.mp4", 8 * 1024 * 1024);
+        BlobStorageService serial = new BlobStorageService(client, CONTAINER, false, 1, 1, 64);
+        serial.uploadFile(video("warm-up.mp4"));
+        service.uploadFile(video("warm-up.mp4"));
+
+        Duration single = time(() -> serial.uploadFile(large));
+        Duration chunked = time(() -> service.uploadFile(large));
+
+        log.info("8 MB at {} MB/s per connection: one stream {} ms, 4 parallel 1 MB blocks {} ms",
+                megabytesPerSecond, single.toMillis(), chunked.toMillis());
+        // Ideally a quarter of the time; half leaves room for a busy machine
+        assertThat(chunked).isLessThan(single.dividedBy(2));
+        assertThat(service.getUploadMetrics().megabytesPerSecond())
+                .isGreaterThan(serial.getUploadMetrics().megabytesPerSecond());
+    }
+
+    private MockResponse handle(RecordedRequest request) {
+        String path = request.getRequestUrl().encodedPath();
+        boolean containerRequest = "container".equals(request.getRequestUrl().queryParameter("restype"));
+        String comp = request.getRequestUrl().queryParameter("comp");
+        requests.add(request.getMethod() + (containerRequest ? " container" : comp != null ? " " + comp : " blob"));
+        throttle(request.getBodySize());
+
+        if (containerRequest && "PUT".equals(request.getMethod())) {
+            return containers.add(path) ? created() : error(409, "ContainerAlreadyExists");
+        }
+        if ("block".equals(comp) && "PUT".equals(request.getMethod())) {
+            String blockId = request.getRequestUrl().queryParameter("blockid");
+            stagedBlocks.add(blockId);
+            if (stagedBlocks.size() - 1 == failingBlock && failedBlockId.compareAndSet(null, blockId)) {
+                return error(503, "ServerBusy");
+            }
+            return response(201).setHeader("x-ms-request-server-encrypted", "true");
+        }
+        if ("blocklist".equals(comp) && "PUT".equals(request.getMethod())) {
+            Matcher matcher = LATEST_BLOCK.matcher(request.getBody().readString(StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                committedBlocks.add(matcher.group(1));
+            }
+            return created();
+        }
+        if (!containerRequest && "PUT".equals(request.getMethod())) {
+            String container = path.substring(0, path.lastIndexOf('/'));
+            return containers.contains(container) ? created() : error(404, "ContainerNotFound");
+        }
+        return error(400, "UnsupportedHttpVerb");
+    }
+
+    private void throttle(long bodySize) {
+        if (megabytesPerSecond == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(bodySize * 1000 / (megabytesPerSecond * 1024L * 1024L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Duration time(Runnable upload) {
+        long startedAt = System.nanoTime();
+        upload.run();
+        return Duration.ofNanos(System.nanoTime() - startedAt);
+    }
+
+    private static MockResponse created() {
+        return response(201)
+                .setHeader("ETag", "\"0x8D" + System.nanoTime() + "\"")
+                .setHeader("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)))
+                .setHeader("x-ms-request-server-encrypted", "true");
+    }
+
+    private static MockResponse error(int status, String errorCode) {
+        return response(status)
+                .setHeader("x-ms-error-code", errorCode)
+                .setHeader("Content-Type", "application/xml")
+                .setBody("<?xml version=\"1.0\" encoding=\"utf-8\"?><Error><Code>" + errorCode
+                        + "</Code><Message>" + errorCode + "</Message></Error>");
+    }
+
+    private static MockResponse response(int status) {
+        return new MockResponse()
+                .setResponseCode(status)
+                .setHeader("x-ms-request-id", UUID.randomUUID().toString())
+                .setHeader("x-ms-version", "2023-11-03")
+                .setHeader("Date", DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)));
+    }
+
+    private static MockMultipartFile video(String filename) {
+        return video(filename, 2048);
+    }
+
+    private static MockMultipartFile video(String filename, int size) {
+        return new MockMultipartFile("file", filename, "video/mp4", new byte[size]);
+    }
+}
@@ -0,0 +1,111 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.announcements.AutomateAnnouncements.config.OutboundHttpConfig;
+import com.announcements.AutomateAnnouncements.config.OutboundHttpPoolMetrics;
+import com.announcements.AutomateAnnouncements.integration.retry.OutboundRetries;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+class BlotatoReactiveClientTest {
+
+    private static final int CHECKS_BEFORE_READY = 3;
+
+    private MockWebServer mockWebServer;
+    private ConnectionProvider connectionProvider;
+    private BlotatoReactiveClient client;
+    private final Map<String, AtomicInteger> checksByCreation = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String creationId = request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+                if (creationId.startsWith("failing")) {
+                    return json("{\"item\": {\"id\": \"" + creationId + "\", \"status\": \"failed\"}}");
+                }
+                int checks = checksByCreation.computeIfAbsent(creationId, id -> new AtomicInteger()).incrementAndGet();
+                if (checks < CHECKS_BEFORE_READY) {
+                    return json("{\"item\": {\"id\": \"" + creationId + "\", \"status\": \"processing\"}}");
+                }
+                return json("{\"item\": {\"id\": \"" + creationId + "\", \"status\": \"completed\", "
+                        + "\"videoUrl\": \"https://cdn.example.com/" + creationId + ".mp4\"}}");
+            }
+        });
+        mockWebServer.start();
+        // Same pool settings as production: at most 50 connections to the provider
+        OutboundHttpConfig config = new OutboundHttpConfig();
+        connectionProvider = config.outboundConnectionProvider(new OutboundHttpPoolMetrics(), 50, 5_000, 30_000, 30, 300, 30);
+        WebClient.Builder webClientBuilder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(config.outboundHttpClient(connectionProvider, 5000, 30000, true)));
+        client = new BlotatoReactiveClient(webClientBuilder, "test-key",
+                mockWebServer.url("").toString().replaceAll("/$", ""), "template",
+                new OutboundRetries(new MockEnvironment()), 50, 30);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionProvider.dispose();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void awaitVideoUrlPollsUntilCompleted() {
+        String videoUrl = client.awaitVideoUrl("creation-1").block(Duration.ofSeconds(10));
+
+        assertThat(videoUrl).isEqualTo("https://cdn.example.com/creation-1.mp4");
+        assertThat(checksByCreation.get("creation-1")).hasValue(CHECKS_BEFORE_READY);
+    }
+
+    @Test
+    void awaitVideoUrlStopsOnProviderFailure() {
+        assertThatThrownBy(() -> client.awaitVideoUrl("failing-1").block(Duration.ofSeconds(10)))
+                .isInstanceOf(VideoCreationFailedException.class);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void thousandsOfCreationsAreAwaitedWithoutAThreadEach() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        int baseline = threads.getThreadCount();
+
+        List<String> urls = Flux.range(0, 1_000)
+                .flatMap(i -> client.awaitVideoUrl("creation-" + i), 1_000)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        assertThat(urls).hasSize(1_000).doesNotHaveDuplicates();
+        // Mock server connection threads and event loops only, nowhere near one thread per creation
+        assertThat(threads.getPeakThreadCount() - baseline).isLessThan(100);
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().addHeader("Content-Type", "application/json").setBody(body);
+    }
+}
@@ -0,0 +1,136 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class BlotatoResponsesTest {
+
+    // Shape of a real status response: the fields we read sit among scenes, captions and media metadata
+    private static final String PROCESSING_STATUS = """
+            {"item": {"id": "cr_8f14e45fceea167a5a36dedd4bea2543", "status": "processing",
+              "createdAt": "2025-10-01T12:00:00.000Z", "updatedAt": "2025-10-01T12:00:05.000Z",
+              "template": {"id": "base/slides/quote-card", "name": "Quote card", "version": 3},
+              "script": "Announcing our autumn collection: fresh colours, recycled fabrics and free shipping all week long.",
+              "style": "cinematic", "progress": 0.42, "videoUrl": null, "thumbnailUrl": null,
+              "scenes": [
+                {"index": 0, "text": "Announcing our autumn collection", "durationMs": 3500, "imageUrls": ["https://cdn.example.com/a/0.png", "https://cdn.example.com/a/1.png"]},
+                {"index": 1, "text": "Fresh colours, recycled fabrics", "durationMs": 4000, "imageUrls": ["https://cdn.example.com/b/0.png"]},
+                {"index": 2, "text": "Free shipping all week long", "durationMs": 3000, "imageUrls": ["https://cdn.example.com/c/0.png", "https://cdn.example.com/c/1.png"]}
+              ],
+              "captions": {"language": "en", "burnIn": true, "font": {"family": "Inter", "size": 42, "color": "#ffffff"}},
+              "voice": {"provider": "elevenlabs", "voiceId": "EXAVITQu4vr4xnSDxMaL", "speed": 1.05},
+              "usage": {"credits": 12, "renderSeconds": 0}}}
+            """;
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsNestedStatusAndSkipsEverythingElse() {
+        BlotatoCreation creation = parse(PROCESSING_STATUS);
+
+        assertThat(creation).isEqualTo(new BlotatoCreation("cr_8f14e45fceea167a5a36dedd4bea2543", "processing", null));
+        assertThat(creation.isCompleted()).isFalse();
+    }
+
+    @Test
+    void prefersRootFieldsAndFallsBackToNestedOnes() {
+        assertThat(parse("""
+                {"id": 42, "data": {"id": "ignored"}, "status": "completed", "videoUrl": "https://cdn.example.com/root.mp4",
+                 "item": {"id": "nested", "status": "processing", "videoUrl": "https://cdn.example.com/nested.mp4"}}
+                """)).isEqualTo(new BlotatoCreation("42", "completed", "https://cdn.example.com/root.mp4"));
+
+        assertThat(parse("""
+                {"data": {"id": "cr_1"}, "item": {"status": "completed", "resultUrl": "https://cdn.example.com/result.mp4"}}
+                """)).isEqualTo(new BlotatoCreation("cr_1", "completed", "https://cdn.example.com/result.mp4"));
+    }
+
+    @Test
+    void ignoresFieldsOfUnexpectedTypes() {
+        assertThat(parse("""
+                {"id": {"value": "x"}, "status": 3, "item": ["not", "an", "object"], "videoUrl": ["https://x"]}
+                """)).isEqualTo(BlotatoCreation.EMPTY);
+        assertThat(parse("[]")).isEqualTo(BlotatoCreation.EMPTY);
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThatThrownBy(() -> parse("{\"item\": {\"id\": "))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Unreadable Blotato response");
+    }
+
+    @Test
+    void readsDecodedWebhookPayloads() {
+        Map<String, Object> callback = Map.of("item", Map.of("id", "cr_2", "status", "completed",
+                "videoUrl", "https://cdn.example.com/2.mp4", "scenes", List.of(Map.of("index", 0))));
+
+        assertThat(BlotatoResponses.parse(callback))
+                .isEqualTo(new BlotatoCreation("cr_2", "completed", "https://cdn.example.com/2.mp4"));
+    }
+
+    /**
+     * Compares bytes allocated per status check by the streaming read with the previous approach of
+     * decoding the whole body into a {@code Map} and probing it, on the same bytes. Measured with the
+     * per-thread allocation counter of the JVM; JMH is not available in this build.
+     */
+    @Test
+    void streamingReadAllocatesLessThanMapDecoding() throws Exception {
+        byte[] payload = PROCESSING_STATUS.getBytes(StandardCharsets.UTF_8);
+        ToIntFunction<byte[]> streaming = body -> {
+            BlotatoCreation creation = BlotatoResponses.parse(DefaultDataBufferFactory.sharedInstance.wrap(body));
+            return creation.isCompleted() ? 1 : 0;
+        };
+        ToIntFunction<byte[]> mapDecoding = body -> {
+            try {
+                Map<String, Object> decoded = objectMapper.readValue(body, MAP_TYPE);
+                return decoded.get("item") instanceof Map<?, ?> item && "completed".equals(item.get("status")) ? 1 : 0;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        long streamingBytes = allocatedBytesPerCall(streaming, payload);
+        long mapBytes = allocatedBytesPerCall(mapDecoding, payload);
+        log.info("Bytes allocated per {}-byte status check: streaming={} map={}", payload.length, streamingBytes, mapBytes);
+
+        assertThat(streamingBytes).isLessThan(mapBytes / 2);
+    }
+
+    private static BlotatoCreation parse(String json) {
+        return BlotatoResponses.parse(DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long allocatedBytesPerCall(ToIntFunction<byte[]> call, byte[] payload) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int sink = 0;
+        // Warm up so the measured loop runs compiled code
+        for (int i = 0; i < 20_000; i++) {
+            sink += call.applyAsInt(payload);
+        }
+
+        int iterations = 20_000;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            sink += call.applyAsInt(payload);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertThat(sink).isZero();
+        return allocated / iterations;
+    }
+}
@@ -0,0 +1,221 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Local stand-in for Blotato's creation API ({@code POST /videos/creations}, {@code GET /videos/creations/{id}}).
+ * Every response waits for a latency drawn from a {@link Latency} model, a share of calls fails with 503,
+ * and each creation turns completed (or failed) once its simulated render time has passed. Settings can be
+ * swapped while the server runs. {@link #main} serves it on a fixed port for manual runs of the app.
+ */
+public final class BlotatoSimulator implements Closeable {
+
+    private static final String CREATIONS_PATH = "/videos/creations";
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, Creation> creations = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong createCalls = new AtomicLong();
+    private final AtomicLong statusCalls = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private volatile Settings settings;
+
+    public BlotatoSimulator(Settings settings) {
+        this.settings = settings;
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                return handle(request);
+            }
+        });
+    }
+
+    public BlotatoSimulator start() throws IOException {
+        server.start();
+        return this;
+    }
+
+    public BlotatoSimulator start(int port) throws IOException {
+        server.start(port);
+        return this;
+    }
+
+    /**
+     * Base URL to configure as {@code blotato.api.base-url}.
+     */
+    public String baseUrl() {
+        return server.url("").toString().replaceAll("/$", "");
+    }
+
+    public void setSettings(Settings settings) {
+        this.settings = settings;
+    }
+
+    public void resetCounters() {
+        createCalls.set(0);
+        statusCalls.set(0);
+        injectedErrors.set(0);
+    }
+
+    public long getCreateCalls() {
+        return createCalls.get();
+    }
+
+    public long getStatusCalls() {
+        return statusCalls.get();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private MockResponse handle(RecordedRequest request) throws InterruptedException {
+        Settings current = settings;
+        String path = request.getPath() == null ? "" : request.getPath();
+        boolean create = "POST".equals(request.getMethod()) && path.equals(CREATIONS_PATH);
+        boolean status = "GET".equals(request.getMethod()) && path.startsWith(CREATIONS_PATH + "/");
+        if (!create && !status) {
+            return new MockResponse().setResponseCode(404);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Thread.sleep((create ? current.createLatency() : current.statusLatency()).nextMillis(random));
+        (create ? createCalls : statusCalls).incrementAndGet();
+        if (random.nextDouble() < (create ? current.createErrorRate() : current.statusErrorRate())) {
+            injectedErrors.incrementAndGet();
+            return json(503, "{\"message\": \"Simulated outage\"}");
+        }
+        return create ? createCreation(current, random) : creationStatus(path.substring(CREATIONS_PATH.length() + 1));
+    }
+
+    private MockResponse createCreation(Settings current, Random random) {
+        String id = "sim-" + nextId.incrementAndGet();
+        long minMillis = current.minCompletion().toMillis();
+        long renderMillis = minMillis + (long) (random.nextDouble() * (current.maxCompletion().toMillis() - minMillis));
+        creations.put(id, new Creation(System.nanoTime() + Duration.ofMillis(renderMillis).toNanos(),
+                random.nextDouble() < current.failedCreationRate()));
+        return json(201, "{\"item\": {\"id\": \"" + id + "\", \"status\": \"queued\"}}");
+    }
+
+    private MockResponse creationStatus(String id) {
+        Creation creation = creations.get(id);
+        if (creation == null) {
+            return json(404, "{\"message\": \"Creation not found\"}");
+        }
+        if (System.nanoTime() - creation.readyAtNanos() < 0) {
+            return json(200, "{\"item\": {\"id\": \"" + id + "\", \"status\": \"processing\", \"videoUrl\": null}}");
+        }
+        if (creation.failed()) {
+            return json(200, "{\"item\": {\"id\": \"" + id + "\", \"status\": \"failed\"}}");
+        }
+        return json(200, "{\"item\": {\"id\": \"" + id + "\", \"status\": \"completed\", "
+                + "\"videoUrl\": \"https://cdn.example.com/" + id + ".mp4\"}}");
+    }
+
+    private static MockResponse json(int status, String body) {
+        return new MockResponse()
+                .setResponseCode(status)
+                .addHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+
+    /**
+     * Serves the simulator until the process is stopped: {@code [port] [median-ms] [p99-ms] [error-rate]}.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8081;
+        Latency latency = args.length > 2
+                ? Latency.logNormal(Long.parseLong(args[1]), Long.parseLong(args[2]))
+                : Latency.logNormal(80, 400);
+        double errorRate = args.length > 3 ? Double.parseDouble(args[3]) : 0.01;
+        BlotatoSimulator simulator = new BlotatoSimulator(Settings.defaults()
+                .withLatency(latency)
+                .withErrorRate(errorRate)).start(port);
+        System.out.println("Blotato simulator listening on " + simulator.baseUrl());
+        Thread.currentThread().join();
+    }
+
+    private record Creation(long readyAtNanos, boolean failed) {
+    }
+
+    /**
+     * Response latency in milliseconds.
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        long nextMillis(Random random);
+
+        static Latency fixed(long millis) {
+            return random -> millis;
+        }
+
+        static Latency uniform(long minMillis, long maxMillis) {
+            return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+        }
+
+        /**
+         * Long-tailed latency with the given median and 99th percentile, as real APIs tend to show.
+         */
+        static Latency logNormal(long medianMillis, long p99Millis) {
+            double mu = Math.log(medianMillis);
+            double sigma = Math.log((double) p99Millis / medianMillis) / 2.326;
+            return random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    }
+
+    /**
+     * @param failedCreationRate share of creations that end {@code failed} instead of {@code completed}
+     * @param minCompletion      shortest simulated render time; each creation draws uniformly up to {@code maxCompletion}
+     */
+    public record Settings(Latency createLatency, Latency statusLatency, double createErrorRate,
+                           double statusErrorRate, double failedCreationRate,
+                           Duration minCompletion, Duration maxCompletion) {
+
+        public static Settings defaults() {
+            return new Settings(Latency.fixed(0), Latency.fixed(0), 0, 0, 0, Duration.ZERO, Duration.ZERO);
+        }
+
+        public Settings withLatency(Latency latency) {
+            return new Settings(latency, latency, createErrorRate, statusErrorRate, failedCreationRate,
+                    minCompletion, maxCompletion);
+        }
+
+        public Settings withErrorRate(double errorRate) {
+            return new Settings(createLatency, statusLatency, errorRate, errorRate, failedCreationRate,
+                    minCompletion, maxCompletion);
+        }
+
+        public Settings withStatusErrorRate(double errorRate) {
+            return new Settings(createLatency, statusLatency, createErrorRate, errorRate, failedCreationRate,
+                    minCompletion, maxCompletion);
+        }
+
+        public Settings withFailedCreationRate(double rate) {
+            return new Settings(createLatency, statusLatency, createErrorRate, statusErrorRate, rate,
+                    minCompletion, maxCompletion);
+        }
+
+        public Settings withCompletionTime(Duration min, Duration max) {
+            return new Settings(createLatency, statusLatency, createErrorRate, statusErrorRate, failedCreationRate,
+                    min, max);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.announcements.AutomateAnnouncements.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.announcements.AutomateAnnouncements.config.OutboundHttpConfig;
+import com.announcements.AutomateAnnouncements.config.OutboundHttpPoolMetrics;
+import com.announcements.AutomateAnnouncements.integration.retry.OutboundRetries;
+
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HeldCertificate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.tcp.SslProvider;
+
+@Slf4j
+class BlotatoVideoServiceHttpClientTest {
+
+    private static final String READY_BODY = """
+            {"item": {"id": "creation-1", "status": "completed", "videoUrl": "https://cdn.example.com/1.mp4"}}
+            """;
+
+    private MockWebServer mockWebServer;
+    private OutboundHttpPoolMetrics poolMetrics;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .addHeader("Content-Type", "application/json")
+                        .setBody(READY_BODY);
+            }
+        });
+        mockWebServer.start();
+        poolMetrics = new OutboundHttpPoolMetrics();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void statusChecksReuseKeepAliveConnections() throws Exception {
+        BlotatoVideoService service = pooledService(mockWebServer.url("").toString().replaceAll("/$", ""), pooledClient());
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(service.checkVideoStatus("creation-1")).isEqualTo("https://cdn.example.com/1.mp4");
+            // The connection goes back to the pool asynchronously after the body is read
+            awaitConnectionsReleased();
+        }
+
+        // A sequence number of 0 marks the first request on a new connection
+        int connectionsOpened = 0;
+        for (int i = 0; i < 20; i++) {
+            if (mockWebServer.takeRequest(1, TimeUnit.SECONDS).getSequenceNumber() == 0) {
+                connectionsOpened++;
+            }
+        }
+        assertThat(connectionsOpened).isEqualTo(1);
+        assertThat(poolMetrics.snapshot().values()).singleElement()
+                .satisfies(stats -> assertThat(stats.acquired()).isZero())
+                .extracting(OutboundHttpPoolMetrics.PoolSnapshot::allocated).isEqualTo(connectionsOpened);
+    }
+
+    /**
+     * Compares the pooled client with the previous {@code RestTemplate} on
+     * {@link SimpleClientHttpRequestFactory} against a local TLS mock server, both through the blocking
+     * {@code checkVideoStatus} and through the non-blocking path the worker polls with. On loopback a
+     * handshake costs next to nothing, so this guards against the pool costing throughput rather than
+     * showing what it saves over a real network. Run with {@code -Dbenchmark=true}; logs requests/sec and
+     * p99 latency.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkPooledClientAgainstSimpleFactory() throws Exception {
+        HeldCertificate certificate = new HeldCertificate.Builder().addSubjectAlternativeName("localhost").build();
+        // Typed as the generic spec, since the protocol-spec overload of sslContext is deprecated
+        SslProvider.GenericSslContextSpec<SslContextBuilder> serverSsl =
+                Http11SslContextSpec.forServer(certificate.keyPair().getPrivate(), certificate.certificate());
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .secure(spec -> spec.sslContext(serverSsl))
+                .route(routes -> routes.get("/videos/creations/{id}", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just(READY_BODY))))
+                .bindNow();
+        try {
+            String baseUrl = "https://localhost:" + server.port();
+            SSLContext trustAll = SSLContext.getInstance("TLS");
+            trustAll.init(null, InsecureTrustManagerFactory.INSTANCE.getTrustManagers(), null);
+            // One factory instance, since HttpURLConnection only reuses connections opened by the same factory
+            SSLSocketFactory socketFactory = trustAll.getSocketFactory();
+            SimpleClientHttpRequestFactory simpleFactory = new SimpleClientHttpRequestFactory() {
+                @Override
+                protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+                    super.prepareConnection(connection, httpMethod);
+                    ((HttpsURLConnection) connection).setSSLSocketFactory(socketFactory);
+                }
+            };
+            simpleFactory.setConnectTimeout(5000);
+            simpleFactory.setReadTimeout(30000);
+            // The previous BlotatoVideoService setup: RestTemplate on HttpURLConnection
+            RestTemplate simple = new RestTemplate(simpleFactory);
+            String statusUrl = baseUrl + "/videos/creations/creation-1";
+            BooleanSupplier simpleCall = () -> simple.getForObject(statusUrl, Map.class) != null;
+
+            SslProvider.GenericSslContextSpec<SslContextBuilder> clientSsl = Http11SslContextSpec.forClient()
+                    .configure(builder -> builder.trustManager(InsecureTrustManagerFactory.INSTANCE));
+            BlotatoVideoService pooled = pooledService(baseUrl, pooledClient()
+                    .secure(spec -> spec.sslContext(clientSsl)));
+            BooleanSupplier pooledCall = () -> pooled.checkVideoStatus("creation-1") != null;
+
+            // Warm up both clients before measuring
+            run(simpleCall, 32, 3_000);
+            run(pooledCall, 32, 3_000);
+
+            for (int concurrency : new int[] {8, 32, 64}) {
+                report("simple", concurrency, run(simpleCall, concurrency, 10_000));
+                report("pooled", concurrency, run(pooledCall, concurrency, 10_000));
+                report("async", concurrency, runAsync(pooled, concurrency, 10_000));
+            }
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    private void awaitConnectionsReleased() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        // Wait until the connection is idle in the pool again, not just no longer counted as acquired
+        while (poolMetrics.snapshot().values().stream().anyMatch(stats -> stats.acquired() > 0 || stats.idle() < stats.allocated())
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private HttpClient pooledClient() {
+        OutboundHttpConfig config = new OutboundHttpConfig();
+        connectionProvider = config.outboundConnectionProvider(poolMetrics, 50, 500, 5000, 30, 300, 30);
+        return config.outboundHttpClient(connectionProvider, 5000, 30000, false);
+    }
+
+    private static BlotatoVideoService pooledService(String baseUrl, HttpClient httpClient) {
+        WebClient.Builder webClientBuilder = WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
+        return new BlotatoVideoService(new BlotatoReactiveClient(webClientBuilder, "test-key", baseUrl, "template",
+                new OutboundRetries(new MockEnvironment()), 5000, 300));
+    }
+
+    private static Result run(BooleanSupplier call, int concurrency, int requests) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    long requestStart = System.nanoTime();
+                    if (!call.getAsBoolean()) {
+                        throw new IllegalStateException("Status check failed");
+                    }
+                    latencies.add(System.nanoTime() - requestStart);
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            long elapsed = System.nanoTime() - start;
+
+            return Result.of(latencies, elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Result runAsync(BlotatoVideoService service, int concurrency, int requests) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long requestStart = System.nanoTime();
+                    return service.checkVideoStatusAsync("creation-1")
+                            .switchIfEmpty(Mono.error(new IllegalStateException("Status check failed")))
+                            .doOnNext(url -> latencies.add(System.nanoTime() - requestStart));
+                }), concurrency)
+                .blockLast();
+        return Result.of(latencies, System.nanoTime() - start);
+    }
+
+    private static void report(String client, int concurrency, Result result) {
+        log.info("{} concurrency={}: {} req/s, p99={} ms", client, concurrency,
+                Math.round(result.requestsPerSecond()), String.format("%.2f", result.p99Millis()));
+    }
+
+    private record Result(double requestsPerSecond, double p99Millis) {
+
+        static Result of(List<Long> latencies, long elapsedNanos) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+            return new Result(sorted.size() * 1e9 / elapsedNanos, p99 / 1e6);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class GuardedVideoProviderTest {
+
+    private static final ProviderCircuitBreaker.Settings SETTINGS = new ProviderCircuitBreaker.Settings(
+            10, 5, 50, 80, Duration.ofSeconds(10), Duration.ofSeconds(30), 2);
+
+    private final AtomicLong now = new AtomicLong();
+    private final FaultInjectingProvider stub = new FaultInjectingProvider(now);
+    private ProviderGuard guard;
+
+    @Test
+    void opensOnFailureRateAndFailsFastUntilTrialCallsSucceed() {
+        AiVideoProvider provider = guarded(10);
+
+        stub.failing = true;
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> provider.fetchVideoUrl("creation-1")).hasMessage("injected failure");
+        }
+        assertThat(state()).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+
+        // While open nothing reaches the provider
+        assertThatThrownBy(() -> provider.fetchVideoUrl("creation-1"))
+                .isInstanceOfSatisfying(ProviderUnavailableException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+        assertThat(stub.calls).hasValue(5);
+
+        stub.failing = false;
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        provider.fetchVideoUrl("creation-1");
+        assertThat(state()).isEqualTo(ProviderCircuitBreaker.State.HALF_OPEN);
+        provider.fetchVideoUrl("creation-1");
+        assertThat(state()).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        AiVideoProvider provider = guarded(10);
+
+        stub.latency = Duration.ofSeconds(15);
+        for (int i = 0; i < 4; i++) {
+            provider.fetchVideoUrl("creation-1");
+        }
+        stub.latency = Duration.ZERO;
+        provider.fetchVideoUrl("creation-1");
+
+        assertThat(state()).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+        assertThat(guard.snapshot().circuitBreaker().slowCallRate()).isEqualTo(80.0);
+    }
+
+    @Test
+    void failedTrialCallReopensTheBreaker() {
+        AiVideoProvider provider = guarded(10);
+        stub.failing = true;
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> provider.requestVideoCreation("prompt", "style"));
+        }
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThatThrownBy(() -> provider.requestVideoCreation("prompt", "style")).hasMessage("injected failure");
+
+        assertThat(state()).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+        assertThat(guard.snapshot().circuitBreaker().notPermittedCalls()).isZero();
+    }
+
+    @Test
+    void callerErrorsDoNotCountAsProviderFailures() {
+        AiVideoProvider provider = guarded(10);
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> provider.generateVideo("prompt", "style"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        assertThat(state()).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+        assertThat(guard.snapshot().circuitBreaker().failureRate()).isZero();
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        AiVideoProvider provider = guarded(2);
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        stub.onCall = () -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        };
+
+        CompletableFuture<?> first = CompletableFuture.runAsync(() -> provider.fetchVideoUrl("creation-1"));
+        CompletableFuture<?> second = CompletableFuture.runAsync(() -> provider.fetchVideoUrl("creation-2"));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> provider.fetchVideoUrl("creation-3"))
+                .isInstanceOfSatisfying(ProviderUnavailableException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(5)));
+        assertThat(guard.snapshot().activeCalls()).isEqualTo(2);
+
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertThat(guard.snapshot().activeCalls()).isZero();
+        assertThat(guard.snapshot().bulkheadRejections()).isEqualTo(1);
+        assertThat(stub.calls).hasValue(2);
+    }
+
+    @Test
+    void reactiveCallsRejectAtOnceWhenFullAndFreeTheirSlotWhenCancelled() throws Exception {
+        ReactiveAiVideoProvider provider = guarded(1).reactive();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        stub.onCall = () -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        };
+
+        Disposable first = provider.fetchVideoUrl("creation-1").subscribe();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> provider.fetchVideoUrl("creation-2").block(Duration.ofSeconds(5)))
+                .isInstanceOf(ProviderUnavailableException.class);
+
+        first.dispose();
+        assertThat(guard.snapshot().activeCalls()).isZero();
+        assertThat(guard.snapshot().circuitBreaker().bufferedCalls()).isZero();
+
+        release.countDown();
+        assertThat(provider.fetchVideoUrl("creation-3").blockOptional(Duration.ofSeconds(5))).isEmpty();
+        assertThat(guard.snapshot().circuitBreaker().bufferedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledTrialCallHandsItsPermitBack() {
+        AiVideoProvider provider = guarded(10);
+        stub.failing = true;
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> provider.fetchVideoUrl("creation-1"));
+        }
+        stub.failing = false;
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Both trial permits are taken and abandoned before the provider answers
+        for (int i = 0; i < 2; i++) {
+            guard.callAsync(Mono.never(), true).subscribe().dispose();
+        }
+        ReactiveAiVideoProvider reactive = provider.reactive();
+        reactive.fetchVideoUrl("creation-1").block(Duration.ofSeconds(5));
+        reactive.fetchVideoUrl("creation-1").block(Duration.ofSeconds(5));
+
+        assertThat(state()).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+    }
+
+    private AiVideoProvider guarded(int maxConcurrentCalls) {
+        guard = new ProviderGuard(VideoProviderType.BLOTATO,
+                new ProviderCircuitBreaker("BLOTATO", SETTINGS, now::get),
+                maxConcurrentCalls, Duration.ZERO, Duration.ofSeconds(5), now::get);
+        return new GuardedVideoProvider(stub, guard);
+    }
+
+    private ProviderCircuitBreaker.State state() {
+        return guard.snapshot().circuitBreaker().state();
+    }
+
+    /**
+     * Provider stub whose failures and latency are switched by the test. Latency advances the fake clock
+     * instead of sleeping.
+     */
+    private static final class FaultInjectingProvider implements AiVideoProvider {
+
+        private final AtomicLong clock;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile Duration latency = Duration.ZERO;
+        private volatile BlockingAction onCall = () -> { };
+
+        private FaultInjectingProvider(AtomicLong clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public VideoProviderType getType() {
+            return VideoProviderType.BLOTATO;
+        }
+
+        @Override
+        public String requestVideoCreation(String prompt, String style) {
+            invoke();
+            return "creation-" + calls.get();
+        }
+
+        @Override
+        public Optional<String> fetchVideoUrl(String creationId) {
+            invoke();
+            return Optional.empty();
+        }
+
+        @Override
+        public String generateVideo(String prompt, String style) {
+            throw new UnsupportedOperationException("Synchronous generation is not supported");
+        }
+
+        private void invoke() {
+            calls.incrementAndGet();
+            try {
+                onCall.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            clock.addAndGet(latency.toNanos());
+            if (failing) {
+                throw new IllegalStateException("injected failure");
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlockingAction {
+        void run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,164 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import com.announcements.AutomateAnnouncements.integration.VideoCreationFailedException;
+
+class LocalVideoGenerationsTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ManualExecutor executor = new ManualExecutor();
+    private final LocalVideoGenerations generations = new LocalVideoGenerations(executor, "node-1",
+            Set.of("node-1", "node-2")::contains, Duration.ofMinutes(10), Duration.ofSeconds(5), now::get);
+
+    @Test
+    void runsSynchronousGenerationsBehindTheAsyncContract() {
+        AtomicInteger generated = new AtomicInteger();
+        AiVideoProvider provider = new LocalAsyncVideoProvider(stub(() -> {
+            generated.incrementAndGet();
+            return "file:/videos/generated.mp4";
+        }), generations);
+
+        assertThat(provider.supportsAsyncOperations()).isTrue();
+        String creationId = provider.requestVideoCreation("prompt", "style");
+        assertThat(generated).hasValue(0);
+        assertThat(provider.fetchVideoUrl(creationId)).isEmpty();
+        assertThat(provider.reactive().fetchVideoUrl(creationId).blockOptional()).isEmpty();
+
+        executor.runAll();
+        assertThat(provider.fetchVideoUrl(creationId)).contains("file:/videos/generated.mp4");
+        assertThat(provider.reactive().fetchVideoUrl(creationId).block()).isEqualTo("file:/videos/generated.mp4");
+        assertThat(generated).hasValue(1);
+    }
+
+    @Test
+    void failedGenerationsFailTheCreationAndExpireAfterTheTtl() {
+        String creationId = generations.submit(VideoProviderType.SORA, () -> {
+            throw new IllegalStateException("render crashed");
+        });
+        executor.runAll();
+
+        assertThatThrownBy(() -> generations.result(VideoProviderType.SORA, creationId))
+                .isInstanceOf(VideoCreationFailedException.class)
+                .hasMessageContaining("render crashed");
+
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        generations.purgeExpired();
+        assertThat(generations.size()).isZero();
+        assertThatThrownBy(() -> generations.result(VideoProviderType.SORA, creationId))
+                .isInstanceOf(VideoCreationFailedException.class)
+                .hasMessageContaining("unknown or expired");
+    }
+
+    @Test
+    void refusedGenerationsAreQueuedAgainAfterTheRetryAfter() {
+        AtomicInteger attempts = new AtomicInteger();
+        String creationId = generations.submit(VideoProviderType.SORA, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ProviderUnavailableException(VideoProviderType.SORA, "Circuit breaker for SORA is open",
+                        Duration.ofSeconds(30));
+            }
+            return "file:/videos/generated.mp4";
+        });
+        executor.runAll();
+
+        assertThatThrownBy(() -> generations.result(VideoProviderType.SORA, creationId))
+                .isInstanceOfSatisfying(ProviderUnavailableException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(generations.result(VideoProviderType.SORA, creationId)).isEmpty();
+        executor.runAll();
+        assertThat(generations.result(VideoProviderType.SORA, creationId)).contains("file:/videos/generated.mp4");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void fullQueuesAndOtherNodesCreationsDeferInsteadOfFailing() {
+        executor.rejecting = true;
+        assertThatThrownBy(() -> generations.submit(VideoProviderType.SORA, () -> "unused"))
+                .isInstanceOfSatisfying(ProviderUnavailableException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(5)));
+        assertThat(generations.size()).isZero();
+
+        assertThatThrownBy(() -> generations.result(VideoProviderType.SORA, "local:node-2:0b3c"))
+                .isInstanceOf(ProviderUnavailableException.class);
+    }
+
+    @Test
+    void creationsOfANodeThatIsGoneFailInsteadOfWaitingForTheDeadline() {
+        // This node before a restart, and a node that stopped reporting in
+        assertThatThrownBy(() -> generations.result(VideoProviderType.SORA, "local:node-1:7f21"))
+                .isInstanceOf(VideoCreationFailedException.class);
+        assertThatThrownBy(() -> generations.result(VideoProviderType.SORA, "local:node-3:7f21"))
+                .isInstanceOf(VideoCreationFailedException.class)
+                .hasMessageContaining("node-3");
+    }
+
+    private static AiVideoProvider stub(Supplier<String> generation) {
+        return new AiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return VideoProviderType.SORA;
+            }
+
+            @Override
+            public String requestVideoCreation(String prompt, String style) {
+                throw new UnsupportedOperationException("Sora does not support asynchronous generation");
+            }
+
+            @Override
+            public Optional<String> fetchVideoUrl(String creationId) {
+                return Optional.empty();
+            }
+
+            @Override
+            public String generateVideo(String prompt, String style) {
+                return generation.get();
+            }
+
+            @Override
+            public boolean supportsAsyncOperations() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Queues tasks until the test runs them, so every state of a generation can be observed.
+     */
+    private static final class ManualExecutor implements TaskExecutor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean rejecting;
+
+        @Override
+        public void execute(Runnable task) {
+            if (rejecting) {
+                throw new TaskRejectedException("queue full");
+            }
+            tasks.add(task);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.repositories.ProviderRateLimitRepository;
+
+@SpringBootTest(classes = AutomatAununciosApplication.class)
+class ProviderRateLimiterTest {
+
+    @Autowired
+    private ProviderRateLimitRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void clearBuckets() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void localLimiterAllowsBurstThenRefillsAtRate() {
+        LocalRateLimiter limiter = new LocalRateLimiter(2, 3, now::get);
+
+        assertThat(limiter.availablePermits()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire()).isZero();
+        }
+        assertThat(limiter.availablePermits()).isZero();
+        assertThat(limiter.tryAcquire()).isEqualTo(Duration.ofMillis(500));
+
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isPositive();
+
+        // Idle time refills only up to the burst
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(limiter.availablePermits()).isEqualTo(3);
+    }
+
+    @Test
+    void localLimiterNeverHandsOutMoreThanTheBurstConcurrently() throws Exception {
+        LocalRateLimiter limiter = new LocalRateLimiter(10, 50, now::get);
+
+        assertThat(acquireConcurrently(List.of(limiter), 1_000)).isEqualTo(50);
+    }
+
+    @Test
+    void sharedLimitersOnDifferentNodesDrawFromOneQuota() {
+        SharedRateLimiter nodeA = shared();
+        SharedRateLimiter nodeB = shared();
+
+        assertThat(nodeA.tryAcquire()).isZero();
+        assertThat(nodeA.tryAcquire()).isZero();
+        assertThat(nodeB.tryAcquire()).isZero();
+        assertThat(nodeB.availablePermits()).isZero();
+        assertThat(nodeB.tryAcquire()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(nodeA.tryAcquire()).isEqualTo(Duration.ofSeconds(1));
+
+        now.addAndGet(1_000);
+        assertThat(nodeB.tryAcquire()).isZero();
+        assertThat(nodeA.tryAcquire()).isPositive();
+    }
+
+    @Test
+    void sharedLimitersHandOutTheBurstOnceUnderContention() throws Exception {
+        assertThat(acquireConcurrently(List.of(shared(), shared()), 200)).isEqualTo(3);
+    }
+
+    @Test
+    void overQuotaCallsAreDeferredWithoutReachingTheProvider() {
+        AtomicInteger calls = new AtomicInteger();
+        AiVideoProvider provider = new RateLimitedVideoProvider(new CountingProvider(calls),
+                new LocalRateLimiter(1, 1, now::get));
+
+        provider.fetchVideoUrl("creation-1");
+        assertThatThrownBy(() -> provider.requestVideoCreation("prompt", "style"))
+                .isInstanceOfSatisfying(ProviderUnavailableException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1)));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void sharedLimitersSpendLeasedTokensWithoutTheDatabase() {
+        AtomicInteger transactions = new AtomicInteger();
+        TransactionTemplate countingTemplate = new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactions.incrementAndGet();
+                return super.execute(action);
+            }
+        };
+        SharedRateLimiter nodeA = new SharedRateLimiter(VideoProviderType.BLOTATO, 1, 3, 2, repository,
+                countingTemplate, now::get);
+        SharedRateLimiter nodeB = shared();
+
+        assertThat(nodeA.tryAcquire()).isZero();
+        assertThat(nodeA.tryAcquire()).isZero();
+        assertThat(transactions).hasValue(1);
+        // The lease came out of the shared quota
+        assertThat(nodeB.tryAcquire()).isZero();
+        assertThat(nodeB.tryAcquire()).isPositive();
+
+        // A lease left unspent is dropped, not spent late
+        assertThat(nodeA.tryAcquire()).isPositive();
+        now.addAndGet(2_000);
+        assertThat(nodeA.tryAcquire()).isZero();
+        now.addAndGet(1_000);
+        assertThat(nodeA.tryAcquire()).isZero();
+        assertThat(nodeA.availablePermits()).isZero();
+        assertThat(transactions).hasValue(4);
+    }
+
+    private SharedRateLimiter shared() {
+        return new SharedRateLimiter(VideoProviderType.BLOTATO, 1, 3, 1, repository,
+                new TransactionTemplate(transactionManager), now::get);
+    }
+
+    private static int acquireConcurrently(List<? extends ProviderRateLimiter> limiters, int attempts) throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, attempts)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        if (limiters.get(i % limiters.size()).tryAcquire().isZero()) {
+                            granted.incrementAndGet();
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdown();
+        }
+        return granted.get();
+    }
+
+    private static final class CountingProvider implements AiVideoProvider {
+
+        private final AtomicInteger calls;
+
+        private CountingProvider(AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public VideoProviderType getType() {
+            return VideoProviderType.BLOTATO;
+        }
+
+        @Override
+        public String requestVideoCreation(String prompt, String style) {
+            return "creation-" + calls.incrementAndGet();
+        }
+
+        @Override
+        public Optional<String> fetchVideoUrl(String creationId) {
+            calls.incrementAndGet();
+            return Optional.empty();
+        }
+
+        @Override
+        public String generateVideo(String prompt, String style) {
+            throw new UnsupportedOperationException("Synchronous generation is not supported");
+        }
+    }
+}
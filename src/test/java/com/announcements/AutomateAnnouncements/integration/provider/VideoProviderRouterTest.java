@@ -0,0 +1,164 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class VideoProviderRouterTest {
+
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("video.routing.exploration-rate", "0")
+            .withProperty("video.routing.hedge.min-delay-ms", "50")
+            .withProperty("video.routing.hedge.minimum-samples", "5")
+            .withProperty("video.provider.guard.window-size", "2")
+            .withProperty("video.provider.guard.minimum-calls", "2");
+    private final VideoProviderGuards guards = new VideoProviderGuards(environment);
+    private final VideoProviderRouter router = new VideoProviderRouter(environment, guards);
+    private final CountDownLatch releaseSlowCalls = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowCalls.countDown();
+    }
+
+    @Test
+    void routesCreationsToTheFastestHealthyProvider() {
+        List<AiVideoProvider> candidates = List.of(stub(VideoProviderType.BLOTATO), stub(VideoProviderType.SORA));
+
+        // Without samples the preferred provider wins the tie
+        assertThat(router.route(candidates, VideoProviderType.BLOTATO).getType()).isEqualTo(VideoProviderType.BLOTATO);
+
+        record(VideoProviderType.BLOTATO, 5, Duration.ofMillis(800), false);
+        record(VideoProviderType.SORA, 5, Duration.ofMillis(200), false);
+        assertThat(router.route(candidates, VideoProviderType.BLOTATO).getType()).isEqualTo(VideoProviderType.SORA);
+
+        // A rising error rate outweighs the latency advantage
+        record(VideoProviderType.SORA, 10, Duration.ofMillis(5), true);
+        assertThat(router.route(candidates, VideoProviderType.BLOTATO).getType()).isEqualTo(VideoProviderType.BLOTATO);
+        assertThat(snapshot(VideoProviderType.SORA).errorRate()).isGreaterThan(80);
+    }
+
+    @Test
+    void failsOverWhileTheBreakerIsOpen() {
+        List<AiVideoProvider> candidates = List.of(stub(VideoProviderType.BLOTATO), stub(VideoProviderType.SORA));
+        record(VideoProviderType.BLOTATO, 5, Duration.ofMillis(100), false);
+        record(VideoProviderType.SORA, 5, Duration.ofMillis(900), false);
+
+        ProviderGuard blotatoGuard = guards.forProvider(VideoProviderType.BLOTATO);
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> blotatoGuard.call(() -> {
+                throw new IllegalStateException("provider down");
+            }, true));
+        }
+
+        assertThat(router.route(candidates, VideoProviderType.BLOTATO).getType()).isEqualTo(VideoProviderType.SORA);
+        assertThat(snapshot(VideoProviderType.BLOTATO))
+                .satisfies(blotato -> assertThat(blotato.circuitOpen()).isTrue())
+                .satisfies(blotato -> assertThat(blotato.failovers()).isEqualTo(1));
+        assertThat(snapshot(VideoProviderType.SORA).routedCreations()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgesGenerationsThatOutlastTheDelay() {
+        AiVideoProvider primary = measured(stub(VideoProviderType.BLOTATO, () -> {
+            awaitRelease();
+            return "https://primary.example.com/video.mp4";
+        }));
+        AiVideoProvider secondary = measured(stub(VideoProviderType.SORA, () -> "https://hedge.example.com/video.mp4"));
+        AiVideoProvider hedged = new HedgingVideoProvider(primary, secondary, router);
+
+        long startedAt = System.nanoTime();
+        assertThat(hedged.generateVideo("prompt", "style")).isEqualTo("https://hedge.example.com/video.mp4");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(snapshot(VideoProviderType.BLOTATO))
+                .satisfies(blotato -> assertThat(blotato.hedgedGenerations()).isEqualTo(1))
+                .satisfies(blotato -> assertThat(blotato.hedgeWins()).isEqualTo(1));
+    }
+
+    @Test
+    void fastGenerationsAreNotHedgedAndRefusalsFailOverAtOnce() {
+        AiVideoProvider secondary = stub(VideoProviderType.SORA, () -> "https://hedge.example.com/video.mp4");
+        AiVideoProvider fast = new HedgingVideoProvider(stub(VideoProviderType.BLOTATO,
+                () -> "https://primary.example.com/video.mp4"), secondary, router);
+        AiVideoProvider refusing = new HedgingVideoProvider(stub(VideoProviderType.BLOTATO, () -> {
+            throw new ProviderUnavailableException(VideoProviderType.BLOTATO, "Circuit breaker for BLOTATO is open",
+                    Duration.ofSeconds(30));
+        }), secondary, router);
+
+        assertThat(fast.generateVideo("prompt", "style")).isEqualTo("https://primary.example.com/video.mp4");
+        assertThat(refusing.generateVideo("prompt", "style")).isEqualTo("https://hedge.example.com/video.mp4");
+        assertThat(snapshot(VideoProviderType.BLOTATO).hedgedGenerations()).isZero();
+    }
+
+    @Test
+    void hedgeDelayFollowsThePercentileOfRecentGenerations() {
+        assertThat(router.hedgeDelay(VideoProviderType.BLOTATO)).isEqualTo(Duration.ofMillis(50));
+
+        for (int i = 1; i <= 20; i++) {
+            router.recordCall(VideoProviderType.BLOTATO, Duration.ofMillis(i * 100L).toNanos(), false, true);
+        }
+
+        assertThat(router.hedgeDelay(VideoProviderType.BLOTATO)).isEqualTo(Duration.ofMillis(1900));
+    }
+
+    private void record(VideoProviderType type, int calls, Duration latency, boolean failed) {
+        for (int i = 0; i < calls; i++) {
+            router.recordCall(type, latency.toNanos(), failed, false);
+        }
+    }
+
+    private VideoProviderRouter.Snapshot snapshot(VideoProviderType type) {
+        return router.snapshot().stream().filter(snapshot -> snapshot.provider() == type).findFirst().orElseThrow();
+    }
+
+    private AiVideoProvider measured(AiVideoProvider provider) {
+        return new MeasuredVideoProvider(provider, router);
+    }
+
+    private void awaitRelease() {
+        try {
+            releaseSlowCalls.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AiVideoProvider stub(VideoProviderType type) {
+        return stub(type, () -> "https://" + type.name().toLowerCase() + ".example.com/video.mp4");
+    }
+
+    private static AiVideoProvider stub(VideoProviderType type, Supplier<String> generation) {
+        return new AiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return type;
+            }
+
+            @Override
+            public String requestVideoCreation(String prompt, String style) {
+                return type.name().toLowerCase() + "-creation";
+            }
+
+            @Override
+            public Optional<String> fetchVideoUrl(String creationId) {
+                return Optional.empty();
+            }
+
+            @Override
+            public String generateVideo(String prompt, String style) {
+                return generation.get();
+            }
+        };
+    }
+}
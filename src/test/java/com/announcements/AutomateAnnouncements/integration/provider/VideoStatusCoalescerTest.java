@@ -0,0 +1,152 @@
+package com.announcements.AutomateAnnouncements.integration.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class VideoStatusCoalescerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final VideoStatusCoalescer coalescer =
+            new VideoStatusCoalescer(Duration.ofSeconds(5), Duration.ofMinutes(10), now::get);
+
+    @Test
+    void concurrentChecksShareOneProviderRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StubProvider provider = new StubProvider(creationId -> {
+            await(release);
+            return Optional.empty();
+        });
+
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Optional<String>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.fetchVideoUrl(provider, "creation-1")));
+            }
+            // Let every caller reach the in-flight request before the provider answers
+            while (coalescer.getSharedCallCount() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<Optional<String>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEmpty();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(provider.calls).hasValue(1);
+    }
+
+    @Test
+    void stillProcessingIsReusedUntilThePendingTtlExpires() {
+        StubProvider provider = new StubProvider(creationId -> Optional.empty());
+
+        coalescer.fetchVideoUrl(provider, "creation-1");
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        coalescer.fetchVideoUrl(provider, "creation-1");
+        assertThat(provider.calls).hasValue(1);
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        coalescer.fetchVideoUrl(provider, "creation-1");
+        assertThat(provider.calls).hasValue(2);
+    }
+
+    @Test
+    void completedUrlIsKeptUntilEvicted() {
+        StubProvider provider = new StubProvider(creationId -> Optional.of("https://cdn.example.com/1.mp4"));
+
+        coalescer.fetchVideoUrl(provider, "creation-1");
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertThat(coalescer.fetchVideoUrl(provider, "creation-1")).contains("https://cdn.example.com/1.mp4");
+        assertThat(provider.calls).hasValue(1);
+
+        coalescer.evict("creation-1");
+        assertThat(coalescer.size()).isZero();
+        coalescer.fetchVideoUrl(provider, "creation-1");
+        assertThat(provider.calls).hasValue(2);
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        AtomicInteger attempts = new AtomicInteger();
+        StubProvider provider = new StubProvider(creationId -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("provider unavailable");
+            }
+            return Optional.empty();
+        });
+
+        assertThatThrownBy(() -> coalescer.fetchVideoUrl(provider, "creation-1"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(coalescer.fetchVideoUrl(provider, "creation-1")).isEmpty();
+        assertThat(provider.calls).hasValue(2);
+    }
+
+    @Test
+    void purgeDropsExpiredEntries() {
+        StubProvider provider = new StubProvider(creationId -> Optional.empty());
+        coalescer.fetchVideoUrl(provider, "creation-1");
+        coalescer.fetchVideoUrl(provider, "creation-2");
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        coalescer.purgeExpired();
+
+        assertThat(coalescer.size()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class StubProvider implements AiVideoProvider {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Function<String, Optional<String>> status;
+
+        private StubProvider(Function<String, Optional<String>> status) {
+            this.status = status;
+        }
+
+        @Override
+        public VideoProviderType getType() {
+            return VideoProviderType.BLOTATO;
+        }
+
+        @Override
+        public String requestVideoCreation(String prompt, String style) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<String> fetchVideoUrl(String creationId) {
+            calls.incrementAndGet();
+            return status.apply(creationId);
+        }
+
+        @Override
+        public String generateVideo(String prompt, String style) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
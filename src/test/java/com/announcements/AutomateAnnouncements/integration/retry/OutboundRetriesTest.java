@@ -0,0 +1,187 @@
+package com.announcements.AutomateAnnouncements.integration.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class OutboundRetriesTest {
+
+    private MockWebServer mockWebServer;
+    private WebClient webClient;
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("outbound.retry.initial-backoff-ms", "10")
+            .withProperty("outbound.retry.max-backoff-ms", "50");
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        webClient = WebClient.builder().baseUrl(mockWebServer.url("/").toString()).build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void retriesServerErrorsUntilSuccess() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(502));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        OutboundRetries retries = new OutboundRetries(environment);
+
+        assertThat(retries.withRetries("test", get()).block(Duration.ofSeconds(5))).isEqualTo("ok");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+        assertThat(retries.getRetryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+        OutboundRetries retries = new OutboundRetries(environment);
+
+        assertThatThrownBy(() -> retries.withRetries("test", get()).block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientResponseException.BadRequest.class);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void waitsForRetryAfterAndGivesUpWhenItIsTooLong() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).addHeader("Retry-After", "1"));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        OutboundRetries retries = new OutboundRetries(environment.withProperty("outbound.retry.max-retry-after-seconds", "5"));
+
+        long startedAt = System.nanoTime();
+        assertThat(retries.withRetries("test", get()).block(Duration.ofSeconds(5))).isEqualTo("ok");
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "120"));
+        assertThatThrownBy(() -> retries.withRetries("test", get()).block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void retryBudgetCapsRetriesDuringAnOutage() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(503);
+            }
+        });
+        OutboundRetries retries = new OutboundRetries(environment
+                .withProperty("outbound.retry.budget.ratio", "0.5")
+                .withProperty("outbound.retry.budget.min-retries-per-second", "0"));
+
+        int calls = 20;
+        Flux.range(0, calls)
+                .concatMap(i -> retries.withRetries("test", get()).onErrorResume(error -> Mono.empty()))
+                .blockLast(Duration.ofSeconds(10));
+
+        // Without the budget every call would make 3 attempts
+        assertThat(mockWebServer.getRequestCount()).isLessThanOrEqualTo(calls + calls / 2);
+        assertThat(retries.getBudgetRejectionCount()).isPositive();
+    }
+
+    @Test
+    void waitsOnSchedulerThreadsInsteadOfTheCaller() {
+        List<String> attemptThreads = new CopyOnWriteArrayList<>();
+        Mono<String> failing = Mono.defer(() -> {
+            attemptThreads.add(Thread.currentThread().getName());
+            return Mono.error(new TimeoutException("simulated timeout"));
+        });
+
+        assertThatThrownBy(() -> new OutboundRetries(environment).withRetries("test", failing).block(Duration.ofSeconds(5)))
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(attemptThreads).hasSize(3);
+        assertThat(attemptThreads.get(0)).isEqualTo(Thread.currentThread().getName());
+        assertThat(attemptThreads.subList(1, 3)).allMatch(name -> name.startsWith("parallel-"));
+    }
+
+    @Test
+    void retriesNonIdempotentCallsOnlyWhenTheServerCannotHaveProcessedThem() throws IOException {
+        OutboundRetries retries = new OutboundRetries(environment);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        assertThat(retries.withNonIdempotentRetries("create", post()).block(Duration.ofSeconds(5))).isEqualTo("ok");
+
+        // A 500 may come after the work was done
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        assertThatThrownBy(() -> retries.withNonIdempotentRetries("create", post()).block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+
+        // Nothing listens on the port, so the request was never sent
+        MockWebServer closed = new MockWebServer();
+        closed.start();
+        String closedUrl = closed.url("/resource").toString();
+        closed.shutdown();
+        AtomicLong attempts = new AtomicLong();
+        Mono<String> refused = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return WebClient.create().post().uri(closedUrl).retrieve().bodyToMono(String.class);
+        });
+        assertThatThrownBy(() -> retries.withNonIdempotentRetries("create", refused).block(Duration.ofSeconds(5)));
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void loadingTheIdempotentPolicyFirstDoesNotWidenNonIdempotentRetries() {
+        OutboundRetries retries = new OutboundRetries(environment);
+        assertThat(retries.policy("create").retryableStatuses()).contains(500);
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        assertThatThrownBy(() -> retries.withNonIdempotentRetries("create", post()).block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        assertThat(retries.nonIdempotentPolicy("create").idempotent()).isFalse();
+        assertThat(retries.policy("create").idempotent()).isTrue();
+    }
+
+    @Test
+    void budgetWindowForgetsOldRequests() {
+        AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(0.5, 0, 10, now::get);
+        for (int i = 0; i < 4; i++) {
+            budget.recordRequest();
+        }
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        budget.recordRequest();
+        budget.recordRequest();
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+    }
+
+    private Mono<String> post() {
+        return webClient.post().uri("/resource").bodyValue("{}").retrieve().bodyToMono(String.class);
+    }
+
+    private Mono<String> get() {
+        return webClient.get().uri("/resource").retrieve().bodyToMono(String.class);
+    }
+}
@@ -9,14 +9,20 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.announcements.AutomateAnnouncements.config.OutboundHttpConfig;
+import com.announcements.AutomateAnnouncements.config.OutboundHttpPoolMetrics;
 import com.announcements.AutomateAnnouncements.dtos.request.ImageGenerationRequestDTO;
 import com.announcements.AutomateAnnouncements.dtos.response.ImageGenerationResponseDTO;
+import com.announcements.AutomateAnnouncements.integration.retry.OutboundRetries;
 
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import reactor.netty.resources.ConnectionProvider;
 
 class ImageGenerationServiceTest {
 
@@ -38,9 +44,11 @@ class ImageGenerationServiceTest {
         String baseUrl = mockWebServer.url("/v1").toString();
         ImageGenerationService service = new ImageGenerationService(
                 WebClient.builder(),
+                new OutboundRetries(new MockEnvironment()),
                 "  \"sk-test\"  ",
                 " '" + baseUrl + "' ",
-                "\"gpt-image-1\"");
+                "\"gpt-image-1\"",
+                120_000);
 
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(200)
@@ -70,4 +78,32 @@ class ImageGenerationServiceTest {
         assertThat(recordedRequest.getHeader(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer sk-test");
         assertThat(recordedRequest.getBody().readUtf8()).contains("\"model\":\"gpt-image-1\"");
     }
+
+    @Test
+    void generationsMayOutlastTheSharedReadTimeout() {
+        OutboundHttpConfig config = new OutboundHttpConfig();
+        ConnectionProvider connectionProvider = config.outboundConnectionProvider(new OutboundHttpPoolMetrics(),
+                50, 500, 5000, 30, 300, 30);
+        try {
+            // The shared client gives up after 200 ms; OpenAI answers after 500 ms
+            WebClient.Builder sharedBuilder = WebClient.builder().clientConnector(
+                    new ReactorClientHttpConnector(config.outboundHttpClient(connectionProvider, 5000, 200, false)));
+            ImageGenerationService service = new ImageGenerationService(sharedBuilder,
+                    new OutboundRetries(new MockEnvironment()), "sk-test", mockWebServer.url("/v1").toString(),
+                    "dall-e-3", 5_000);
+            mockWebServer.enqueue(new MockResponse()
+                    .setHeadersDelay(500, TimeUnit.MILLISECONDS)
+                    .addHeader("Content-Type", "application/json")
+                    .setBody("""
+                            {"data": [{"url": "https://cdn.example.com/img.png"}]}
+                            """));
+
+            ImageGenerationRequestDTO request = new ImageGenerationRequestDTO();
+            request.setPrompt("Bike cat");
+
+            assertThat(service.generateImage(request).getImageUrl()).isEqualTo("https://cdn.example.com/img.png");
+        } finally {
+            connectionProvider.dispose();
+        }
+    }
 }
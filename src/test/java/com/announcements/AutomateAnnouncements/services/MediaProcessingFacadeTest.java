@@ -0,0 +1,176 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+
+class MediaProcessingFacadeTest {
+
+    private final VideoService videoService = mock(VideoService.class);
+    private final VideoGenerationJobService jobService = mock(VideoGenerationJobService.class);
+    private final AiVideoProviderFactory factory = mock(AiVideoProviderFactory.class);
+    private final WorkerNodeRegistry nodes = mock(WorkerNodeRegistry.class);
+    private final VideoResultCache resultCache = mock(VideoResultCache.class);
+    private final MediaProcessingFacade facade = new MediaProcessingFacade(videoService, jobService, factory,
+            resultCache, nodes, 500, 1, 20);
+    private final UserProfile owner = new UserProfile();
+    private final VideoGenerationRequest request = VideoGenerationRequest.builder()
+            .withPrompt("prompt")
+            .withTitle("title")
+            .withDescription("description")
+            .withTargets("instagram")
+            .build();
+
+    private final VideoGenerationJob job = new VideoGenerationJob();
+
+    MediaProcessingFacadeTest() {
+        owner.setId(7);
+        job.setId(42);
+        when(nodes.getNodeId()).thenReturn("node-1");
+        when(jobService.createClaimedJob(7, request, "node-1")).thenReturn(job);
+        when(jobService.markProcessing(42, "node-1", "creation-1", VideoProviderType.BLOTATO)).thenReturn(true);
+        when(resultCache.reserve(VideoProviderType.BLOTATO, "prompt", null))
+                .thenReturn(VideoResultCache.Reservation.reserved("key", VideoProviderType.BLOTATO));
+    }
+
+    @Test
+    void returnsTheVideoWhenItIsReadyBeforeTheDeadline() {
+        when(factory.getCreationProvider()).thenReturn(provider(2));
+
+        MediaProcessingFacade.GenerationResult result = facade.generateVideoWithDeadline(owner, request)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.videoUrl()).isEqualTo("https://cdn.example.com/video.mp4");
+        verify(jobService).markProcessing(42, "node-1", "creation-1", VideoProviderType.BLOTATO);
+        verify(jobService).completeJob(42, "https://cdn.example.com/video.mp4");
+        verify(resultCache).recordCreation(any(), any());
+    }
+
+    @Test
+    void completesFromTheResultCacheWithoutCallingTheProvider() {
+        AtomicInteger creations = new AtomicInteger();
+        when(factory.getCreationProvider()).thenReturn(provider(1, new CountDownLatch(0), creations));
+        when(resultCache.reserve(VideoProviderType.BLOTATO, "prompt", null)).thenReturn(new VideoResultCache.Reservation(
+                VideoResultCache.Outcome.CACHED, "key", VideoProviderType.BLOTATO, "creation-0", "https://cdn.example.com/cached.mp4"));
+
+        MediaProcessingFacade.GenerationResult result = facade.generateVideoWithDeadline(owner, request)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(result.videoUrl()).isEqualTo("https://cdn.example.com/cached.mp4");
+        verify(jobService).completeJob(42, "https://cdn.example.com/cached.mp4");
+        assertThat(creations).hasValue(0);
+    }
+
+    @Test
+    void handsTheCreationToTheJobWhenTheDeadlinePasses() {
+        when(factory.getCreationProvider()).thenReturn(provider(Integer.MAX_VALUE));
+
+        long startedAt = System.nanoTime();
+        MediaProcessingFacade.GenerationResult result = facade.generateVideoWithDeadline(owner, request)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.jobId()).isEqualTo(42);
+        verify(jobService).markProcessing(42, "node-1", "creation-1", VideoProviderType.BLOTATO);
+        verify(jobService, never()).completeJob(any(), any());
+    }
+
+    @Test
+    void theDeadlineCoversASlowCreationRequest() throws Exception {
+        CountDownLatch accepted = new CountDownLatch(1);
+        when(factory.getCreationProvider()).thenReturn(provider(1, accepted));
+
+        long startedAt = System.nanoTime();
+        MediaProcessingFacade.GenerationResult result = facade.generateVideoWithDeadline(owner, request)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(3));
+        assertThat(result.jobId()).isEqualTo(42);
+        accepted.countDown();
+        verify(jobService, timeout(1000)).markProcessing(42, "node-1", "creation-1", VideoProviderType.BLOTATO);
+    }
+
+    @Test
+    void recordsTheCreationEvenWhenTheCallerHasGone() throws Exception {
+        CountDownLatch accepted = new CountDownLatch(1);
+        when(factory.getCreationProvider()).thenReturn(provider(1, accepted));
+
+        Disposable caller = facade.generateVideoWithDeadline(owner, request).subscribe();
+        verify(jobService, timeout(1000)).createClaimedJob(7, request, "node-1");
+        caller.dispose();
+        accepted.countDown();
+
+        verify(jobService, timeout(1000)).markProcessing(42, "node-1", "creation-1", VideoProviderType.BLOTATO);
+    }
+
+    // Async provider whose creation is ready on the given status check
+    private static AiVideoProvider provider(int readyOnCheck) {
+        return provider(readyOnCheck, new CountDownLatch(0));
+    }
+
+    // Same, with a creation request that only returns once accepted is counted down
+    private static AiVideoProvider provider(int readyOnCheck, CountDownLatch accepted) {
+        return provider(readyOnCheck, accepted, new AtomicInteger());
+    }
+
+    private static AiVideoProvider provider(int readyOnCheck, CountDownLatch accepted, AtomicInteger creations) {
+        AtomicInteger checks = new AtomicInteger();
+        return new AiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return VideoProviderType.BLOTATO;
+            }
+
+            @Override
+            public String requestVideoCreation(String prompt, String style) {
+                creations.incrementAndGet();
+                try {
+                    accepted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "creation-1";
+            }
+
+            @Override
+            public Optional<String> fetchVideoUrl(String creationId) {
+                return checks.incrementAndGet() >= readyOnCheck
+                        ? Optional.of("https://cdn.example.com/video.mp4")
+                        : Optional.empty();
+            }
+
+            @Override
+            public String generateVideo(String prompt, String style) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean supportsAsyncOperations() {
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class VideoCallbackServiceTest {
+
+    private final AiVideoProviderFactory factory = mock(AiVideoProviderFactory.class);
+    private final VideoGenerationJobService jobService = mock(VideoGenerationJobService.class);
+
+    @Test
+    void callbacksAreNotFoundWhileDisabled() {
+        VideoCallbackService service = new VideoCallbackService(factory, jobService, new ObjectMapper(), false, "secret");
+
+        assertThatThrownBy(() -> service.handleCallback("blotato", "sha256=" + "0".repeat(64), "{\"id\": \"creation-1\"}"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        verifyNoInteractions(factory, jobService);
+    }
+}
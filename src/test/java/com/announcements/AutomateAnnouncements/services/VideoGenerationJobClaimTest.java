@@ -0,0 +1,191 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.entities.Asset;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.N8nIntegrationService;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import com.announcements.AutomateAnnouncements.repositories.AssetRepository;
+import com.announcements.AutomateAnnouncements.repositories.UserPostRepository;
+import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
+import com.announcements.AutomateAnnouncements.repositories.VideoGenerationJobRepository;
+
+@SpringBootTest(classes = AutomatAununciosApplication.class)
+class VideoGenerationJobClaimTest {
+
+    private static final int JOB_COUNT = 120;
+    private static final int WORKER_COUNT = 4;
+    private static final int POLL_CONCURRENCY = 32;
+
+    @MockitoBean
+    private AiVideoProviderFactory providerFactory;
+
+    @MockitoBean
+    private N8nIntegrationService n8nIntegrationService;
+
+    @Autowired
+    private VideoGenerationJobService jobService;
+
+    @Autowired
+    private VideoGenerationJobRepository jobRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private UserPostRepository userPostRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("videoCompletionExecutor")
+    private TaskExecutor completionExecutor;
+
+    @Test
+    void concurrentWorkersCompleteEachJobExactlyOnce() throws Exception {
+        Map<String, AtomicInteger> fetchesByCreation = new ConcurrentHashMap<>();
+        when(providerFactory.getPollingProvider(any())).thenReturn(new ReadyProvider(fetchesByCreation));
+
+        UserProfile profile = new UserProfile();
+        String authUserId = "claim-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        UserProfile owner = userProfileRepository.save(profile);
+
+        List<Integer> jobIds = new ArrayList<>();
+        for (int i = 0; i < JOB_COUNT; i++) {
+            VideoGenerationJob job = jobService.createClaimedJob(owner.getId(), VideoGenerationRequest.builder()
+                    .withPrompt("prompt " + i).withTitle("title " + i).withDescription("description")
+                    .withTargets("instagram").build(), "submitter");
+            jobService.markProcessing(job.getId(), "submitter", "creation-" + job.getId(), VideoProviderType.BLOTATO);
+            // Make the job due right away instead of after the initial poll delay
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.updatePollSchedule(job.getId(), LocalDateTime.now().minusSeconds(1), 0));
+            jobIds.add(job.getId());
+        }
+
+        List<VideoGenerationWorker> workers = IntStream.rangeClosed(1, WORKER_COUNT)
+                .mapToObj(n -> new VideoGenerationWorker(jobService, providerFactory, POLL_CONCURRENCY,
+                        completionExecutor, "node-" + n, 500))
+                .toList();
+
+        // Start every node's cycle at the same moment so their claims genuinely race
+        CyclicBarrier start = new CyclicBarrier(WORKER_COUNT);
+        List<Thread> threads = workers.stream()
+                .map(worker -> new Thread(() -> {
+                    try {
+                        start.await();
+                        worker.processPendingJobs();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }))
+                .toList();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<VideoGenerationJob> jobs = jobRepository.findAllById(jobIds);
+        assertThat(jobs).hasSize(JOB_COUNT)
+                .allSatisfy(job -> {
+                    assertThat(job.getStatus()).isEqualTo(VideoJobStatus.COMPLETED);
+                    assertThat(job.getClaimedBy()).isNull();
+                    assertThat(fetchesByCreation.get(job.getBlotatoCreationId())).hasValue(1);
+                });
+
+        List<Asset> assets = assetRepository.findAll().stream()
+                .filter(asset -> owner.getId().equals(asset.getOwner()))
+                .toList();
+        assertThat(assets).hasSize(JOB_COUNT);
+        assertThat(userPostRepository.findByOwnerAuthUserIdOrderByCreatedAtDesc(authUserId)).hasSize(JOB_COUNT);
+    }
+
+    @Test
+    void onlyTheNodeHoldingTheLeaseMovesAJobToProcessing() {
+        UserProfile profile = new UserProfile();
+        String authUserId = "lease-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        Integer ownerId = userProfileRepository.save(profile).getId();
+        VideoGenerationJob job = jobService.createJob(ownerId, "prompt", "title", "description", "instagram", null);
+
+        // node-1's lease ran out while its submission was in flight, and node-2 claimed the job
+        transactionTemplate.executeWithoutResult(status ->
+                jobRepository.claimJobs(List.of(job.getId()), "node-1", LocalDateTime.now().minusSeconds(1)));
+        assertThat(jobService.renewLeases("node-1", List.of(job.getId()))).isEqualTo(1);
+        transactionTemplate.executeWithoutResult(status ->
+                jobRepository.claimJobs(List.of(job.getId()), "node-2", LocalDateTime.now().plusMinutes(2)));
+
+        assertThat(jobService.renewLeases("node-1", List.of(job.getId()))).isZero();
+        assertThat(jobService.markProcessing(job.getId(), "node-1", "creation-1", VideoProviderType.BLOTATO)).isFalse();
+        assertThat(jobService.markProcessing(job.getId(), "node-2", "creation-2", VideoProviderType.BLOTATO)).isTrue();
+
+        VideoGenerationJob processing = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(processing.getStatus()).isEqualTo(VideoJobStatus.PROCESSING);
+        assertThat(processing.getBlotatoCreationId()).isEqualTo("creation-2");
+        assertThat(processing.getClaimedBy()).isNull();
+    }
+
+    private static final class ReadyProvider implements AiVideoProvider {
+
+        private final Map<String, AtomicInteger> fetchesByCreation;
+
+        private ReadyProvider(Map<String, AtomicInteger> fetchesByCreation) {
+            this.fetchesByCreation = fetchesByCreation;
+        }
+
+        @Override
+        public VideoProviderType getType() {
+            return VideoProviderType.BLOTATO;
+        }
+
+        @Override
+        public String requestVideoCreation(String prompt, String style) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<String> fetchVideoUrl(String creationId) {
+            fetchesByCreation.computeIfAbsent(creationId, id -> new AtomicInteger()).incrementAndGet();
+            return Optional.of("https://cdn.example.com/" + creationId + ".mp4");
+        }
+
+        @Override
+        public String generateVideo(String prompt, String style) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
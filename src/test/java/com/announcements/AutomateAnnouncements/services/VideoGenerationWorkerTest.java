@@ -0,0 +1,187 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.announcements.AutomateAnnouncements.config.VideoWorkerConfig;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.ProviderUnavailableException;
+import com.announcements.AutomateAnnouncements.integration.provider.ReactiveAiVideoProvider;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Slf4j
+class VideoGenerationWorkerTest {
+
+    private static final int JOBS_PER_CYCLE = 400;
+    private static final long PROVIDER_LATENCY_MS = 50;
+    private static final int POLL_CONCURRENCY = 64;
+
+    private final VideoWorkerConfig config = new VideoWorkerConfig();
+    private ThreadPoolTaskExecutor completionExecutor;
+    private VideoGenerationJobService jobService;
+    private AiVideoProviderFactory providerFactory;
+
+    @BeforeEach
+    void setUp() {
+        completionExecutor = config.videoCompletionExecutor(4, 100);
+        completionExecutor.initialize();
+        jobService = mock(VideoGenerationJobService.class);
+        providerFactory = mock(AiVideoProviderFactory.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        completionExecutor.shutdown();
+    }
+
+    @Test
+    void pollsPendingJobsConcurrentlyAgainstSlowProvider() {
+        AtomicInteger providerCalls = new AtomicInteger();
+        when(providerFactory.getPollingProvider(any())).thenReturn(new StubProvider(providerCalls));
+        when(jobService.claimDueJobs(anyString(), anyList(), anyInt())).thenReturn(pendingJobs(JOBS_PER_CYCLE));
+
+        VideoGenerationWorker worker = new VideoGenerationWorker(jobService, providerFactory, POLL_CONCURRENCY, completionExecutor, "test-node", 500);
+
+        long startedAt = System.nanoTime();
+        worker.processPendingJobs();
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        long sequentialMs = JOBS_PER_CYCLE * PROVIDER_LATENCY_MS;
+        log.info("Polled {} jobs in {} ms ({} jobs/s, sequential baseline ~{} ms)",
+                JOBS_PER_CYCLE, elapsedMs, JOBS_PER_CYCLE * 1000L / Math.max(elapsedMs, 1), sequentialMs);
+
+        assertThat(providerCalls.get()).isEqualTo(JOBS_PER_CYCLE);
+        // Every other job is ready in the stub
+        verify(jobService, times(JOBS_PER_CYCLE / 2)).completeJob(anyInt(), anyString());
+        verify(jobService, times(JOBS_PER_CYCLE / 2)).scheduleNextPoll(any(VideoGenerationJob.class));
+        verify(jobService, never()).failJob(anyInt(), anyString());
+        assertThat(elapsedMs).isLessThan(sequentialMs / 4);
+    }
+
+    @Test
+    void failsJobsWithoutCreationIdWithoutCallingProvider() {
+        AtomicInteger providerCalls = new AtomicInteger();
+        when(providerFactory.getPollingProvider(any())).thenReturn(new StubProvider(providerCalls));
+        VideoGenerationJob job = new VideoGenerationJob();
+        job.setId(1);
+        when(jobService.claimDueJobs(anyString(), anyList(), anyInt())).thenReturn(List.of(job));
+
+        new VideoGenerationWorker(jobService, providerFactory, POLL_CONCURRENCY, completionExecutor, "test-node", 500).processPendingJobs();
+
+        assertThat(providerCalls.get()).isZero();
+        verify(jobService).failJob(1, "Missing Blotato creation ID");
+    }
+
+    @Test
+    void defersJobsWhileProviderRejectsCalls() {
+        AiVideoProvider provider = mock(AiVideoProvider.class);
+        when(provider.reactive()).thenCallRealMethod();
+        when(provider.fetchVideoUrl(anyString())).thenThrow(new ProviderUnavailableException(
+                VideoProviderType.BLOTATO, "Circuit breaker for BLOTATO is open", Duration.ofSeconds(30)));
+        when(providerFactory.getPollingProvider(any())).thenReturn(provider);
+        when(jobService.claimDueJobs(anyString(), anyList(), anyInt())).thenReturn(pendingJobs(3));
+
+        new VideoGenerationWorker(jobService, providerFactory, POLL_CONCURRENCY, completionExecutor, "test-node", 500).processPendingJobs();
+
+        verify(jobService, times(3)).deferJob(any(VideoGenerationJob.class), eq(Duration.ofSeconds(30)));
+        verify(jobService, never()).failJob(anyInt(), anyString());
+        verify(jobService, never()).scheduleNextPoll(any(VideoGenerationJob.class));
+    }
+
+    private List<VideoGenerationJob> pendingJobs(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(id -> {
+                    VideoGenerationJob job = new VideoGenerationJob();
+                    job.setId(id);
+                    job.setStatus(VideoJobStatus.PROCESSING);
+                    job.setBlotatoCreationId("creation-" + id);
+                    return job;
+                })
+                .toList();
+    }
+
+    private static final class StubProvider implements AiVideoProvider {
+
+        private final AtomicInteger calls;
+
+        private StubProvider(AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public VideoProviderType getType() {
+            return VideoProviderType.BLOTATO;
+        }
+
+        @Override
+        public String requestVideoCreation(String prompt, String style) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<String> fetchVideoUrl(String creationId) {
+            calls.incrementAndGet();
+            int id = Integer.parseInt(creationId.substring("creation-".length()));
+            return id % 2 == 0 ? Optional.of("https://cdn.example.com/" + creationId + ".mp4") : Optional.empty();
+        }
+
+        // Answers after the provider latency without holding a thread, as the Blotato client does
+        @Override
+        public ReactiveAiVideoProvider reactive() {
+            ReactiveAiVideoProvider bridge = ReactiveAiVideoProvider.bridge(this, Schedulers.immediate());
+            return new ReactiveAiVideoProvider() {
+                @Override
+                public VideoProviderType getType() {
+                    return VideoProviderType.BLOTATO;
+                }
+
+                @Override
+                public Mono<String> requestVideoCreation(String prompt, String style) {
+                    return bridge.requestVideoCreation(prompt, style);
+                }
+
+                @Override
+                public Mono<String> fetchVideoUrl(String creationId) {
+                    return Mono.delay(Duration.ofMillis(PROVIDER_LATENCY_MS)).then(bridge.fetchVideoUrl(creationId));
+                }
+
+                @Override
+                public Mono<String> generateVideo(String prompt, String style) {
+                    return bridge.generateVideo(prompt, style);
+                }
+            };
+        }
+
+        @Override
+        public String generateVideo(String prompt, String style) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
+import com.announcements.AutomateAnnouncements.repositories.VideoGenerationJobRepository;
+import com.announcements.AutomateAnnouncements.services.listeners.VideoJobEventPublisher;
+
+@SpringBootTest(classes = AutomatAununciosApplication.class)
+class VideoJobReaperTest {
+
+    @MockitoBean
+    private VideoJobEventPublisher jobEventPublisher;
+
+    @Autowired
+    private VideoJobReaper reaper;
+
+    @Autowired
+    private VideoGenerationJobService jobService;
+
+    @Autowired
+    private VideoGenerationJobRepository jobRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Test
+    void reapsOnlyPendingJobsPastTheirDeadline() {
+        UserProfile profile = new UserProfile();
+        String authUserId = "reaper-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        UserProfile owner = userProfileRepository.save(profile);
+
+        VideoGenerationJob stuckQueued = jobService.createJob(owner.getId(), "p", "queued", "d", "instagram", null);
+        VideoGenerationJob stuckProcessing = processingJob(owner, "processing");
+        VideoGenerationJob inTime = jobService.createJob(owner.getId(), "p", "in time", "d", "instagram", null);
+        VideoGenerationJob finished = jobService.createJob(owner.getId(), "p", "finished", "d", "instagram", null);
+        jobService.failJob(finished.getId(), "provider error");
+
+        expire(stuckQueued.getId());
+        expire(stuckProcessing.getId());
+        expire(finished.getId());
+        long reapedBefore = reaper.getReapedCount();
+
+        assertThat(reaper.reapExpiredJobs()).isEqualTo(2);
+        assertThat(reaper.getReapedCount() - reapedBefore).isEqualTo(2);
+
+        assertThat(jobRepository.findAllById(List.of(stuckQueued.getId(), stuckProcessing.getId())))
+                .allSatisfy(job -> {
+                    assertThat(job.getStatus()).isEqualTo(VideoJobStatus.FAILED);
+                    assertThat(job.getErrorMessage()).contains("Timed out");
+                });
+        assertThat(jobRepository.findById(inTime.getId())).get()
+                .extracting(VideoGenerationJob::getStatus).isEqualTo(VideoJobStatus.QUEUED);
+        assertThat(jobRepository.findById(finished.getId())).get()
+                .extracting(VideoGenerationJob::getErrorMessage).isEqualTo("provider error");
+        verify(jobEventPublisher, times(2)).notifyJobFailed(argThat(job ->
+                job.getId().equals(stuckQueued.getId()) || job.getId().equals(stuckProcessing.getId())));
+
+        assertThat(reaper.reapExpiredJobs()).isZero();
+    }
+
+    @Test
+    void pendingJobsWithoutADeadlineAreTimedOutFromTheirCreation() {
+        UserProfile profile = new UserProfile();
+        String authUserId = "reaper-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        UserProfile owner = userProfileRepository.save(profile);
+
+        // Rows persisted before deadline_at existed
+        VideoGenerationJob oldQueued = jobService.createJob(owner.getId(), "p", "old queued", "d", "instagram", null);
+        VideoGenerationJob oldProcessing = processingJob(owner, "old processing");
+        VideoGenerationJob recent = jobService.createJob(owner.getId(), "p", "recent", "d", "instagram", null);
+        clearDeadline(oldQueued.getId(), LocalDateTime.now().minusDays(1));
+        clearDeadline(oldProcessing.getId(), LocalDateTime.now().minusDays(1));
+        clearDeadline(recent.getId(), LocalDateTime.now());
+
+        assertThat(reaper.backfillMissingDeadlines()).isGreaterThanOrEqualTo(3);
+        assertThat(jobRepository.findAllById(List.of(oldQueued.getId(), oldProcessing.getId(), recent.getId())))
+                .allSatisfy(job -> assertThat(job.getDeadlineAt()).isNotNull());
+
+        reaper.reapExpiredJobs();
+        assertThat(jobRepository.findAllById(List.of(oldQueued.getId(), oldProcessing.getId())))
+                .allSatisfy(job -> assertThat(job.getStatus()).isEqualTo(VideoJobStatus.FAILED));
+        assertThat(jobRepository.findById(recent.getId())).get()
+                .extracting(VideoGenerationJob::getStatus).isEqualTo(VideoJobStatus.QUEUED);
+    }
+
+    private VideoGenerationJob processingJob(UserProfile owner, String title) {
+        VideoGenerationRequest request = VideoGenerationRequest.builder()
+                .withPrompt("p").withTitle(title).withDescription("d").withTargets("instagram").build();
+        VideoGenerationJob job = jobService.createClaimedJob(owner.getId(), request, "test-node");
+        jobService.markProcessing(job.getId(), "test-node", "creation-" + UUID.randomUUID(), VideoProviderType.BLOTATO);
+        return job;
+    }
+
+    private void clearDeadline(Integer jobId, LocalDateTime createdAt) {
+        VideoGenerationJob job = jobRepository.findById(jobId).orElseThrow();
+        job.setDeadlineAt(null);
+        job.setCreatedAt(createdAt);
+        jobRepository.save(job);
+    }
+
+    private void expire(Integer jobId) {
+        VideoGenerationJob job = jobRepository.findById(jobId).orElseThrow();
+        job.setDeadlineAt(LocalDateTime.now().minusMinutes(1));
+        jobRepository.save(job);
+    }
+}
@@ -0,0 +1,62 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+
+class VideoJobSubscriptionHubTest {
+
+    private final VideoJobSubscriptionHub hub = new VideoJobSubscriptionHub(new SyncTaskExecutor(), 32, 2, 60_000, 10_000);
+
+    @Test
+    void terminalEventPublishedWhileSubscribingEndsTheStream() {
+        // The job fails after the controller's ownership check but before the snapshot is read
+        hub.subscribe(7, 42, () -> {
+            hub.publish(job(VideoJobStatus.FAILED));
+            return job(VideoJobStatus.PROCESSING);
+        });
+
+        assertThat(hub.getSubscriptionCount()).isZero();
+    }
+
+    @Test
+    void concurrentSubscriptionsNeverExceedTheOwnerCap() {
+        int requests = 8;
+        CyclicBarrier start = new CyclicBarrier(requests);
+        AtomicInteger rejected = new AtomicInteger();
+        List<CompletableFuture<Void>> subscriptions = IntStream.range(0, requests)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                        hub.subscribe(7, null, () -> null);
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }))
+                .toList();
+        subscriptions.forEach(CompletableFuture::join);
+
+        assertThat(hub.getSubscriptionCount()).isEqualTo(2);
+        assertThat(rejected).hasValue(requests - 2);
+    }
+
+    private static VideoGenerationJob job(VideoJobStatus status) {
+        VideoGenerationJob job = new VideoGenerationJob();
+        job.setId(42);
+        job.setOwnerId(7);
+        job.setStatus(status);
+        return job;
+    }
+}
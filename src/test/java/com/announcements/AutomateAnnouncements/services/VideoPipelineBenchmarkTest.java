@@ -0,0 +1,212 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.dtos.response.VideoJobStatusResponseDTO;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.BlotatoSimulator;
+import com.announcements.AutomateAnnouncements.integration.BlotatoSimulator.Latency;
+import com.announcements.AutomateAnnouncements.integration.N8nIntegrationService;
+import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
+import com.announcements.AutomateAnnouncements.repositories.VideoGenerationJobRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the whole video pipeline (submitter, worker, provider decorators, Blotato client, job service and
+ * database) against a {@link BlotatoSimulator} and reports completions per minute, provider calls per
+ * completion and JDBC statements per completion. The scheduled ticks are disabled and the test drives both
+ * stages itself; poll delays are shortened to one second so a run takes seconds rather than minutes.
+ */
+@Slf4j
+@SpringBootTest(classes = AutomatAununciosApplication.class, properties = {
+        "video.worker.tick-ms=3600000",
+        "video.submitter.batch-size=500",
+        "video.worker.poll.initial-delay-seconds=1",
+        "video.worker.poll.max-delay-seconds=2",
+        "outbound.retry.initial-backoff-ms=20",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class VideoPipelineBenchmarkTest {
+
+    private static final BlotatoSimulator SIMULATOR = startSimulator();
+
+    @MockitoBean
+    private N8nIntegrationService n8nIntegrationService;
+
+    @Autowired
+    private VideoGenerationJobService jobService;
+
+    @Autowired
+    private VideoGenerationSubmitter submitter;
+
+    @Autowired
+    private VideoGenerationWorker worker;
+
+    @Autowired
+    private VideoGenerationJobRepository jobRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void blotatoSimulator(DynamicPropertyRegistry registry) {
+        registry.add("blotato.api.base-url", SIMULATOR::baseUrl);
+    }
+
+    @AfterAll
+    static void stopSimulator() throws IOException {
+        SIMULATOR.close();
+    }
+
+    @Test
+    void completesEveryJobThroughTransientProviderErrors() {
+        SIMULATOR.setSettings(BlotatoSimulator.Settings.defaults()
+                .withLatency(Latency.uniform(5, 30))
+                .withStatusErrorRate(0.05)
+                .withCompletionTime(Duration.ofMillis(500), Duration.ofMillis(1500)));
+
+        Result result = run(200, Duration.ofMinutes(2));
+
+        assertThat(result.statuses()).containsOnlyKeys(VideoJobStatus.COMPLETED);
+        assertThat(result.completed()).isEqualTo(200);
+        assertThat(SIMULATOR.getCreateCalls()).isEqualTo(200);
+        // Every job is created once and found completed once; the rest are "still processing" checks and retries
+        assertThat(result.providerCallsPerCompletion()).isBetween(2.0, 10.0);
+    }
+
+    /**
+     * 10k jobs against a long-tailed provider with 1% errors and 2% failed renders. Run with
+     * {@code -Dbenchmark=true}; compare the printed figures before and after a pipeline change.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkTenThousandJobs() {
+        SIMULATOR.setSettings(BlotatoSimulator.Settings.defaults()
+                .withLatency(Latency.logNormal(50, 400))
+                .withErrorRate(0.01)
+                .withFailedCreationRate(0.02)
+                .withCompletionTime(Duration.ofSeconds(2), Duration.ofSeconds(20)));
+
+        Result result = run(10_000, Duration.ofMinutes(30));
+
+        assertThat(result.statuses().keySet()).allMatch(VideoJobStatus::isTerminal);
+    }
+
+    private Result run(int jobCount, Duration timeout) {
+        UserProfile profile = new UserProfile();
+        String authUserId = "pipeline-benchmark-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        Integer ownerId = userProfileRepository.save(profile).getId();
+
+        jobService.createJobs(ownerId, IntStream.range(0, jobCount)
+                .mapToObj(i -> VideoGenerationRequest.builder()
+                        .withPrompt("Announcement " + i)
+                        .withTitle("Video " + i)
+                        .withTargets("instagram")
+                        .build())
+                .toList());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SIMULATOR.resetCounters();
+        long bookkeepingStatements = 0;
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+
+        boolean pending = true;
+        while (pending && System.nanoTime() < deadline) {
+            submitter.submitQueuedJobs();
+            worker.processPendingJobs();
+
+            // The progress check is the benchmark's own query, not pipeline work
+            long before = statistics.getPrepareStatementCount();
+            pending = jobRepository.findStatusViewsByOwner(ownerId, VideoJobStatus.PENDING, Pageable.ofSize(1)).hasContent();
+            bookkeepingStatements += statistics.getPrepareStatementCount() - before;
+            if (pending) {
+                pause();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long statements = statistics.getPrepareStatementCount() - bookkeepingStatements;
+
+        Map<VideoJobStatus, Long> statuses = jobRepository
+                .findStatusViewsByOwner(ownerId, List.of(VideoJobStatus.values()), Pageable.ofSize(jobCount))
+                .stream()
+                .collect(Collectors.groupingBy(VideoJobStatusResponseDTO::status, Collectors.counting()));
+        Result result = new Result(statuses, elapsedNanos, SIMULATOR.getCreateCalls() + SIMULATOR.getStatusCalls(),
+                statements);
+        log.info("{} jobs in {} s: {} -> {} completions/min, {} provider calls/completion ({} injected errors), "
+                        + "{} statements/completion",
+                jobCount, String.format("%.1f", elapsedNanos / 1e9), statuses,
+                String.format("%.0f", result.completionsPerMinute()),
+                String.format("%.2f", result.providerCallsPerCompletion()), SIMULATOR.getInjectedErrors(),
+                String.format("%.1f", result.statementsPerCompletion()));
+        return result;
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BlotatoSimulator startSimulator() {
+        try {
+            return new BlotatoSimulator(BlotatoSimulator.Settings.defaults()).start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the Blotato simulator", e);
+        }
+    }
+
+    private record Result(Map<VideoJobStatus, Long> statuses, long elapsedNanos, long providerCalls, long statements) {
+
+        long completed() {
+            return statuses.getOrDefault(VideoJobStatus.COMPLETED, 0L);
+        }
+
+        double completionsPerMinute() {
+            return completed() * 60e9 / elapsedNanos;
+        }
+
+        double providerCallsPerCompletion() {
+            return (double) providerCalls / Math.max(completed(), 1);
+        }
+
+        double statementsPerCompletion() {
+            return (double) statements / Math.max(completed(), 1);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class VideoPollBackoffTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    void delaysDoubleWithEachPollUntilTheCap() {
+        VideoPollBackoff backoff = new VideoPollBackoff(10, 300, 0, false, 900);
+
+        assertThat(backoff.delayFor(0)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(backoff.delayFor(1)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(backoff.delayFor(4)).isEqualTo(Duration.ofSeconds(160));
+        assertThat(backoff.delayFor(5)).isEqualTo(Duration.ofSeconds(300));
+        // The shift is bounded, so very old jobs stay at the cap instead of overflowing
+        assertThat(backoff.delayFor(Integer.MAX_VALUE)).isEqualTo(Duration.ofSeconds(300));
+        assertThat(backoff.nextPollAt(NOW, 2)).isEqualTo(NOW.plusSeconds(40));
+    }
+
+    @Test
+    void jitterStaysWithinItsFractionOfTheDelay() {
+        VideoPollBackoff backoff = new VideoPollBackoff(10, 300, 0.2, false, 900);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(backoff.nextPollAt(NOW, 3)).isBetween(NOW.plusSeconds(64), NOW.plusSeconds(96));
+            assertThat(backoff.nextPollAt(NOW, 10)).isBetween(NOW.plusSeconds(240), NOW.plusSeconds(360));
+        }
+    }
+
+    @Test
+    void firstPollWaitsTheInitialDelayOrTheSafetyNetWithCallbacks() {
+        assertThat(new VideoPollBackoff(10, 300, 0, false, 900).firstPollAt(NOW)).isEqualTo(NOW.plusSeconds(10));
+
+        VideoPollBackoff withCallbacks = new VideoPollBackoff(10, 300, 0.2, true, 900);
+        for (int i = 0; i < 100; i++) {
+            assertThat(withCallbacks.firstPollAt(NOW)).isBetween(NOW.plusSeconds(720), NOW.plusSeconds(1080));
+        }
+        assertThat(withCallbacks.delayFor(3)).isEqualTo(Duration.ofSeconds(900));
+    }
+}
@@ -0,0 +1,186 @@
+package com.announcements.AutomateAnnouncements.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.announcements.AutomateAnnouncements.AutomatAununciosApplication;
+import com.announcements.AutomateAnnouncements.dtos.request.VideoGenerationRequest;
+import com.announcements.AutomateAnnouncements.entities.UserProfile;
+import com.announcements.AutomateAnnouncements.entities.VideoGenerationJob;
+import com.announcements.AutomateAnnouncements.entities.VideoJobStatus;
+import com.announcements.AutomateAnnouncements.integration.N8nIntegrationService;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProvider;
+import com.announcements.AutomateAnnouncements.integration.provider.AiVideoProviderFactory;
+import com.announcements.AutomateAnnouncements.integration.provider.VideoProviderType;
+import com.announcements.AutomateAnnouncements.repositories.UserProfileRepository;
+import com.announcements.AutomateAnnouncements.repositories.VideoGenerationJobRepository;
+
+@SpringBootTest(classes = AutomatAununciosApplication.class, properties = "video.result-cache.pending-retry-seconds=0")
+class VideoResultCacheTest {
+
+    @MockitoBean
+    private N8nIntegrationService n8nIntegrationService;
+
+    @MockitoBean
+    private AiVideoProviderFactory aiVideoProviderFactory;
+
+    @Autowired
+    private VideoGenerationSubmitter submitter;
+
+    @Autowired
+    private MediaProcessingFacade mediaProcessingFacade;
+
+    @Autowired
+    private VideoGenerationJobService jobService;
+
+    @Autowired
+    private VideoGenerationJobRepository jobRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    // Other tests' leftover QUEUED jobs may be submitted too, so calls are told apart by prompt
+    private final List<String> createdPrompts = new CopyOnWriteArrayList<>();
+    private UserProfile owner;
+
+    @BeforeEach
+    void setUp() {
+        AiVideoProvider provider = provider();
+        // Scheduled tasks may call the factory while it is stubbed, which doReturn tolerates
+        doReturn(provider).when(aiVideoProviderFactory).getCreationProvider();
+        doReturn(List.of(provider)).when(aiVideoProviderFactory).getCreationProviders();
+
+        UserProfile profile = new UserProfile();
+        String authUserId = "result-cache-test-" + UUID.randomUUID();
+        profile.setAuthUserId(authUserId);
+        profile.setEmail(authUserId + "@example.com");
+        owner = userProfileRepository.save(profile);
+    }
+
+    @Test
+    void duplicatesShareOneCreationAndRepeatsCompleteFromTheCache() {
+        String id = UUID.randomUUID().toString();
+        String prompt = "Summer sale " + id;
+        List<VideoGenerationJob> duplicates = jobService.createJobs(owner.getId(), List.of(
+                request(prompt, null),
+                request("  " + prompt.toUpperCase() + " ", "default"),
+                request(prompt.replace(" ", "   "), null)));
+
+        // The first submission reserves the key; the others wait for its creation id and then attach to it
+        submitter.submitQueuedJobs();
+        submitter.submitQueuedJobs();
+
+        List<VideoGenerationJob> submitted = jobRepository.findAllById(duplicates.stream().map(VideoGenerationJob::getId).toList());
+        String creationId = submitted.get(0).getBlotatoCreationId();
+        assertThat(creationsFor(id)).isEqualTo(1);
+        assertThat(submitted).allSatisfy(job -> {
+            assertThat(job.getStatus()).isEqualTo(VideoJobStatus.PROCESSING);
+            assertThat(job.getBlotatoCreationId()).isEqualTo(creationId);
+        });
+
+        jobService.getJobsByCreationId(creationId)
+                .forEach(job -> jobService.completeJob(job.getId(), "https://cdn.example.com/summer-sale.mp4"));
+
+        VideoGenerationJob repeat = mediaProcessingFacade.enqueueVideoGeneration(owner, request(prompt, null));
+        assertThat(repeat.getStatus()).isEqualTo(VideoJobStatus.COMPLETED);
+        assertThat(repeat.getVideoUrl()).isEqualTo("https://cdn.example.com/summer-sale.mp4");
+
+        // A different style is a different video
+        VideoGenerationJob otherStyle = mediaProcessingFacade.enqueueVideoGeneration(owner, request(prompt, "cinematic"));
+        assertThat(otherStyle.getStatus()).isEqualTo(VideoJobStatus.QUEUED);
+        assertThat(creationsFor(id)).isEqualTo(1);
+    }
+
+    @Test
+    void failedCreationsAreSubmittedAgain() {
+        String prompt = "Flash sale " + UUID.randomUUID();
+        VideoGenerationJob first = jobService.createJob(owner.getId(), prompt, "title", "d", "instagram", null);
+        submitter.submitQueuedJobs();
+        String creationId = jobRepository.findById(first.getId()).orElseThrow().getBlotatoCreationId();
+
+        jobService.failCreation(first.getId(), "render failed");
+        VideoGenerationJob retry = jobService.createJob(owner.getId(), prompt, "title", "d", "instagram", null);
+        submitter.submitQueuedJobs();
+
+        assertThat(jobRepository.findById(retry.getId()).orElseThrow().getBlotatoCreationId())
+                .isNotEqualTo(creationId);
+    }
+
+    @Test
+    void aJobTimingOutLeavesItsCreationToTheOthers() {
+        String prompt = "Spring sale " + UUID.randomUUID();
+        VideoGenerationJob first = jobService.createJob(owner.getId(), prompt, "title", "d", "instagram", null);
+        submitter.submitQueuedJobs();
+        String creationId = jobRepository.findById(first.getId()).orElseThrow().getBlotatoCreationId();
+
+        jobService.failJob(first.getId(), "Timed out waiting for the video provider");
+        VideoGenerationJob duplicate = jobService.createJob(owner.getId(), prompt, "title", "d", "instagram", null);
+        submitter.submitQueuedJobs();
+
+        assertThat(jobRepository.findById(duplicate.getId()).orElseThrow().getBlotatoCreationId())
+                .isEqualTo(creationId);
+    }
+
+    @Test
+    void keysIgnoreCaseAndWhitespaceButNotTheTemplate() {
+        String key = VideoResultCache.cacheKey(VideoProviderType.BLOTATO, "template", "Summer  sale", null);
+
+        assertThat(VideoResultCache.cacheKey(VideoProviderType.BLOTATO, "template", " summer sale ", "default"))
+                .isEqualTo(key)
+                .hasSize(64);
+        assertThat(VideoResultCache.cacheKey(VideoProviderType.BLOTATO, "other-template", "Summer sale", null))
+                .isNotEqualTo(key);
+        assertThat(VideoResultCache.cacheKey(VideoProviderType.SORA, "template", "Summer sale", null))
+                .isNotEqualTo(key);
+    }
+
+    private long creationsFor(String id) {
+        return createdPrompts.stream().filter(prompt -> prompt.toLowerCase().contains(id)).count();
+    }
+
+    private static VideoGenerationRequest request(String prompt, String style) {
+        return VideoGenerationRequest.builder()
+                .withPrompt(prompt)
+                .withTitle("title")
+                .withDescription("description")
+                .withTargets("instagram")
+                .withStyle(style)
+                .build();
+    }
+
+    private AiVideoProvider provider() {
+        return new AiVideoProvider() {
+            @Override
+            public VideoProviderType getType() {
+                return VideoProviderType.BLOTATO;
+            }
+
+            @Override
+            public String requestVideoCreation(String prompt, String style) {
+                createdPrompts.add(prompt);
+                return "creation-" + UUID.randomUUID();
+            }
+
+            @Override
+            public Optional<String> fetchVideoUrl(String creationId) {
+                return Optional.empty();
+            }
+
+            @Override
+            public String generateVideo(String prompt, String style) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}